@@ -35,8 +35,8 @@ public class CorsConfig {
         // Allow credentials (cookies, authorization headers)
         corsConfig.setAllowCredentials(true);
 
-        // Expose Authorization header to frontend
-        corsConfig.setExposedHeaders(List.of("Authorization"));
+        // Expose Authorization and pagination cursor headers to frontend
+        corsConfig.setExposedHeaders(List.of("Authorization", "X-Next-Cursor"));
 
         // Cache preflight response for 1 hour
         corsConfig.setMaxAge(3600L);
@@ -0,0 +1,246 @@
+package com.catalogue.gateway.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies the bearer token of every routed request once, at the edge, and forwards the user it
+ * identifies as X-User-Id and X-User-Role headers. Downstream services can rely on those headers
+ * instead of verifying the token again: client-supplied values are always removed.
+ *
+ * A request without a bearer token is forwarded anonymously. One with an invalid or expired token,
+ * or a token issued before the user claims existed, is rejected with 401 on protected paths; on the
+ * paths listed in gateway.auth.public-paths (login, signup, the product catalogue...) the token is
+ * ignored and the request forwarded anonymously, so a stale token never locks a user out of login.
+ * The paths listed in gateway.auth.internal-paths (stock reservation and order events, called by
+ * order-service directly) are answered with 403 whatever the token: they are never routed.
+ * The Authorization header is removed on public paths and on every route not listed in
+ * gateway.auth.forward-authorization-routes, i.e. those of user-service, which still checks tokens
+ * against its revocation list.
+ *
+ * Verified tokens are kept in a small LRU until they expire, so repeated requests with the same
+ * token skip the signature check and claims parsing. The gateway does not know about revocations:
+ * a token of a deactivated user is accepted here until it expires, as it was before by services
+ * that did not check tokens at all.
+ */
+@Component
+@Slf4j
+public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
+
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String USER_ROLE_HEADER = "X-User-Role";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    // Claims written by user-service JwtUtils
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_ROLE = "role";
+    private static final String CLAIM_ACTIVE = "active";
+
+    // Reachable without a valid token; a "METHOD " prefix restricts an entry to that method
+    static final String DEFAULT_PUBLIC_PATHS = "/api/auth/login,/api/auth/signup,/api/auth/logout,/api/users/register,"
+            + "GET /api/products/**,GET /api/categories/**,/eureka/**";
+
+    // Service-to-service endpoints, never reachable through the gateway
+    static final String DEFAULT_INTERNAL_PATHS = "/api/products/stock/**";
+
+    // Before routing, after CORS (a WebFilter, which runs ahead of every GlobalFilter)
+    private static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 100;
+
+    // Built once: immutable and safe to share between event loop threads
+    private final JwtParser jwtParser;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+    private final Set<String> forwardAuthorizationRoutes;
+    private final List<PathRule> publicPaths;
+    private final List<PathRule> internalPaths;
+    private final Clock clock;
+
+    @Autowired
+    public JwtAuthenticationFilter(@Value("${jwt.secret:mySecretKeyForJWTAuthenticationThatIsAtLeast256BitsLong12345}") String jwtSecret,
+                                   @Value("${gateway.auth.token-cache-size:10000}") long tokenCacheSize,
+                                   @Value("${gateway.auth.forward-authorization-routes:auth-service,user-service}") Set<String> forwardAuthorizationRoutes,
+                                   @Value("${gateway.auth.public-paths:" + DEFAULT_PUBLIC_PATHS + "}") List<String> publicPaths,
+                                   @Value("${gateway.auth.internal-paths:" + DEFAULT_INTERNAL_PATHS + "}") List<String> internalPaths) {
+        this(jwtSecret, tokenCacheSize, forwardAuthorizationRoutes, publicPaths, internalPaths, Clock.systemUTC());
+    }
+
+    JwtAuthenticationFilter(String jwtSecret, long tokenCacheSize, Set<String> forwardAuthorizationRoutes,
+                            List<String> publicPaths, List<String> internalPaths, Clock clock) {
+        this.jwtParser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret)))
+                .clock(() -> Date.from(clock.instant()))
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(tokenCacheSize)
+                .expireAfter(new UntilTokenExpiry(clock))
+                .build();
+        this.forwardAuthorizationRoutes = forwardAuthorizationRoutes;
+        this.publicPaths = publicPaths.stream().map(PathRule::parse).toList();
+        this.internalPaths = internalPaths.stream().map(PathRule::parse).toList();
+        this.clock = clock;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (matchesAny(internalPaths, exchange.getRequest())) {
+            return forbidden(exchange);
+        }
+        boolean publicPath = matchesAny(publicPaths, exchange.getRequest());
+        String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return chain.filter(withUser(exchange, null, !publicPath));
+        }
+
+        VerifiedToken token = verify(authorization.substring(BEARER_PREFIX.length()));
+        if (token == null && !publicPath) {
+            return unauthorized(exchange);
+        }
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        boolean keepAuthorization = !publicPath && route != null && forwardAuthorizationRoutes.contains(route.getId());
+        return chain.filter(withUser(exchange, token, keepAuthorization));
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    /**
+     * @return the user the token identifies, or null if it is invalid, expired, lacks the user
+     *         claims or was issued to an inactive user
+     */
+    VerifiedToken verify(String token) {
+        VerifiedToken cached = verifiedTokens.getIfPresent(token);
+        if (cached != null && cached.expiresAt().isAfter(clock.instant())) {
+            return cached;
+        }
+        try {
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            Long userId = claims.get(CLAIM_USER_ID, Long.class);
+            String role = claims.get(CLAIM_ROLE, String.class);
+            if (userId == null || role == null || claims.getExpiration() == null
+                    || !Boolean.TRUE.equals(claims.get(CLAIM_ACTIVE, Boolean.class))) {
+                log.debug("Rejected JWT without active user claims");
+                return null;
+            }
+            VerifiedToken verified = new VerifiedToken(userId, role, claims.getExpiration().toInstant());
+            verifiedTokens.put(token, verified);
+            return verified;
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected JWT: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean matchesAny(List<PathRule> rules, ServerHttpRequest request) {
+        for (PathRule rule : rules) {
+            if (rule.matches(request)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ServerWebExchange withUser(ServerWebExchange exchange, VerifiedToken token, boolean keepAuthorization) {
+        return exchange.mutate()
+                .request(request -> request.headers(headers -> {
+                    headers.remove(USER_ID_HEADER);
+                    headers.remove(USER_ROLE_HEADER);
+                    if (!keepAuthorization) {
+                        headers.remove(HttpHeaders.AUTHORIZATION);
+                    }
+                    if (token != null) {
+                        headers.set(USER_ID_HEADER, String.valueOf(token.userId()));
+                        headers.set(USER_ROLE_HEADER, token.role());
+                    }
+                }))
+                .build();
+    }
+
+    private static Mono<Void> unauthorized(ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+        return response.setComplete();
+    }
+
+    private static Mono<Void> forbidden(ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.FORBIDDEN);
+        return exchange.getResponse().setComplete();
+    }
+
+    record VerifiedToken(Long userId, String role, Instant expiresAt) {
+    }
+
+    /**
+     * One gateway.auth.public-paths or internal-paths entry: "/api/auth/login" or "GET /api/products/**"
+     */
+    private record PathRule(HttpMethod method, PathPattern pattern) {
+
+        static PathRule parse(String entry) {
+            String[] parts = entry.trim().split("\\s+", 2);
+            return parts.length == 2
+                    ? new PathRule(HttpMethod.valueOf(parts[0]), PathPatternParser.defaultInstance.parse(parts[1]))
+                    : new PathRule(null, PathPatternParser.defaultInstance.parse(parts[0]));
+        }
+
+        boolean matches(ServerHttpRequest request) {
+            return (method == null || method.equals(request.getMethod()))
+                    && pattern.matches(request.getPath().pathWithinApplication());
+        }
+    }
+
+    /**
+     * Keeps each verified token until its own "exp" claim
+     */
+    private record UntilTokenExpiry(Clock clock) implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String token, VerifiedToken verified, long currentTime) {
+            // Saturates instead of overflowing for an "exp" centuries away
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, verified.expiresAt().toEpochMilli() - clock.millis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, verified, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
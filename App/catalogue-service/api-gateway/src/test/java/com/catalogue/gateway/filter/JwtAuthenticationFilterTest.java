@@ -0,0 +1,266 @@
+package com.catalogue.gateway.filter;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.SecretKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the edge JWT check and the user headers it forwards
+ */
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "bXlTZWNyZXRLZXlGb3JKV1RBdXRoZW50aWNhdGlvblRoYXRJc0F0TGVhc3QyNTZCaXRzTG9uZzEyMzQ1Njc4OQ==";
+    private static final SecretKey KEY = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+
+    private final AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.set(exchange);
+        return Mono.empty();
+    };
+
+    private MutableClock clock;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-01-15T10:00:00Z"));
+        filter = new JwtAuthenticationFilter(SECRET, 100, Set.of("auth-service", "user-service"),
+                Arrays.asList(JwtAuthenticationFilter.DEFAULT_PUBLIC_PATHS.split(",")),
+                Arrays.asList(JwtAuthenticationFilter.DEFAULT_INTERNAL_PATHS.split(",")), clock);
+    }
+
+    @Test
+    void testFilter_StripsClientSuppliedUserHeaders() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/orders")
+                .header(JwtAuthenticationFilter.USER_ID_HEADER, "1")
+                .header(JwtAuthenticationFilter.USER_ROLE_HEADER, "ADMIN"), "order-service");
+
+        filter.filter(exchange, chain).block();
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertThat(headers.containsKey(JwtAuthenticationFilter.USER_ID_HEADER)).isFalse();
+        assertThat(headers.containsKey(JwtAuthenticationFilter.USER_ROLE_HEADER)).isFalse();
+    }
+
+    @Test
+    void testFilter_ValidTokenReplacesSpoofedUserHeaders() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/orders")
+                .header(HttpHeaders.AUTHORIZATION, bearer(token(7L, "CLIENT", Duration.ofHours(1))))
+                .header(JwtAuthenticationFilter.USER_ID_HEADER, "1")
+                .header(JwtAuthenticationFilter.USER_ROLE_HEADER, "ADMIN"), "order-service");
+
+        filter.filter(exchange, chain).block();
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertThat(headers.get(JwtAuthenticationFilter.USER_ID_HEADER)).containsExactly("7");
+        assertThat(headers.get(JwtAuthenticationFilter.USER_ROLE_HEADER)).containsExactly("CLIENT");
+    }
+
+    @Test
+    void testFilter_AnonymousRequestPassesThrough() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/orders"), "order-service");
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(forwarded.get()).isNotNull();
+        assertThat(exchange.getResponse().getStatusCode()).isNull();
+        assertThat(forwarded.get().getRequest().getHeaders().containsKey(JwtAuthenticationFilter.USER_ID_HEADER)).isFalse();
+    }
+
+    @Test
+    void testFilter_ExpiredTokenRejectedOnProtectedPath() {
+        clock.advance(Duration.ofHours(-2));
+        String expired = token(7L, "CLIENT", Duration.ofHours(1));
+        clock.advance(Duration.ofHours(2));
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/orders")
+                .header(HttpHeaders.AUTHORIZATION, bearer(expired)), "order-service");
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(forwarded.get()).isNull();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void testFilter_TokenSignedWithAnotherKeyRejected() {
+        String forged = Jwts.builder()
+                .subject("user@example.com")
+                .claim("uid", 7L)
+                .claim("role", "ADMIN")
+                .claim("active", true)
+                .expiration(Date.from(clock.instant().plus(Duration.ofHours(1))))
+                .signWith(Jwts.SIG.HS256.key().build())
+                .compact();
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/users/7")
+                .header(HttpHeaders.AUTHORIZATION, bearer(forged)), "user-service");
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(forwarded.get()).isNull();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void testFilter_InvalidTokenOnPublicPathForwardedAnonymously() {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.post("/api/auth/login")
+                .header(HttpHeaders.AUTHORIZATION, bearer("stale.token.value"))
+                .header(JwtAuthenticationFilter.USER_ID_HEADER, "1"), "auth-service");
+
+        filter.filter(exchange, chain).block();
+
+        HttpHeaders headers = forwarded.get().getRequest().getHeaders();
+        assertThat(exchange.getResponse().getStatusCode()).isNull();
+        assertThat(headers.containsKey(HttpHeaders.AUTHORIZATION)).isFalse();
+        assertThat(headers.containsKey(JwtAuthenticationFilter.USER_ID_HEADER)).isFalse();
+    }
+
+    @Test
+    void testFilter_PublicPathIsMethodSpecific() {
+        MockServerWebExchange read = exchange(MockServerHttpRequest.get("/api/products/12")
+                .header(HttpHeaders.AUTHORIZATION, bearer("stale.token.value")), "product-service");
+        filter.filter(read, chain).block();
+        assertThat(forwarded.get()).isNotNull();
+
+        forwarded.set(null);
+        MockServerWebExchange write = exchange(MockServerHttpRequest.delete("/api/products/12")
+                .header(HttpHeaders.AUTHORIZATION, bearer("stale.token.value")), "product-service");
+        filter.filter(write, chain).block();
+        assertThat(forwarded.get()).isNull();
+        assertThat(write.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void testFilter_InternalStockPathsForbiddenEvenWithValidToken() {
+        for (String path : new String[]{"/api/products/stock/reserve", "/api/products/stock/events"}) {
+            MockServerWebExchange exchange = exchange(MockServerHttpRequest.post(path)
+                    .header(HttpHeaders.AUTHORIZATION, bearer(token(7L, "ADMIN", Duration.ofHours(1)))), "product-service");
+
+            filter.filter(exchange, chain).block();
+
+            assertThat(forwarded.get()).isNull();
+            assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        }
+    }
+
+    @Test
+    void testVerify_CachedTokenNotHonouredAfterExpiry() {
+        String token = token(7L, "CLIENT", Duration.ofMinutes(5));
+        assertThat(filter.verify(token)).isNotNull();
+        assertThat(filter.verify(token)).isNotNull();
+
+        clock.advance(Duration.ofMinutes(5).plusSeconds(1));
+
+        assertThat(filter.verify(token)).isNull();
+    }
+
+    @Test
+    void testVerify_TokenWithoutUserClaimsRejected() {
+        String legacy = Jwts.builder()
+                .subject("user@example.com")
+                .expiration(Date.from(clock.instant().plus(Duration.ofHours(1))))
+                .signWith(KEY)
+                .compact();
+
+        assertThat(filter.verify(legacy)).isNull();
+    }
+
+    @Test
+    void testFilter_AuthorizationKeptOnlyOnUserServiceRoutes() {
+        String token = bearer(token(7L, "CLIENT", Duration.ofHours(1)));
+
+        for (String routeId : new String[]{"auth-service", "user-service"}) {
+            forwarded.set(null);
+            filter.filter(exchange(MockServerHttpRequest.get("/api/auth/me")
+                    .header(HttpHeaders.AUTHORIZATION, token), routeId), chain).block();
+            assertThat(forwarded.get().getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION)).isEqualTo(token);
+        }
+
+        for (String routeId : new String[]{"order-service", "product-service", "payment-service"}) {
+            forwarded.set(null);
+            filter.filter(exchange(MockServerHttpRequest.get("/api/orders/1")
+                    .header(HttpHeaders.AUTHORIZATION, token), routeId), chain).block();
+            assertThat(forwarded.get().getRequest().getHeaders().containsKey(HttpHeaders.AUTHORIZATION)).isFalse();
+            assertThat(forwarded.get().getRequest().getHeaders().getFirst(JwtAuthenticationFilter.USER_ID_HEADER)).isEqualTo("7");
+        }
+    }
+
+    private String token(Long userId, String role, Duration validity) {
+        Instant now = clock.instant();
+        return Jwts.builder()
+                .subject("user" + userId + "@example.com")
+                .claim("uid", userId)
+                .claim("role", role)
+                .claim("active", true)
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plus(validity)))
+                .signWith(KEY)
+                .compact();
+    }
+
+    private static String bearer(String token) {
+        return "Bearer " + token;
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request, String routeId) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        Route route = Route.async()
+                .id(routeId)
+                .uri("http://localhost")
+                .predicate(e -> true)
+                .build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+
+    private static class MutableClock extends Clock {
+
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.catalogue.order.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of OrderNumberGenerator against the previous "ORD-" + millis + UUID prefix scheme,
+ * single-threaded and with 8 threads sharing one generator.
+ *
+ * Run with: mvn -P benchmark -pl order-service test-compile exec:exec
+ * Add "-prof gc" to the arguments in the benchmark profile to compare allocations per op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderNumberGeneratorBenchmark {
+
+    private final OrderNumberGenerator generator = new OrderNumberGenerator(Clock.systemUTC(), 1);
+
+    @Benchmark
+    public String snowflake() {
+        return generator.next();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String snowflakeContended() {
+        return generator.next();
+    }
+
+    @Benchmark
+    public String uuid() {
+        return "ORD-" + System.currentTimeMillis() + "-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String uuidContended() {
+        return "ORD-" + System.currentTimeMillis() + "-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderNumberGeneratorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
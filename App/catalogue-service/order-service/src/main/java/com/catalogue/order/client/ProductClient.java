@@ -1,12 +1,20 @@
 package com.catalogue.order.client;
 
+import com.catalogue.order.dto.OrderStockEventDTO;
+import com.catalogue.order.dto.OrderStockEventResultDTO;
 import com.catalogue.order.dto.ProductDTO;
+import feign.Request;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Feign client to communicate with Product Service
  */
@@ -16,7 +24,15 @@ public interface ProductClient {
     @GetMapping("/api/products/{id}")
     ProductDTO getProductById(@PathVariable("id") Long id);
 
+    /**
+     * @param options connect and read timeouts of this call, so it ends with the order's deadline
+     */
+    @PostMapping("/api/products/batch")
+    List<ProductDTO> getProductsByIds(@RequestBody Collection<Long> ids, Request.Options options);
+
     @org.springframework.web.bind.annotation.PutMapping("/api/products/{id}/stock")
     ProductDTO updateStock(@PathVariable("id") Long id, @RequestParam("quantity") Integer quantity);
-}
 
+    @PostMapping("/api/products/stock/events")
+    List<OrderStockEventResultDTO> applyStockEvents(@RequestBody List<OrderStockEventDTO> events);
+}
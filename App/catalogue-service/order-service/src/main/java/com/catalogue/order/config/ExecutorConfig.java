@@ -0,0 +1,33 @@
+package com.catalogue.order.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Bounded pool for the concurrent product lookups of order creation.
+     * When the pool and its queue are full a lookup is rejected and the order answered with 503:
+     * running it on the request thread would bypass the order's deadline.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor productLookupExecutor(
+            @Value("${order.validation.pool.core-size:8}") int coreSize,
+            @Value("${order.validation.pool.max-size:32}") int maxSize,
+            @Value("${order.validation.pool.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("product-lookup-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+}
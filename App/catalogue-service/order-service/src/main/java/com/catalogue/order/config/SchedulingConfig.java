@@ -0,0 +1,15 @@
+package com.catalogue.order.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs the @Scheduled jobs (outbox relay, stats row pre-creation).
+ * Tests switch it off with order.scheduling.enabled=false and call the jobs themselves.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "order.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
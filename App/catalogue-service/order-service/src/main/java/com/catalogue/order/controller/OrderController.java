@@ -1,8 +1,11 @@
 package com.catalogue.order.controller;
 
+import com.catalogue.order.dto.CursorPage;
 import com.catalogue.order.dto.OrderDTO;
+import com.catalogue.order.dto.OrderStatsDTO;
 import com.catalogue.order.entity.OrderStatus;
 import com.catalogue.order.service.OrderService;
+import com.catalogue.order.service.OrderStatsService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -11,6 +14,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -18,11 +22,17 @@ import java.util.List;
 @RequiredArgsConstructor
 public class OrderController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final OrderService orderService;
+    private final OrderStatsService orderStatsService;
 
     @PostMapping
-    public ResponseEntity<OrderDTO> createOrder(@Valid @RequestBody OrderDTO orderDTO) {
-        OrderDTO created = orderService.createOrder(orderDTO);
+    public ResponseEntity<OrderDTO> createOrder(
+            @Valid @RequestBody OrderDTO orderDTO,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        OrderDTO created = orderService.createOrder(orderDTO, idempotencyKey);
         return new ResponseEntity<>(created, HttpStatus.CREATED);
     }
 
@@ -33,9 +43,21 @@ public class OrderController {
     }
 
     @GetMapping
-    public ResponseEntity<List<OrderDTO>> getAllOrders() {
-        List<OrderDTO> orders = orderService.getAllOrders();
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<OrderDTO>> getAllOrders(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size) {
+        return toPageResponse(orderService.getAllOrders(after, size));
+    }
+
+    /**
+     * Order counts and amounts per status and day, from the pre-aggregated daily stats
+     * GET /api/orders/stats?from=2026-01-01&to=2026-01-31 (days inclusive, UTC; default last 30 days)
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<OrderStatsDTO> getOrderStats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(orderStatsService.getStats(from, to));
     }
 
     @PatchMapping("/{id}/status")
@@ -63,23 +85,40 @@ public class OrderController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<OrderDTO>> getOrdersByUserId(@PathVariable Long userId) {
-        List<OrderDTO> orders = orderService.getOrdersByUserId(userId);
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<OrderDTO>> getOrdersByUserId(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size) {
+        return toPageResponse(orderService.getOrdersByUserId(userId, after, size));
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<OrderDTO>> getOrdersByStatus(@PathVariable OrderStatus status) {
-        List<OrderDTO> orders = orderService.getOrdersByStatus(status);
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<OrderDTO>> getOrdersByStatus(
+            @PathVariable OrderStatus status,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size) {
+        return toPageResponse(orderService.getOrdersByStatus(status, after, size));
     }
 
     @GetMapping("/date-range")
     public ResponseEntity<List<OrderDTO>> getOrdersByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant start,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant end) {
-        List<OrderDTO> orders = orderService.getOrdersByDateRange(start, end);
-        return ResponseEntity.ok(orders);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant end,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size) {
+        return toPageResponse(orderService.getOrdersByDateRange(start, end, after, size));
+    }
+
+    /**
+     * Lists are keyset-paginated, newest first: the body holds one page and the
+     * X-Next-Cursor header carries the "after" value of the next page (absent on the last page).
+     */
+    private ResponseEntity<List<OrderDTO>> toPageResponse(CursorPage<OrderDTO> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
     }
 }
 
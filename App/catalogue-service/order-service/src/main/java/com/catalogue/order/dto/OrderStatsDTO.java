@@ -0,0 +1,49 @@
+package com.catalogue.order.dto;
+
+import com.catalogue.order.entity.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Order counts and amounts for the orders created between two days (inclusive, UTC)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatsDTO {
+    private LocalDate from;
+    private LocalDate to;
+    private long orderCount;
+    private BigDecimal montantTotal;
+    // Amount of the orders that are not cancelled
+    private BigDecimal revenue;
+    private Map<OrderStatus, Totals> byStatus;
+    // One entry per day and status that has orders
+    private List<Daily> daily;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Totals {
+        private long orderCount;
+        private BigDecimal montantTotal;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Daily {
+        private LocalDate day;
+        private OrderStatus status;
+        private long orderCount;
+        private BigDecimal montantTotal;
+    }
+}
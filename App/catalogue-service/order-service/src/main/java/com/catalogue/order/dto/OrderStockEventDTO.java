@@ -0,0 +1,23 @@
+package com.catalogue.order.dto;
+
+import com.catalogue.order.entity.OutboxEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outbox event as sent to product-service
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStockEventDTO {
+    private String eventId;
+    private Long orderId;
+    private OutboxEventType type;
+    private List<StockAdjustmentDTO> adjustments;
+}
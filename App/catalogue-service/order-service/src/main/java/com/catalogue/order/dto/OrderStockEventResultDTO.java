@@ -0,0 +1,19 @@
+package com.catalogue.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one order event in product-service. When success is false no stock was moved.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStockEventResultDTO {
+    private String eventId;
+    private Boolean success;
+    private String message;
+}
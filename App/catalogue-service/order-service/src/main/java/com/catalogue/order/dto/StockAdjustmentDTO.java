@@ -0,0 +1,19 @@
+package com.catalogue.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Relative stock change sent to product-service.
+ * A negative delta reserves stock, a positive delta releases it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAdjustmentDTO {
+    private Long productId;
+    private Integer delta;
+}
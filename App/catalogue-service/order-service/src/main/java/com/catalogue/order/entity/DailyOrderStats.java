@@ -0,0 +1,32 @@
+package com.catalogue.order.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Number and total amount of the orders created on one day that are currently in one status.
+ * Maintained incrementally by OrderStatsService as orders are created, change status or are deleted,
+ * so the dashboard reads one row per day and status instead of every order.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "daily_order_stats")
+public class DailyOrderStats {
+
+    @EmbeddedId
+    private DailyOrderStatsId id;
+
+    @Column(nullable = false)
+    private long orderCount;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal montantTotal;
+}
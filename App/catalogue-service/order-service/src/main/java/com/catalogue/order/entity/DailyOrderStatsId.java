@@ -0,0 +1,24 @@
+package com.catalogue.order.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyOrderStatsId implements Serializable {
+
+    // UTC day the orders were created
+    @Column(name = "stats_day", nullable = false)
+    private LocalDate day;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderStatus status;
+}
@@ -0,0 +1,44 @@
+package com.catalogue.order.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Idempotency-Key of a POST /api/orders request and the order it created.
+ * A retry carrying the same key and request gets that order back instead of creating another one.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_keys_expires_at", columnList = "expiresAt"))
+public class IdempotencyKey {
+
+    @Id
+    @Column(name = "idempotency_key", length = 100)
+    private String key;
+
+    // SHA-256 of the request, so a key reused for a different request is rejected
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    // Null until the order is created in the same transaction
+    private Long orderId;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    // Makes save() persist a new key instead of merging it, so a concurrent duplicate fails on insert
+    @Version
+    private Long version;
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -2,6 +2,7 @@ package com.catalogue.order.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -19,7 +20,8 @@ import java.util.List;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_seq")
+    @SequenceGenerator(name = "order_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true, length = 50)
@@ -46,7 +48,9 @@ public class Order {
     @UpdateTimestamp
     private Instant updatedAt;
 
+    // Paths that do not fetch items eagerly load them 100 orders per query instead of one by one
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
     @Builder.Default
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
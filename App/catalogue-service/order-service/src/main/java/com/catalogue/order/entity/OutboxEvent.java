@@ -0,0 +1,59 @@
+package com.catalogue.order.entity;
+
+import com.catalogue.order.dto.StockAdjustmentDTO;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Order event waiting to be relayed to product-service.
+ * Written in the same transaction as the order change it describes, and deleted once
+ * product-service has acknowledged it (see OrderOutboxRelay).
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "outbox_events", indexes = @Index(name = "idx_outbox_events_created", columnList = "createdAt, id"))
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    // Sent with the event so product-service can drop redeliveries
+    @Column(nullable = false, unique = true, length = 36)
+    private String eventId;
+
+    @Column(nullable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxEventType type;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(nullable = false)
+    private List<StockAdjustmentDTO> adjustments;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    // Failed deliveries so far, and why the last one failed
+    @Builder.Default
+    private int attempts = 0;
+
+    @Column(length = 1000)
+    private String lastError;
+}
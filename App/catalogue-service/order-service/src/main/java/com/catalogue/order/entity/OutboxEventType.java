@@ -0,0 +1,6 @@
+package com.catalogue.order.entity;
+
+public enum OutboxEventType {
+    ORDER_CREATED,    // Reserve the order's stock
+    ORDER_CANCELLED   // Release the order's stock
+}
@@ -0,0 +1,33 @@
+package com.catalogue.order.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Single-row lease naming the order-service instance that relays the outbox (see OrderOutboxRelay).
+ * Only the holder relays, so events reach product-service from one sender, one batch at a time.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "outbox_relay_lease")
+public class OutboxRelayLease {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false, length = 64)
+    private String owner;
+
+    @Column(nullable = false)
+    private Instant leaseUntil;
+}
@@ -0,0 +1,11 @@
+package com.catalogue.order.exception;
+
+/**
+ * An Idempotency-Key is reused for a different request, or its first request is still being processed
+ */
+public class IdempotencyConflictException extends RuntimeException {
+
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.catalogue.order.exception;
+
+/**
+ * The product lookup pool and its queue are full: the order is refused instead of waiting
+ */
+public class ProductLookupRejectedException extends RuntimeException {
+
+    public ProductLookupRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
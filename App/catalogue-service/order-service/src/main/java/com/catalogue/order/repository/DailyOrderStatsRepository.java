@@ -0,0 +1,49 @@
+package com.catalogue.order.repository;
+
+import com.catalogue.order.entity.DailyOrderStats;
+import com.catalogue.order.entity.DailyOrderStatsId;
+import com.catalogue.order.entity.OrderStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyOrderStatsRepository extends JpaRepository<DailyOrderStats, DailyOrderStatsId> {
+
+    // Relative update, so concurrent orders on the same day and status never lose an increment
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE DailyOrderStats s SET s.orderCount = s.orderCount + :count, s.montantTotal = s.montantTotal + :amount "
+            + "WHERE s.id.day = :day AND s.id.status = :status")
+    int increment(@Param("day") LocalDate day, @Param("status") OrderStatus status,
+                  @Param("count") long count, @Param("amount") BigDecimal amount);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE DailyOrderStats s SET s.orderCount = :count, s.montantTotal = :amount "
+            + "WHERE s.id.day = :day AND s.id.status = :status")
+    int setTotals(@Param("day") LocalDate day, @Param("status") OrderStatus status,
+                  @Param("count") long count, @Param("amount") BigDecimal amount);
+
+    // Row locks taken by a rebuild: relative updates wait until the rebuilt totals commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM DailyOrderStats s ORDER BY s.id.day, s.id.status")
+    List<DailyOrderStats> lockAll();
+
+    // Plain insert (not a merge), so a row created concurrently fails here instead of being reset to zero
+    @Modifying
+    @Query(value = "INSERT INTO daily_order_stats (stats_day, status, order_count, montant_total) VALUES (:day, :status, 0, 0)",
+            nativeQuery = true)
+    int insertEmpty(@Param("day") LocalDate day, @Param("status") String status);
+
+    boolean existsByOrderCountGreaterThan(long orderCount);
+
+    @Query("SELECT s FROM DailyOrderStats s WHERE s.id.day BETWEEN :from AND :to ORDER BY s.id.day, s.id.status")
+    List<DailyOrderStats> findByDayBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
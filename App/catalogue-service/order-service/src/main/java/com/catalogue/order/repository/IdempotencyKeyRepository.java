@@ -0,0 +1,18 @@
+package com.catalogue.order.repository;
+
+import com.catalogue.order.entity.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
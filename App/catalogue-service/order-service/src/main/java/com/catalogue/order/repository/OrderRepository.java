@@ -2,18 +2,69 @@ package com.catalogue.order.repository;
 
 import com.catalogue.order.entity.Order;
 import com.catalogue.order.entity.OrderStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    // Only the columns the daily stats are built from, for a full rebuild
+    Stream<OrderTotals> findAllProjectedBy();
+
+    interface OrderTotals {
+        Instant getCreatedAt();
+
+        OrderStatus getStatus();
+
+        BigDecimal getMontantTotal();
+    }
+
+    // Orders are always mapped together with their items: load both in one query
+    @EntityGraph(attributePaths = "orderItems")
     Optional<Order> findByOrderNumber(String orderNumber);
-    List<Order> findByUserId(Long userId);
-    List<Order> findByStatus(OrderStatus status);
-    List<Order> findByCreatedAtBetween(Instant start, Instant end);
-}
 
+    // Keyset pagination, newest first on (createdAt, id). Items of a page are loaded
+    // by Order.orderItems batch fetching, since a collection fetch join cannot be limited in SQL.
+    List<Order> findAllByOrderByCreatedAtDescIdDesc(Limit limit);
+
+    // The redundant "createdAt <= :createdAt" bound lets the (created_at, id) index range-scan;
+    // an OR alone is not sargable
+    @Query("SELECT o FROM Order o WHERE o.createdAt <= :createdAt AND (o.createdAt < :createdAt OR o.id < :id) "
+            + "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findPageBefore(@Param("createdAt") Instant createdAt, @Param("id") Long id, Limit limit);
+
+    List<Order> findByUserIdOrderByCreatedAtDescIdDesc(Long userId, Limit limit);
+
+    @Query("SELECT o FROM Order o WHERE o.userId = :userId "
+            + "AND o.createdAt <= :createdAt AND (o.createdAt < :createdAt OR o.id < :id) "
+            + "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findPageByUserIdBefore(@Param("userId") Long userId,
+                                       @Param("createdAt") Instant createdAt, @Param("id") Long id, Limit limit);
+
+    List<Order> findByStatusOrderByCreatedAtDescIdDesc(OrderStatus status, Limit limit);
+
+    @Query("SELECT o FROM Order o WHERE o.status = :status "
+            + "AND o.createdAt <= :createdAt AND (o.createdAt < :createdAt OR o.id < :id) "
+            + "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findPageByStatusBefore(@Param("status") OrderStatus status,
+                                       @Param("createdAt") Instant createdAt, @Param("id") Long id, Limit limit);
+
+    List<Order> findByCreatedAtBetweenOrderByCreatedAtDescIdDesc(Instant start, Instant end, Limit limit);
+
+    @Query("SELECT o FROM Order o WHERE o.createdAt >= :start AND o.createdAt <= :end "
+            + "AND o.createdAt <= :createdAt AND (o.createdAt < :createdAt OR o.id < :id) "
+            + "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findPageByCreatedAtBetweenBefore(@Param("start") Instant start, @Param("end") Instant end,
+                                                 @Param("createdAt") Instant createdAt, @Param("id") Long id,
+                                                 Limit limit);
+}
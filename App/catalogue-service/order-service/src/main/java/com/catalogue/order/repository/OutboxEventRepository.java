@@ -0,0 +1,26 @@
+package com.catalogue.order.repository;
+
+import com.catalogue.order.entity.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Oldest first by creation time (set when the row is persisted, not at commit), so the events
+    // of an order reach product-service in the order they happened. A transaction that commits
+    // late can still be relayed after events created later. Ids come from per-instance pooled
+    // blocks and only break ties
+    List<OutboxEvent> findAllByOrderByCreatedAtAscIdAsc(Limit limit);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.lastError = :error WHERE e.id IN :ids")
+    int recordFailedAttempt(@Param("ids") Collection<Long> ids, @Param("error") String error);
+}
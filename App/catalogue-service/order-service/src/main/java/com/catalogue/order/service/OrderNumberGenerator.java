@@ -0,0 +1,115 @@
+package com.catalogue.order.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Snowflake-style order numbers: "ORD-" followed by 13 base-36 characters of a 63-bit id made of
+ *
+ *   41 bits  milliseconds since 2024-01-01 (good until 2093)
+ *   10 bits  node id of this instance
+ *   12 bits  sequence within the millisecond (4096 ids per ms and node)
+ *
+ * Ids are unique as long as node ids are, and numbers are fixed width, so they sort (as strings
+ * and as ids) in creation order per node. Generation is lock-free and draws no randomness.
+ * When the sequence runs out, or the clock goes backwards, the generator moves on to the next
+ * millisecond of its own clock instead of waiting.
+ */
+@Component
+@Slf4j
+public class OrderNumberGenerator {
+
+    static final String PREFIX = "ORD-";
+    static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // 2^63 - 1 in base 36 takes 13 digits
+    private static final int ENCODED_LENGTH = 13;
+    private static final char[] DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+
+    private final Clock clock;
+    private final long nodeId;
+
+    // (timestamp << SEQUENCE_BITS) | sequence of the last id handed out
+    private final AtomicLong lastState = new AtomicLong();
+
+    /**
+     * @param nodeId explicit node id (0-1023), or negative to derive it from the Eureka instance id
+     * @param instanceId Eureka instance id of this service
+     */
+    @Autowired
+    public OrderNumberGenerator(@Value("${order.number.node-id:-1}") long nodeId,
+                                @Value("${eureka.instance.instance-id:}") String instanceId) {
+        this(Clock.systemUTC(), nodeId >= 0 ? nodeId : nodeIdOf(instanceId));
+        log.info("Order numbers generated with node id {}", this.nodeId);
+    }
+
+    OrderNumberGenerator(Clock clock, long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Order number node id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.clock = clock;
+        this.nodeId = nodeId;
+    }
+
+    public String next() {
+        return format(nextId());
+    }
+
+    long nextId() {
+        long now = clock.millis() - EPOCH_MILLIS;
+        while (true) {
+            long last = lastState.get();
+            // A sequence overflow carries into the timestamp, i.e. borrows the next millisecond
+            long next = now > (last >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : last + 1;
+            if (lastState.compareAndSet(last, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    static String format(long id) {
+        char[] chars = new char[PREFIX.length() + ENCODED_LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), chars, 0);
+        for (int i = chars.length - 1; i >= PREFIX.length(); i--) {
+            chars[i] = DIGITS[(int) (id % 36)];
+            id /= 36;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Creation time encoded in an order number produced by this generator
+     */
+    static Instant timestampOf(String orderNumber) {
+        long id = Long.parseLong(orderNumber.substring(PREFIX.length()), 36);
+        return Instant.ofEpochMilli((id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS);
+    }
+
+    /**
+     * Node id derived from a hash of the instance id. Two instances can hash to the same node id
+     * (about 1 in 1000 per pair), so deployments with many replicas should set order.number.node-id;
+     * the unique index on orders.order_number remains the last line of defence.
+     */
+    static long nodeIdOf(String instanceId) {
+        if (instanceId == null || instanceId.isBlank()) {
+            return 0;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(instanceId.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue() & MAX_NODE_ID;
+    }
+}
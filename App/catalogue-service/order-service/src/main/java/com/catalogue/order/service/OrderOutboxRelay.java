@@ -0,0 +1,184 @@
+package com.catalogue.order.service;
+
+import com.catalogue.order.client.ProductClient;
+import com.catalogue.order.dto.OrderStockEventDTO;
+import com.catalogue.order.dto.OrderStockEventResultDTO;
+import com.catalogue.order.entity.OrderStatus;
+import com.catalogue.order.entity.OutboxEvent;
+import com.catalogue.order.entity.OutboxEventType;
+import com.catalogue.order.entity.OutboxRelayLease;
+import com.catalogue.order.repository.OrderRepository;
+import com.catalogue.order.repository.OutboxEventRepository;
+import com.catalogue.order.repository.OutboxRelayLeaseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Relays outbox events to product-service in batches, oldest first.
+ *
+ * Delivery is at least once: an event is deleted only after product-service acknowledged it, and
+ * product-service ignores event ids it has already applied. When product-service is unreachable the
+ * whole outbox waits with exponential back-off, so events are never relayed out of order.
+ * A rejected ORDER_CREATED (not enough stock left) cancels the order.
+ *
+ * Only the instance holding the outbox_relay_lease row relays, so batches are never sent
+ * concurrently. Events are ordered by creation time rather than id, because every instance hands
+ * out ids from its own pooled block. Clock skew between instances can still put an ORDER_CANCELLED
+ * ahead of its ORDER_CREATED; product-service then records the cancellation and skips the late
+ * reservation.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderOutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OrderRepository orderRepository;
+    private final ProductClient productClient;
+    private final OrderStatsService orderStatsService;
+    private final OutboxRelayLeaseRepository leaseRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Value("${order.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${order.outbox.retry-backoff:1s}")
+    private Duration initialBackoff;
+
+    @Value("${order.outbox.max-retry-backoff:1m}")
+    private Duration maxBackoff;
+
+    // Longer than a batch can take (Feign read timeout), or a second instance may start relaying
+    @Value("${order.outbox.lease:PT2M}")
+    private Duration lease;
+
+    private Duration backoff;
+    private Instant retryAt = Instant.MIN;
+
+    @Scheduled(fixedDelayString = "${order.outbox.relay-interval:PT1S}")
+    public synchronized void relayPending() {
+        if (Instant.now().isBefore(retryAt) || !acquireLease()) {
+            return;
+        }
+        // Keep going while full batches are acknowledged, so a backlog drains in one run
+        while (relayBatch() == batchSize && acquireLease()) {
+            log.debug("Outbox backlog, relaying next batch");
+        }
+    }
+
+    /**
+     * Take or renew the relay lease
+     * @return whether this instance holds it for the next lease period
+     */
+    boolean acquireLease() {
+        Instant now = Instant.now();
+        Instant until = now.plus(lease);
+        try {
+            return transactionTemplate.execute(status ->
+                    leaseRepository.claim(OutboxRelayLease.ID, instanceId, now, until) == 1
+                            || (!leaseRepository.existsById(OutboxRelayLease.ID)
+                            && leaseRepository.insert(OutboxRelayLease.ID, instanceId, until) == 1));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the lease row first
+            return false;
+        }
+    }
+
+    /**
+     * Relay the oldest events in one call to product-service
+     * @return the number of events acknowledged
+     */
+    int relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository.findAllByOrderByCreatedAtAscIdAsc(Limit.of(Math.max(batchSize, 1)));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<OrderStockEventResultDTO> results;
+        try {
+            results = productClient.applyStockEvents(events.stream().map(this::toDTO).toList());
+        } catch (Exception e) {
+            recordFailure(events, e);
+            return 0;
+        }
+
+        Map<String, OrderStockEventResultDTO> byEventId = results == null ? Map.of() : results.stream()
+                .collect(Collectors.toMap(OrderStockEventResultDTO::getEventId, Function.identity(), (a, b) -> a));
+        int acknowledged = transactionTemplate.execute(status -> {
+            int count = 0;
+            for (OutboxEvent event : events) {
+                OrderStockEventResultDTO result = byEventId.get(event.getEventId());
+                if (result == null) {
+                    // Keep this and all later events for the next run, to preserve their order
+                    break;
+                }
+                if (!Boolean.TRUE.equals(result.getSuccess())) {
+                    handleRejection(event, result.getMessage());
+                }
+                outboxEventRepository.delete(event);
+                count++;
+            }
+            return count;
+        });
+
+        backoff = null;
+        retryAt = Instant.MIN;
+        log.info("Relayed {} of {} outbox events to product-service", acknowledged, events.size());
+        return acknowledged;
+    }
+
+    private void handleRejection(OutboxEvent event, String message) {
+        if (event.getType() != OutboxEventType.ORDER_CREATED) {
+            log.error("Product-service rejected {} of order {}: {}", event.getType(), event.getOrderId(), message);
+            return;
+        }
+        orderRepository.findById(event.getOrderId())
+                .filter(order -> order.getStatus() != OrderStatus.CANCELLED)
+                .ifPresent(order -> {
+                    log.warn("Stock reservation for order {} rejected, cancelling it: {}", order.getOrderNumber(), message);
+                    OrderStatus previousStatus = order.getStatus();
+                    order.setStatus(OrderStatus.CANCELLED);
+                    orderStatsService.statusChanged(order, previousStatus);
+                });
+    }
+
+    private void recordFailure(List<OutboxEvent> events, Exception e) {
+        backoff = backoff == null ? initialBackoff : min(backoff.multipliedBy(2), maxBackoff);
+        retryAt = Instant.now().plus(backoff);
+        log.warn("Relaying {} outbox events failed, retrying in {} ms: {}", events.size(), backoff.toMillis(), e.getMessage());
+
+        String error = e.getMessage() == null ? e.getClass().getName() : e.getMessage();
+        String truncated = error.length() > 1000 ? error.substring(0, 1000) : error;
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.recordFailedAttempt(
+                events.stream().map(OutboxEvent::getId).toList(), truncated));
+    }
+
+    private OrderStockEventDTO toDTO(OutboxEvent event) {
+        return OrderStockEventDTO.builder()
+                .eventId(event.getEventId())
+                .orderId(event.getOrderId())
+                .type(event.getType())
+                .adjustments(event.getAdjustments())
+                .build();
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+}
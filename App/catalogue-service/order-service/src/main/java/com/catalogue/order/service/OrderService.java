@@ -1,23 +1,63 @@
 package com.catalogue.order.service;
 
 import com.catalogue.order.client.ProductClient;
+import com.catalogue.order.dto.CursorPage;
+import com.catalogue.order.dto.OrderCursor;
 import com.catalogue.order.dto.OrderDTO;
 import com.catalogue.order.dto.OrderItemDTO;
 import com.catalogue.order.dto.ProductDTO;
+import com.catalogue.order.dto.StockAdjustmentDTO;
+import com.catalogue.order.entity.IdempotencyKey;
 import com.catalogue.order.entity.Order;
 import com.catalogue.order.entity.OrderItem;
 import com.catalogue.order.entity.OrderStatus;
+import com.catalogue.order.entity.OutboxEvent;
+import com.catalogue.order.entity.OutboxEventType;
+import com.catalogue.order.exception.IdempotencyConflictException;
+import com.catalogue.order.exception.ProductLookupRejectedException;
 import com.catalogue.order.mapper.OrderMapper;
+import com.catalogue.order.repository.IdempotencyKeyRepository;
 import com.catalogue.order.repository.OrderRepository;
+import com.catalogue.order.repository.OutboxEventRepository;
+import feign.Request;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -25,37 +65,123 @@ import java.util.UUID;
 @lombok.extern.slf4j.Slf4j
 public class OrderService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    // Matches the Order.orderItems batch size, so a full page loads its items in one query
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 100;
+
     private final OrderRepository orderRepository;
     private final OrderMapper orderMapper;
     private final ProductClient productClient;
+    private final ThreadPoolTaskExecutor productLookupExecutor;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final OrderStatsService orderStatsService;
+
+    // Deadline for fetching and validating all products of one order
+    @Value("${order.validation.timeout:5s}")
+    private Duration validationTimeout;
+
+    // Product ids per batch lookup; batches are fetched concurrently
+    @Value("${order.validation.batch-size:50}")
+    private int validationBatchSize;
+
+    // How long an Idempotency-Key keeps returning the order it created
+    @Value("${order.idempotency.ttl:24h}")
+    private Duration idempotencyTtl;
 
+    // How long a key stays reserved by a request that never completes it
+    @Value("${order.idempotency.pending-ttl:1m}")
+    private Duration idempotencyPendingTtl;
+
+    /**
+     * Validate the cart against product-service, then save the order and its ORDER_CREATED outbox
+     * event in one local transaction. No transaction is held open during the remote lookups, and
+     * stock is reserved asynchronously by OrderOutboxRelay.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public OrderDTO createOrder(OrderDTO orderDTO) {
+        Order order = prepareOrder(orderDTO);
+        return transactionTemplate.execute(status -> saveOrder(order));
+    }
+
+    /**
+     * Create an order at most once per Idempotency-Key.
+     * The key is committed as in progress before product-service is called, so a concurrent retry
+     * fails on it instead of creating a second order. It is completed with the order id in the
+     * order's transaction, or deleted when the attempt fails so the client can retry.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public OrderDTO createOrder(OrderDTO orderDTO, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return createOrder(orderDTO);
+        }
+        if (idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be at most " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+
+        Instant now = Instant.now();
+        String requestHash = requestHash(orderDTO);
+        Optional<IdempotencyKey> existing = idempotencyKeyRepository.findById(idempotencyKey);
+        if (existing.isPresent()) {
+            IdempotencyKey stored = existing.get();
+            if (stored.isExpired(now)) {
+                idempotencyKeyRepository.delete(stored);
+            } else if (!stored.getRequestHash().equals(requestHash)) {
+                throw new IdempotencyConflictException("Idempotency-Key " + idempotencyKey + " was already used for a different request");
+            } else if (stored.getOrderId() != null) {
+                log.info("Replaying order {} for Idempotency-Key {}", stored.getOrderId(), idempotencyKey);
+                return transactionTemplate.execute(status -> getOrderById(stored.getOrderId()));
+            } else {
+                throw new IdempotencyConflictException("A request with Idempotency-Key " + idempotencyKey + " is already being processed");
+            }
+        }
+
+        IdempotencyKey record;
+        try {
+            // Expires early if this instance dies before completing the key
+            record = idempotencyKeyRepository.saveAndFlush(IdempotencyKey.builder()
+                    .key(idempotencyKey)
+                    .requestHash(requestHash)
+                    .expiresAt(now.plus(idempotencyPendingTtl))
+                    .build());
+        } catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+            // Duplicate key, or lock timeout while a concurrent request inserts the same key
+            throw new IdempotencyConflictException("A request with Idempotency-Key " + idempotencyKey + " is already being processed");
+        }
+
+        try {
+            Order order = prepareOrder(orderDTO);
+            return transactionTemplate.execute(status -> {
+                OrderDTO created = saveOrder(order);
+                record.setOrderId(created.getId());
+                record.setExpiresAt(now.plus(idempotencyTtl));
+                idempotencyKeyRepository.save(record);
+                return created;
+            });
+        } catch (RuntimeException e) {
+            idempotencyKeyRepository.deleteById(idempotencyKey);
+            throw e;
+        }
+    }
+
+    /**
+     * Price the cart from the validated products and build the order entity (not saved yet)
+     */
+    private Order prepareOrder(OrderDTO orderDTO) {
         log.info("Creating order for user: {}", orderDTO.getUserId());
-        // Validate products and calculate totals
+        // Fetch and validate the products of the cart concurrently, failing fast on the first bad item
+        Map<Long, ProductDTO> products = fetchAndValidateProducts(orderDTO.getOrderItems());
+
+        // Calculate totals
         BigDecimal montantTotal = BigDecimal.ZERO;
 
         for (OrderItemDTO itemDTO : orderDTO.getOrderItems()) {
             log.info("Processing item: productId={}, quantity={}", itemDTO.getProductId(), itemDTO.getQuantity());
-            ProductDTO product;
-            try {
-                product = productClient.getProductById(itemDTO.getProductId());
-                log.info("Product fetched: {}", product);
-            } catch (Exception e) {
-                log.error("Failed to fetch product with id: {}", itemDTO.getProductId(), e);
-                throw new IllegalStateException("Failed to fetch product information", e);
-            }
-            
-            if (product == null) {
-                throw new IllegalStateException("Product not found with id: " + itemDTO.getProductId());
-            }
-
-            if (!product.getDisponible()) {
-                throw new IllegalStateException("Product " + product.getNom() + " is not available");
-            }
-
-            if (product.getStockQuantity() < itemDTO.getQuantity()) {
-                throw new IllegalStateException("Insufficient stock for product " + product.getNom());
-            }
+            ProductDTO product = products.get(itemDTO.getProductId());
 
             BigDecimal itemTotal = product.getPrix().multiply(BigDecimal.valueOf(itemDTO.getQuantity()));
             itemDTO.setPrixUnitaire(product.getPrix());
@@ -65,7 +191,7 @@ public class OrderService {
             montantTotal = montantTotal.add(itemTotal);
         }
 
-        orderDTO.setOrderNumber(generateOrderNumber());
+        orderDTO.setOrderNumber(orderNumberGenerator.next());
         orderDTO.setStatus(OrderStatus.PENDING);
         orderDTO.setMontantTotal(montantTotal);
 
@@ -75,16 +201,14 @@ public class OrderService {
         for (OrderItem item : order.getOrderItems()) {
             item.setOrder(order);
         }
+        return order;
+    }
 
+    private OrderDTO saveOrder(Order order) {
         Order savedOrder = orderRepository.save(order);
-
-        // Update stock for each product
-        for (OrderItemDTO itemDTO : orderDTO.getOrderItems()) {
-            ProductDTO product = productClient.getProductById(itemDTO.getProductId());
-            int newStock = product.getStockQuantity() - itemDTO.getQuantity();
-            productClient.updateStock(itemDTO.getProductId(), newStock);
-        }
-
+        orderStatsService.orderCreated(savedOrder);
+        // Stock is reserved by the relay; a rejected reservation cancels the order
+        appendOutboxEvent(savedOrder, OutboxEventType.ORDER_CREATED, -1);
         return orderMapper.toDTO(savedOrder);
     }
 
@@ -103,35 +227,42 @@ public class OrderService {
     }
 
     @Transactional(readOnly = true)
-    public List<OrderDTO> getAllOrders() {
-        List<Order> orders = orderRepository.findAll();
-        return orderMapper.toDTOList(orders);
+    public CursorPage<OrderDTO> getAllOrders(String after, Integer size) {
+        return page(after, size,
+                orderRepository::findAllByOrderByCreatedAtDescIdDesc,
+                (cursor, limit) -> orderRepository.findPageBefore(cursor.createdAt(), cursor.id(), limit));
     }
 
     @Transactional(readOnly = true)
-    public List<OrderDTO> getOrdersByUserId(Long userId) {
-        List<Order> orders = orderRepository.findByUserId(userId);
-        return orderMapper.toDTOList(orders);
+    public CursorPage<OrderDTO> getOrdersByUserId(Long userId, String after, Integer size) {
+        return page(after, size,
+                limit -> orderRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, limit),
+                (cursor, limit) -> orderRepository.findPageByUserIdBefore(userId, cursor.createdAt(), cursor.id(), limit));
     }
 
     @Transactional(readOnly = true)
-    public List<OrderDTO> getOrdersByStatus(OrderStatus status) {
-        List<Order> orders = orderRepository.findByStatus(status);
-        return orderMapper.toDTOList(orders);
+    public CursorPage<OrderDTO> getOrdersByStatus(OrderStatus status, String after, Integer size) {
+        return page(after, size,
+                limit -> orderRepository.findByStatusOrderByCreatedAtDescIdDesc(status, limit),
+                (cursor, limit) -> orderRepository.findPageByStatusBefore(status, cursor.createdAt(), cursor.id(), limit));
     }
 
     @Transactional(readOnly = true)
-    public List<OrderDTO> getOrdersByDateRange(Instant startDate, Instant endDate) {
-        List<Order> orders = orderRepository.findByCreatedAtBetween(startDate, endDate);
-        return orderMapper.toDTOList(orders);
+    public CursorPage<OrderDTO> getOrdersByDateRange(Instant startDate, Instant endDate, String after, Integer size) {
+        return page(after, size,
+                limit -> orderRepository.findByCreatedAtBetweenOrderByCreatedAtDescIdDesc(startDate, endDate, limit),
+                (cursor, limit) -> orderRepository.findPageByCreatedAtBetweenBefore(
+                        startDate, endDate, cursor.createdAt(), cursor.id(), limit));
     }
 
     public OrderDTO updateOrderStatus(Long id, OrderStatus newStatus) {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Order not found with id: " + id));
 
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(newStatus);
         Order updatedOrder = orderRepository.save(order);
+        orderStatsService.statusChanged(updatedOrder, previousStatus);
         return orderMapper.toDTO(updatedOrder);
     }
 
@@ -143,25 +274,192 @@ public class OrderService {
             throw new IllegalStateException("Cannot cancel a delivered order");
         }
 
-        // Restore stock for cancelled orders
-        for (OrderItem item : order.getOrderItems()) {
-            ProductDTO product = productClient.getProductById(item.getProductId());
-            int newStock = product.getStockQuantity() + item.getQuantity();
-            productClient.updateStock(item.getProductId(), newStock);
+        if (order.getStatus() == OrderStatus.CANCELLED) {
+            throw new IllegalStateException("Order is already cancelled");
         }
 
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(OrderStatus.CANCELLED);
         orderRepository.save(order);
+        orderStatsService.statusChanged(order, previousStatus);
+        // Restore stock for cancelled orders, through the outbox like the reservation
+        appendOutboxEvent(order, OutboxEventType.ORDER_CANCELLED, 1);
     }
 
     public void deleteOrder(Long id) {
-        if (!orderRepository.existsById(id)) {
-            throw new EntityNotFoundException("Order not found with id: " + id);
+        Order order = orderRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Order not found with id: " + id));
+        orderStatsService.orderDeleted(order);
+        orderRepository.delete(order);
+    }
+
+    /**
+     * Look up the cart's products in batches of validationBatchSize ids, all in flight at once on
+     * the bounded productLookupExecutor, and validate each batch as soon as it arrives.
+     * The first missing, unavailable or out-of-stock item fails the order right away without
+     * waiting for the other batches, and the whole lookup must finish within validationTimeout.
+     */
+    private Map<Long, ProductDTO> fetchAndValidateProducts(List<OrderItemDTO> items) {
+        List<Long> productIds = items.stream()
+                .map(OrderItemDTO::getProductId)
+                .distinct()
+                .collect(Collectors.toList());
+
+        Instant deadline = Instant.now().plus(validationTimeout);
+        CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+        List<CompletableFuture<List<ProductDTO>>> lookups = new ArrayList<>();
+        for (int from = 0; from < productIds.size(); from += validationBatchSize) {
+            List<Long> batch = productIds.subList(from, Math.min(from + validationBatchSize, productIds.size()));
+            CompletableFuture<List<ProductDTO>> lookup;
+            try {
+                lookup = CompletableFuture
+                        .supplyAsync(() -> fetchProducts(batch, deadline), productLookupExecutor)
+                        .thenApply(products -> {
+                            validateItems(items, batch, products);
+                            return products;
+                        });
+            } catch (RejectedExecutionException e) {
+                // Batches already submitted run to their own timeout; their results are discarded
+                log.warn("Product lookup pool is full, refusing order with {} products", productIds.size());
+                throw new ProductLookupRejectedException("Too many orders are being validated, please retry shortly", e);
+            }
+            lookup.whenComplete((products, error) -> {
+                if (error != null) {
+                    firstFailure.completeExceptionally(error);
+                }
+            });
+            lookups.add(lookup);
+        }
+
+        CompletableFuture<Void> allLookups = CompletableFuture.allOf(lookups.toArray(CompletableFuture[]::new));
+        try {
+            CompletableFuture.anyOf(allLookups, firstFailure)
+                    .orTimeout(validationTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .join();
+        } catch (CompletionException e) {
+            // Stop waiting for the batches still in flight. Cancelling does not interrupt their
+            // HTTP calls, which end on their own timeout (the same deadline); results are discarded
+            lookups.forEach(lookup -> lookup.cancel(false));
+            Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof IllegalStateException illegalState) {
+                throw illegalState;
+            }
+            if (cause instanceof TimeoutException) {
+                throw new IllegalStateException("Product validation timed out after " + validationTimeout.toMillis() + " ms");
+            }
+            throw new IllegalStateException("Failed to fetch product information", cause);
         }
-        orderRepository.deleteById(id);
+
+        Map<Long, ProductDTO> products = new HashMap<>();
+        lookups.forEach(lookup -> lookup.join().forEach(product -> products.put(product.getId(), product)));
+        log.info("Fetched {} products for {} order items in {} batch(es)", products.size(), items.size(), lookups.size());
+        return products;
     }
 
-    private String generateOrderNumber() {
-        return "ORD-" + System.currentTimeMillis() + "-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    private List<ProductDTO> fetchProducts(List<Long> productIds, Instant deadline) {
+        long remainingMs = Duration.between(Instant.now(), deadline).toMillis();
+        if (remainingMs <= 0) {
+            // Queued past the deadline: do not call product-service at all
+            throw new CompletionException(new TimeoutException("Product lookup queued past the order deadline"));
+        }
+        Request.Options options = new Request.Options(remainingMs, TimeUnit.MILLISECONDS, remainingMs, TimeUnit.MILLISECONDS, true);
+        try {
+            return productClient.getProductsByIds(productIds, options);
+        } catch (Exception e) {
+            log.error("Failed to fetch products with ids: {}", productIds, e);
+            throw new IllegalStateException("Failed to fetch product information", e);
+        }
     }
+
+    private void validateItems(List<OrderItemDTO> items, List<Long> productIds, List<ProductDTO> products) {
+        Map<Long, ProductDTO> byId = products.stream()
+                .collect(Collectors.toMap(ProductDTO::getId, Function.identity()));
+        Set<Long> batch = new HashSet<>(productIds);
+        // Lines of the same product draw on the same stock: check their total
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItemDTO itemDTO : items) {
+            if (batch.contains(itemDTO.getProductId())) {
+                quantities.merge(itemDTO.getProductId(), itemDTO.getQuantity(), Integer::sum);
+            }
+        }
+        for (Map.Entry<Long, Integer> quantity : quantities.entrySet()) {
+            ProductDTO product = byId.get(quantity.getKey());
+
+            if (product == null) {
+                throw new IllegalStateException("Product not found with id: " + quantity.getKey());
+            }
+
+            if (!product.getDisponible()) {
+                throw new IllegalStateException("Product " + product.getNom() + " is not available");
+            }
+
+            if (product.getStockQuantity() < quantity.getValue()) {
+                throw new IllegalStateException("Insufficient stock for product " + product.getNom());
+            }
+        }
+    }
+
+    /**
+     * Record a stock change of the order for OrderOutboxRelay, in the caller's transaction
+     * @param sign -1 to reserve the item quantities, 1 to release them
+     */
+    private void appendOutboxEvent(Order order, OutboxEventType type, int sign) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .orderId(order.getId())
+                .type(type)
+                .adjustments(order.getOrderItems().stream()
+                        .map(item -> new StockAdjustmentDTO(item.getProductId(), sign * item.getQuantity()))
+                        .collect(Collectors.toList()))
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${order.idempotency.purge-interval:PT1H}")
+    public void purgeExpiredIdempotencyKeys() {
+        int purged = idempotencyKeyRepository.deleteExpired(Instant.now());
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    /**
+     * Run a keyset query for one page (newest first) and compute the cursor of the next one.
+     * One extra row is fetched to know whether another page exists.
+     */
+    private CursorPage<OrderDTO> page(String after, Integer size,
+                                      Function<Limit, List<Order>> firstPage,
+                                      BiFunction<OrderCursor, Limit, List<Order>> nextPage) {
+        int pageSize = size == null || size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+        List<Order> orders = after == null || after.isBlank()
+                ? firstPage.apply(limit)
+                : nextPage.apply(OrderCursor.decode(after), limit);
+
+        String nextCursor = null;
+        if (orders.size() > pageSize) {
+            orders = orders.subList(0, pageSize);
+            Order last = orders.get(pageSize - 1);
+            nextCursor = new OrderCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(orderMapper.toDTOList(orders), nextCursor);
+    }
+
+    /**
+     * Fingerprint of the fields that define an order request: user, address and cart
+     */
+    private static String requestHash(OrderDTO orderDTO) {
+        StringBuilder request = new StringBuilder()
+                .append(orderDTO.getUserId()).append('|')
+                .append(orderDTO.getAdresseLivraison()).append('|');
+        orderDTO.getOrderItems().stream()
+                .sorted(Comparator.comparing(OrderItemDTO::getProductId))
+                .forEach(item -> request.append(item.getProductId()).append('x').append(item.getQuantity()).append(','));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(request.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
 }
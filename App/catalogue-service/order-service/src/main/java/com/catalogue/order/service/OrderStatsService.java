@@ -0,0 +1,284 @@
+package com.catalogue.order.service;
+
+import com.catalogue.order.dto.OrderStatsDTO;
+import com.catalogue.order.entity.DailyOrderStats;
+import com.catalogue.order.entity.DailyOrderStatsId;
+import com.catalogue.order.entity.Order;
+import com.catalogue.order.entity.OrderStatus;
+import com.catalogue.order.repository.DailyOrderStatsRepository;
+import com.catalogue.order.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Maintains the daily_order_stats read model and answers dashboard queries from it.
+ *
+ * Orders are bucketed by the UTC day they were created and by their current status. Every change
+ * is a relative UPDATE in the caller's transaction, so the stats commit or roll back with the order.
+ * The empty rows of today and tomorrow are created ahead of time for every status, outside any order
+ * transaction, so the first orders of a day need neither an insert nor a second connection. A row
+ * that is still missing is inserted in its own transaction, so the stats never fail the order write.
+ */
+@Service
+@Transactional
+@Slf4j
+public class OrderStatsService {
+
+    public static final int DEFAULT_RANGE_DAYS = 30;
+    public static final int MAX_RANGE_DAYS = 366;
+
+    private final DailyOrderStatsRepository statsRepository;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate rowTransaction;
+
+    // Rows known to exist, so the common path is a single UPDATE
+    private final Set<DailyOrderStatsId> knownRows = ConcurrentHashMap.newKeySet();
+
+    // Serializes row pre-creation and rebuilds
+    private final Object rowsLock = new Object();
+
+    public OrderStatsService(DailyOrderStatsRepository statsRepository, OrderRepository orderRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.statsRepository = statsRepository;
+        this.orderRepository = orderRepository;
+        this.rowTransaction = new TransactionTemplate(transactionManager);
+        this.rowTransaction.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public void orderCreated(Order order) {
+        DailyOrderStatsId row = rowOf(order, order.getStatus());
+        ensureRow(row);
+        add(row, 1, order.getMontantTotal());
+    }
+
+    public void statusChanged(Order order, OrderStatus previousStatus) {
+        if (previousStatus == order.getStatus()) {
+            return;
+        }
+        DailyOrderStatsId from = rowOf(order, previousStatus);
+        DailyOrderStatsId to = rowOf(order, order.getStatus());
+        ensureRow(from);
+        ensureRow(to);
+        add(from, -1, order.getMontantTotal().negate());
+        add(to, 1, order.getMontantTotal());
+    }
+
+    public void orderDeleted(Order order) {
+        DailyOrderStatsId row = rowOf(order, order.getStatus());
+        ensureRow(row);
+        add(row, -1, order.getMontantTotal().negate());
+    }
+
+    /**
+     * Stats of the orders created from one day to another (inclusive). Reads at most one row per
+     * day and status, however many orders there are.
+     * @param from first day, defaults to DEFAULT_RANGE_DAYS before to
+     * @param to last day, defaults to today (UTC)
+     */
+    @Transactional(readOnly = true)
+    public OrderStatsDTO getStats(LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Stats range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        Map<OrderStatus, OrderStatsDTO.Totals> byStatus = new EnumMap<>(OrderStatus.class);
+        List<OrderStatsDTO.Daily> daily = new ArrayList<>();
+        long orderCount = 0;
+        BigDecimal montantTotal = BigDecimal.ZERO;
+        BigDecimal revenue = BigDecimal.ZERO;
+        for (DailyOrderStats stats : statsRepository.findByDayBetween(start, end)) {
+            if (stats.getOrderCount() == 0) {
+                continue;
+            }
+            OrderStatus status = stats.getId().getStatus();
+            daily.add(new OrderStatsDTO.Daily(stats.getId().getDay(), status, stats.getOrderCount(), stats.getMontantTotal()));
+            OrderStatsDTO.Totals totals = byStatus.computeIfAbsent(status, s -> new OrderStatsDTO.Totals(0, BigDecimal.ZERO));
+            totals.setOrderCount(totals.getOrderCount() + stats.getOrderCount());
+            totals.setMontantTotal(totals.getMontantTotal().add(stats.getMontantTotal()));
+
+            orderCount += stats.getOrderCount();
+            montantTotal = montantTotal.add(stats.getMontantTotal());
+            if (status != OrderStatus.CANCELLED) {
+                revenue = revenue.add(stats.getMontantTotal());
+            }
+        }
+
+        return OrderStatsDTO.builder()
+                .from(start)
+                .to(end)
+                .orderCount(orderCount)
+                .montantTotal(montantTotal)
+                .revenue(revenue)
+                .byStatus(byStatus)
+                .daily(daily)
+                .build();
+    }
+
+    /**
+     * Build the stats for orders that existed before the read model (e.g. seed data)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        // Pre-created rows may already be there, but none of them counts an order yet
+        if (!statsRepository.existsByOrderCountGreaterThan(0) && orderRepository.count() > 0) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Create the empty rows of today and tomorrow (UTC) for every status. Runs on startup and then
+     * every precreate-interval, each row in its own short transaction: no order transaction is
+     * holding a connection meanwhile.
+     */
+    @Scheduled(fixedDelayString = "${order.stats.precreate-interval:PT1H}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void createUpcomingRows() {
+        synchronized (rowsLock) {
+            createRows(upcomingDays());
+        }
+    }
+
+    /**
+     * Recompute every row from the orders table. Scans all orders, so it is meant for
+     * initialisation and repair only. Every day with orders, today and tomorrow get a row for each
+     * status, so later status changes find their target row.
+     *
+     * The rows are created first, then locked before the orders are read: an order change waits
+     * on the row lock and applies its increment on top of the rebuilt totals, and the rebuild
+     * waits for a change already holding a lock and counts its order. Concurrent rebuilds, e.g. the
+     * backfill of several instances, take their turn on the same locks. The pre-creation job waits
+     * for a rebuild to finish, so neither can insert a row the other is writing.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuild() {
+        synchronized (rowsLock) {
+            knownRows.clear();
+            Set<LocalDate> days = new HashSet<>(upcomingDays());
+            rowTransaction.executeWithoutResult(tx -> computeRows().keySet().forEach(id -> days.add(id.getDay())));
+            createRows(new ArrayList<>(days));
+            int rowCount = rowTransaction.execute(tx -> {
+                List<DailyOrderStats> locked = statsRepository.lockAll();
+                Map<DailyOrderStatsId, DailyOrderStats> rows = computeRows();
+                for (DailyOrderStats stats : locked) {
+                    DailyOrderStats totals = rows.remove(stats.getId());
+                    stats.setOrderCount(totals != null ? totals.getOrderCount() : 0);
+                    stats.setMontantTotal(totals != null ? totals.getMontantTotal() : BigDecimal.ZERO);
+                }
+                // Only the orders of a day that started after the rows were created are left
+                for (DailyOrderStats stats : rows.values()) {
+                    DailyOrderStatsId id = stats.getId();
+                    statsRepository.insertEmpty(id.getDay(), id.getStatus().name());
+                    statsRepository.setTotals(id.getDay(), id.getStatus(), stats.getOrderCount(), stats.getMontantTotal());
+                }
+                return locked.size() + rows.size();
+            });
+            log.info("Rebuilt {} daily order stats rows", rowCount);
+        }
+    }
+
+    private Map<DailyOrderStatsId, DailyOrderStats> computeRows() {
+        Map<DailyOrderStatsId, DailyOrderStats> rows = new HashMap<>();
+        try (Stream<OrderRepository.OrderTotals> orders = orderRepository.findAllProjectedBy()) {
+            orders.forEach(order -> {
+                DailyOrderStatsId id = new DailyOrderStatsId(dayOf(order.getCreatedAt()), order.getStatus());
+                DailyOrderStats stats = rows.computeIfAbsent(id, key -> new DailyOrderStats(key, 0, BigDecimal.ZERO));
+                stats.setOrderCount(stats.getOrderCount() + 1);
+                stats.setMontantTotal(stats.getMontantTotal().add(order.getMontantTotal()));
+            });
+        }
+        return rows;
+    }
+
+    /**
+     * Insert the missing empty rows of the given days, each in its own transaction. Checks the
+     * table rather than knownRows, so rows deleted behind our back are recreated.
+     */
+    private void createRows(List<LocalDate> days) {
+        for (LocalDate day : days) {
+            for (OrderStatus status : OrderStatus.values()) {
+                DailyOrderStatsId row = new DailyOrderStatsId(day, status);
+                insertIfMissing(row);
+                knownRows.add(row);
+            }
+        }
+    }
+
+    /**
+     * Insert an empty row unless it exists, in a transaction of its own. Losing the race to a
+     * concurrent insert of the same row is fine: the row exists either way.
+     */
+    private void insertIfMissing(DailyOrderStatsId row) {
+        try {
+            rowTransaction.executeWithoutResult(tx -> {
+                if (!statsRepository.existsById(row)) {
+                    statsRepository.insertEmpty(row.getDay(), row.getStatus().name());
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Stats row {} created concurrently", row);
+        }
+    }
+
+    private static List<LocalDate> upcomingDays() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        return List.of(today, today.plusDays(1));
+    }
+
+    private void add(DailyOrderStatsId row, long count, BigDecimal amount) {
+        if (statsRepository.increment(row.getDay(), row.getStatus(), count, amount) == 0) {
+            // Deleted behind our back; recreated on the next change, rebuild() repairs the totals
+            knownRows.remove(row);
+            log.warn("Daily order stats row {} is missing, stats are out of date until rebuilt", row);
+        }
+    }
+
+    private void ensureRow(DailyOrderStatsId row) {
+        if (knownRows.contains(row)) {
+            return;
+        }
+        if (!statsRepository.existsById(row)) {
+            // Not pre-created yet (createUpcomingRows has not run). Inserting it in the caller's
+            // transaction would fail the order when a concurrent first change inserts it too.
+            log.warn("Daily order stats row {} was not pre-created", row);
+            insertIfMissing(row);
+        }
+        knownRows.add(row);
+    }
+
+    private static DailyOrderStatsId rowOf(Order order, OrderStatus status) {
+        // createdAt is set when the order is persisted; fall back to now for an order not flushed yet
+        return new DailyOrderStatsId(dayOf(order.getCreatedAt() != null ? order.getCreatedAt() : Instant.now()), status);
+    }
+
+    private static LocalDate dayOf(Instant instant) {
+        return LocalDate.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
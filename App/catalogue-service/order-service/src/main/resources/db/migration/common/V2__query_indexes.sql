@@ -0,0 +1,22 @@
+-- Indexes for the OrderRepository access paths. Lists are keyset-paginated newest first on
+-- (created_at, id), so each filter column leads an index that ends with created_at, id and
+-- both serves the WHERE clause and returns rows already sorted.
+
+-- findByUserIdOrderByCreatedAtDescIdDesc, findPageByUserIdBefore (user order history)
+CREATE INDEX idx_orders_user_created ON orders (user_id, created_at, id);
+
+-- findByStatusOrderByCreatedAtDescIdDesc, findPageByStatusBefore
+CREATE INDEX idx_orders_status_created ON orders (status, created_at, id);
+
+-- findByCreatedAtBetween..., findPageByCreatedAtBetweenBefore, findAllByOrderByCreatedAtDescIdDesc, findPageBefore
+-- (the cursor condition is written as a range on created_at so the index can be used)
+CREATE INDEX idx_orders_created ON orders (created_at, id);
+
+-- Order.orderItems batch fetching (WHERE order_id IN (...)) uses the index that H2 and MySQL
+-- create for the fk_order_items_order foreign key
+
+-- OutboxEventRepository.findAllByOrderByCreatedAtAscIdAsc (relay order)
+CREATE INDEX idx_outbox_events_created ON outbox_events (created_at, id);
+
+-- IdempotencyKeyRepository.deleteExpired
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
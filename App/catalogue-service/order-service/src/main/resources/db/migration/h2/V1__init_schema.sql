@@ -0,0 +1,65 @@
+-- Order Service schema (H2, also used in MySQL compatibility mode)
+-- Ids come from pooled sequences (allocationSize = 50 in the entities)
+
+CREATE SEQUENCE orders_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE order_items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE outbox_events_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE orders (
+    id BIGINT NOT NULL PRIMARY KEY,
+    order_number VARCHAR(50) NOT NULL,
+    user_id BIGINT NOT NULL,
+    adresse_livraison VARCHAR(500) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    montant_total NUMERIC(10, 2) NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT uk_orders_order_number UNIQUE (order_number)
+);
+
+CREATE TABLE order_items (
+    id BIGINT NOT NULL PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    product_nom VARCHAR(255),
+    quantity INTEGER NOT NULL,
+    prix_unitaire NUMERIC(10, 2) NOT NULL,
+    sous_total NUMERIC(10, 2) NOT NULL,
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id)
+);
+
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(100) NOT NULL PRIMARY KEY,
+    request_hash VARCHAR(64) NOT NULL,
+    order_id BIGINT,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    version BIGINT
+);
+
+CREATE TABLE outbox_events (
+    id BIGINT NOT NULL PRIMARY KEY,
+    event_id VARCHAR(36) NOT NULL,
+    order_id BIGINT NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    adjustments JSON NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    attempts INTEGER NOT NULL,
+    last_error VARCHAR(1000),
+    CONSTRAINT uk_outbox_events_event_id UNIQUE (event_id)
+);
+
+-- Single row naming the instance that relays outbox_events
+CREATE TABLE outbox_relay_lease (
+    id INTEGER NOT NULL PRIMARY KEY,
+    owner VARCHAR(64) NOT NULL,
+    lease_until TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+INSERT INTO outbox_relay_lease VALUES (1, 'none', TIMESTAMP WITH TIME ZONE '1970-01-01 00:00:00+00');
+
+CREATE TABLE daily_order_stats (
+    stats_day DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    order_count BIGINT NOT NULL,
+    montant_total NUMERIC(14, 2) NOT NULL,
+    PRIMARY KEY (stats_day, status)
+);
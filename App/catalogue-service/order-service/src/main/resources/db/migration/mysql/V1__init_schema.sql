@@ -0,0 +1,68 @@
+-- Order Service schema (MySQL)
+-- MySQL has no sequences: Hibernate emulates the pooled sequences with one-row tables
+
+CREATE TABLE orders_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO orders_seq VALUES (1);
+CREATE TABLE order_items_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO order_items_seq VALUES (1);
+CREATE TABLE outbox_events_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO outbox_events_seq VALUES (1);
+
+CREATE TABLE orders (
+    id BIGINT NOT NULL PRIMARY KEY,
+    order_number VARCHAR(50) NOT NULL,
+    user_id BIGINT NOT NULL,
+    adresse_livraison VARCHAR(500) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    montant_total DECIMAL(10, 2) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    CONSTRAINT uk_orders_order_number UNIQUE (order_number)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE order_items (
+    id BIGINT NOT NULL PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    product_nom VARCHAR(255),
+    quantity INT NOT NULL,
+    prix_unitaire DECIMAL(10, 2) NOT NULL,
+    sous_total DECIMAL(10, 2) NOT NULL,
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(100) NOT NULL PRIMARY KEY,
+    request_hash VARCHAR(64) NOT NULL,
+    order_id BIGINT,
+    expires_at DATETIME(6) NOT NULL,
+    version BIGINT
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE outbox_events (
+    id BIGINT NOT NULL PRIMARY KEY,
+    event_id VARCHAR(36) NOT NULL,
+    order_id BIGINT NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    adjustments JSON NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    attempts INT NOT NULL,
+    last_error VARCHAR(1000),
+    CONSTRAINT uk_outbox_events_event_id UNIQUE (event_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Single row naming the instance that relays outbox_events
+CREATE TABLE outbox_relay_lease (
+    id INT NOT NULL PRIMARY KEY,
+    owner VARCHAR(64) NOT NULL,
+    lease_until DATETIME(6) NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+INSERT INTO outbox_relay_lease VALUES (1, 'none', '1970-01-01 00:00:00');
+
+CREATE TABLE daily_order_stats (
+    stats_day DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    order_count BIGINT NOT NULL,
+    montant_total DECIMAL(14, 2) NOT NULL,
+    PRIMARY KEY (stats_day, status)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
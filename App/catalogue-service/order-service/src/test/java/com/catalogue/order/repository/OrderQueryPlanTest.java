@@ -0,0 +1,89 @@
+package com.catalogue.order.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks on H2 (MySQL mode) that the Flyway schema validates against the entities and that
+ * every repository access path is served by an index instead of a full table scan.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:order_plan;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.flyway.locations=classpath:db/migration/common,classpath:db/migration/{vendor}",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class OrderQueryPlanTest {
+
+    // Keyset condition as written in OrderRepository
+    private static final String CURSOR = "created_at <= TIMESTAMP WITH TIME ZONE '2026-01-01 00:00:00+00' "
+            + "AND (created_at < TIMESTAMP WITH TIME ZONE '2026-01-01 00:00:00+00' OR id < 100)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testFindByUserId() {
+        assertUsesIndex("SELECT * FROM orders WHERE user_id = 1 ORDER BY created_at DESC, id DESC LIMIT 21",
+                "idx_orders_user_created");
+        assertUsesIndex("SELECT * FROM orders WHERE user_id = 1 AND (" + CURSOR + ") ORDER BY created_at DESC, id DESC LIMIT 21",
+                "idx_orders_user_created");
+    }
+
+    @Test
+    void testFindByStatus() {
+        assertUsesIndex("SELECT * FROM orders WHERE status = 'PENDING' ORDER BY created_at DESC, id DESC LIMIT 21",
+                "idx_orders_status_created");
+        assertUsesIndex("SELECT * FROM orders WHERE status = 'PENDING' AND (" + CURSOR + ") ORDER BY created_at DESC, id DESC LIMIT 21",
+                "idx_orders_status_created");
+    }
+
+    @Test
+    void testFindByCreatedAtBetween() {
+        assertUsesIndex("SELECT * FROM orders WHERE created_at BETWEEN TIMESTAMP WITH TIME ZONE '2025-01-01 00:00:00+00' "
+                + "AND TIMESTAMP WITH TIME ZONE '2026-01-01 00:00:00+00' ORDER BY created_at DESC, id DESC LIMIT 21",
+                "idx_orders_created");
+    }
+
+    @Test
+    void testFindAllNewestFirst() {
+        assertUsesIndex("SELECT * FROM orders WHERE " + CURSOR + " ORDER BY created_at DESC, id DESC LIMIT 21",
+                "idx_orders_created");
+    }
+
+    @Test
+    void testFindByOrderNumber() {
+        assertUsesIndex("SELECT * FROM orders WHERE order_number = 'ORD-1'", "uk_orders_order_number");
+    }
+
+    @Test
+    void testOrderItemsBatchFetch() {
+        assertUsesIndex("SELECT * FROM order_items WHERE order_id IN (1, 2, 3)", "fk_order_items_order");
+    }
+
+    @Test
+    void testDeleteExpiredIdempotencyKeys() {
+        assertUsesIndex("SELECT * FROM idempotency_keys WHERE expires_at <= TIMESTAMP WITH TIME ZONE '2026-01-01 00:00:00+00'",
+                "idx_idempotency_keys_expires_at");
+    }
+
+    @Test
+    void testDailyStatsRange() {
+        assertUsesIndex("SELECT * FROM daily_order_stats WHERE stats_day BETWEEN DATE '2026-01-01' AND DATE '2026-01-31'",
+                "primary_key");
+    }
+
+    private void assertUsesIndex(String sql, String index) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+        assertThat(plan)
+                .as("plan of %s", sql)
+                .containsIgnoringCase(index)
+                .doesNotContainIgnoringCase("tableScan");
+    }
+}
@@ -0,0 +1,124 @@
+package com.catalogue.order.repository;
+
+import com.catalogue.order.entity.Order;
+import com.catalogue.order.entity.OrderItem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark of bulk order inserts: with pooled sequence ids Hibernate sends the
+ * INSERTs as JDBC batches instead of one round trip per row (IDENTITY). The same
+ * inserts are measured with JDBC batching turned off for the session, which costs
+ * one statement per row as IDENTITY did, and both counts are logged.
+ */
+@Slf4j
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderRepositoryBatchInsertTest {
+
+    private static final int ORDERS = 100;
+    private static final int ITEMS_PER_ORDER = 10;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testSaveAll_OrdersWithItemsAreBatched() {
+        int rows = ORDERS * (1 + ITEMS_PER_ORDER);
+        long unbatched = insertStatements(orders("UNBATCHED"), 1);
+        orderRepository.deleteAll();
+
+        long start = System.nanoTime();
+        long batched = insertStatements(orders("BATCHED"), null);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        log.info("Inserted {} rows with {} prepared statements in {} ms ({} without JDBC batching)",
+                rows, batched, elapsedMs, unbatched);
+
+        // Without batching every row is its own statement, plus the sequence calls
+        assertThat(unbatched).isGreaterThanOrEqualTo(rows);
+        // 1100 rows in batches of 50 plus a few sequence calls, instead of one statement per row
+        assertThat(batched).isLessThan(rows / 10);
+        assertThat(orderRepository.count()).isEqualTo(ORDERS);
+    }
+
+    /**
+     * Persist the orders (cascading to their items) in one transaction and count the statements it prepared
+     * @param jdbcBatchSize session batch size, null for the configured one
+     */
+    private long insertStatements(List<Order> orders, Integer jdbcBatchSize) {
+        statistics.clear();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            if (jdbcBatchSize != null) {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            }
+            orders.forEach(entityManager::persist);
+        });
+        assertThat(statistics.getEntityInsertCount()).isEqualTo((long) ORDERS * (1 + ITEMS_PER_ORDER));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static List<Order> orders(String prefix) {
+        List<Order> orders = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            orders.add(order(prefix, i));
+        }
+        return orders;
+    }
+
+    private static Order order(String prefix, int index) {
+        Order order = Order.builder()
+                .orderNumber("ORD-" + prefix + "-" + index)
+                .userId(1L)
+                .adresseLivraison("1 Batch Street")
+                .montantTotal(new BigDecimal("100.00"))
+                .build();
+        for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+            order.getOrderItems().add(OrderItem.builder()
+                    .order(order)
+                    .productId((long) i + 1)
+                    .productNom("Product " + i)
+                    .quantity(1)
+                    .prixUnitaire(new BigDecimal("10.00"))
+                    .sousTotal(new BigDecimal("10.00"))
+                    .build());
+        }
+        return order;
+    }
+}
@@ -0,0 +1,132 @@
+package com.catalogue.order.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the Snowflake-style order number generator
+ */
+class OrderNumberGeneratorTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T12:00:00Z");
+
+    @Test
+    void testNext_CompactAndDecodable() {
+        OrderNumberGenerator generator = new OrderNumberGenerator(Clock.fixed(NOW, ZoneOffset.UTC), 7);
+
+        String orderNumber = generator.next();
+
+        assertThat(orderNumber).hasSize(17).startsWith("ORD-").matches("ORD-[0-9A-Z]{13}");
+        assertThat(OrderNumberGenerator.timestampOf(orderNumber)).isEqualTo(NOW);
+    }
+
+    @Test
+    void testNext_MonotonicWithinAndAcrossMilliseconds() {
+        AtomicLong millis = new AtomicLong(NOW.toEpochMilli());
+        OrderNumberGenerator generator = new OrderNumberGenerator(clock(millis), 1);
+
+        List<String> numbers = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 1000 == 0) {
+                millis.incrementAndGet();
+            }
+            numbers.add(generator.next());
+        }
+
+        // 10 000 ids over 10 ms exceed the 4096 per ms sequence; the generator borrows ahead
+        assertThat(numbers).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void testNext_ClockGoingBackwardsStaysMonotonic() {
+        AtomicLong millis = new AtomicLong(NOW.toEpochMilli());
+        OrderNumberGenerator generator = new OrderNumberGenerator(clock(millis), 1);
+
+        String before = generator.next();
+        millis.addAndGet(-5_000);
+        String after = generator.next();
+
+        assertThat(after).isGreaterThan(before);
+    }
+
+    @Test
+    void testNext_NodesNeverCollide() {
+        Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+        OrderNumberGenerator first = new OrderNumberGenerator(clock, 1);
+        OrderNumberGenerator second = new OrderNumberGenerator(clock, 2);
+
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 1000; i++) {
+            assertThat(numbers.add(first.next())).isTrue();
+            assertThat(numbers.add(second.next())).isTrue();
+        }
+    }
+
+    @Test
+    void testNext_UniqueUnderContention() throws Exception {
+        OrderNumberGenerator generator = new OrderNumberGenerator(Clock.systemUTC(), 3);
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < 25_000; i++) {
+                        numbers.add(generator.next());
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(numbers).hasSize(200_000);
+    }
+
+    @Test
+    void testNodeId() {
+        assertThat(OrderNumberGenerator.nodeIdOf("order-service:10.0.0.12:8083"))
+                .isEqualTo(OrderNumberGenerator.nodeIdOf("order-service:10.0.0.12:8083"))
+                .isBetween(0L, OrderNumberGenerator.MAX_NODE_ID);
+        assertThat(OrderNumberGenerator.nodeIdOf("")).isZero();
+        assertThatThrownBy(() -> new OrderNumberGenerator(Clock.systemUTC(), 1024))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Clock clock(AtomicLong millis) {
+        return new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return Instant.ofEpochMilli(millis.get());
+            }
+        };
+    }
+}
@@ -0,0 +1,234 @@
+package com.catalogue.order.service;
+
+import com.catalogue.order.client.ProductClient;
+import com.catalogue.order.config.ExecutorConfig;
+import com.catalogue.order.dto.OrderDTO;
+import com.catalogue.order.dto.OrderItemDTO;
+import com.catalogue.order.dto.OrderStockEventDTO;
+import com.catalogue.order.dto.OrderStockEventResultDTO;
+import com.catalogue.order.dto.ProductDTO;
+import com.catalogue.order.dto.StockAdjustmentDTO;
+import com.catalogue.order.entity.OrderStatus;
+import com.catalogue.order.entity.OutboxEvent;
+import com.catalogue.order.entity.OutboxEventType;
+import com.catalogue.order.entity.OutboxRelayLease;
+import com.catalogue.order.mapper.OrderItemMapperImpl;
+import com.catalogue.order.mapper.OrderMapperImpl;
+import com.catalogue.order.repository.OrderRepository;
+import com.catalogue.order.repository.OutboxEventRepository;
+import com.catalogue.order.repository.OutboxRelayLeaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for relaying outbox events to product-service
+ */
+@DataJpaTest(properties = {
+        "order.outbox.batch-size=2",
+        "order.outbox.retry-backoff=1h"
+})
+@Import({OrderService.class, OrderNumberGenerator.class, OrderStatsService.class, OrderOutboxRelay.class, OrderMapperImpl.class, OrderItemMapperImpl.class, ExecutorConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderOutboxRelayTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderOutboxRelay relay;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxRelayLeaseRepository leaseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private ProductClient productClient;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        orderRepository.deleteAll();
+        leaseRepository.deleteAll();
+        when(productClient.getProductsByIds(anyCollection(), any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> ProductDTO.builder()
+                    .id(id)
+                    .nom("Product " + id)
+                    .prix(new BigDecimal("10.00"))
+                    .stockQuantity(10)
+                    .disponible(true)
+                    .build()).toList();
+        });
+    }
+
+    @Test
+    void testRelay_SendsEventsInOrderAndDeletesThem() {
+        Long first = orderService.createOrder(order()).getId();
+        Long second = orderService.createOrder(order()).getId();
+        orderService.cancelOrder(first);
+        List<OrderStockEventDTO> sent = new ArrayList<>();
+        answerEvents(event -> {
+            sent.add(event);
+            return true;
+        });
+
+        relay.relayPending();
+
+        // Three events in two batches of at most two
+        verify(productClient, times(2)).applyStockEvents(anyList());
+        assertThat(sent).extracting(OrderStockEventDTO::getOrderId).containsExactly(first, second, first);
+        assertThat(sent).extracting(OrderStockEventDTO::getType).containsExactly(
+                OutboxEventType.ORDER_CREATED, OutboxEventType.ORDER_CREATED, OutboxEventType.ORDER_CANCELLED);
+        assertThat(sent.get(2).getAdjustments()).allSatisfy(adjustment -> assertThat(adjustment.getDelta()).isPositive());
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    void testRelay_RejectedReservationCancelsOrder() {
+        Long orderId = orderService.createOrder(order()).getId();
+        answerEvents(event -> false);
+
+        relay.relayPending();
+
+        assertThat(orderRepository.findById(orderId).orElseThrow().getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    @DirtiesContext // Leaves the relay in its back-off window
+    void testRelay_UnreachableProductServiceKeepsEventsAndBacksOff() {
+        orderService.createOrder(order());
+        when(productClient.applyStockEvents(anyList())).thenThrow(new IllegalStateException("Connection refused"));
+
+        relay.relayPending();
+        relay.relayPending();
+
+        // The second run is inside the back-off window and does not call product-service
+        verify(productClient, times(1)).applyStockEvents(anyList());
+        assertThat(outboxEventRepository.findAll()).singleElement().satisfies(event -> {
+            assertThat(event.getAttempts()).isEqualTo(1);
+            assertThat(event.getLastError()).isEqualTo("Connection refused");
+        });
+    }
+
+    @Test
+    void testRelay_UnacknowledgedEventsAreKept() {
+        orderService.createOrder(order());
+        orderService.createOrder(order());
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        when(productClient.applyStockEvents(anyList())).thenReturn(List.of(
+                new OrderStockEventResultDTO(events.get(0).getEventId(), true, null)));
+
+        assertThat(relay.relayBatch()).isEqualTo(1);
+
+        assertThat(outboxEventRepository.findAll()).extracting(OutboxEvent::getEventId)
+                .containsExactly(events.get(1).getEventId());
+    }
+
+    @Test
+    void testRelay_EventsFollowCreationTimeNotId() {
+        // Ids come from per-instance blocks: a cancellation written on another instance may get the lower id
+        OutboxEvent cancelled = outboxEventRepository.save(event(42L, OutboxEventType.ORDER_CANCELLED, 2));
+        OutboxEvent created = outboxEventRepository.save(event(42L, OutboxEventType.ORDER_CREATED, -2));
+        jdbcTemplate.update("UPDATE outbox_events SET created_at = ? WHERE id = ?",
+                Timestamp.from(cancelled.getCreatedAt().minusSeconds(1)), created.getId());
+        assertThat(cancelled.getId()).isLessThan(created.getId());
+        List<OrderStockEventDTO> sent = new ArrayList<>();
+        answerEvents(event -> {
+            sent.add(event);
+            return true;
+        });
+
+        relay.relayPending();
+
+        assertThat(sent).extracting(OrderStockEventDTO::getType)
+                .containsExactly(OutboxEventType.ORDER_CREATED, OutboxEventType.ORDER_CANCELLED);
+    }
+
+    @Test
+    void testRelay_OnlyLeaseHolderRelays() {
+        orderService.createOrder(order());
+        leaseRepository.save(OutboxRelayLease.builder()
+                .id(OutboxRelayLease.ID)
+                .owner("other-instance")
+                .leaseUntil(Instant.now().plus(Duration.ofMinutes(1)))
+                .build());
+
+        relay.relayPending();
+
+        verify(productClient, never()).applyStockEvents(anyList());
+        assertThat(outboxEventRepository.count()).isEqualTo(1);
+
+        // Once the other instance's lease has run out, this one takes over
+        leaseRepository.save(OutboxRelayLease.builder()
+                .id(OutboxRelayLease.ID)
+                .owner("other-instance")
+                .leaseUntil(Instant.now().minusSeconds(1))
+                .build());
+        answerEvents(event -> true);
+
+        relay.relayPending();
+
+        assertThat(outboxEventRepository.count()).isZero();
+        assertThat(leaseRepository.findById(OutboxRelayLease.ID).orElseThrow().getOwner()).isNotEqualTo("other-instance");
+    }
+
+    private void answerEvents(Function<OrderStockEventDTO, Boolean> outcome) {
+        when(productClient.applyStockEvents(anyList())).thenAnswer(invocation -> {
+            List<OrderStockEventDTO> events = invocation.getArgument(0);
+            return events.stream()
+                    .map(event -> new OrderStockEventResultDTO(event.getEventId(), outcome.apply(event), null))
+                    .toList();
+        });
+    }
+
+    private static OutboxEvent event(Long orderId, OutboxEventType type, int delta) {
+        return OutboxEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .orderId(orderId)
+                .type(type)
+                .adjustments(List.of(new StockAdjustmentDTO(1L, delta)))
+                .build();
+    }
+
+    private static OrderDTO order() {
+        List<OrderItemDTO> items = new ArrayList<>();
+        items.add(OrderItemDTO.builder().productId(1L).quantity(2).build());
+        return OrderDTO.builder()
+                .userId(1L)
+                .adresseLivraison("1 Relay Street")
+                .orderItems(items)
+                .build();
+    }
+}
@@ -0,0 +1,245 @@
+package com.catalogue.order.service;
+
+import com.catalogue.order.client.ProductClient;
+import com.catalogue.order.config.ExecutorConfig;
+import com.catalogue.order.dto.OrderDTO;
+import com.catalogue.order.dto.OrderItemDTO;
+import com.catalogue.order.dto.ProductDTO;
+import com.catalogue.order.dto.StockAdjustmentDTO;
+import com.catalogue.order.entity.OutboxEventType;
+import com.catalogue.order.exception.ProductLookupRejectedException;
+import com.catalogue.order.mapper.OrderItemMapperImpl;
+import com.catalogue.order.mapper.OrderMapperImpl;
+import com.catalogue.order.repository.OrderRepository;
+import com.catalogue.order.repository.OutboxEventRepository;
+import feign.Request;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the concurrent, deadline-bound product validation of createOrder
+ */
+@DataJpaTest(properties = {
+        "order.validation.batch-size=2",
+        "order.validation.timeout=1s"
+})
+@Import({OrderService.class, OrderNumberGenerator.class, OrderStatsService.class, OrderMapperImpl.class, OrderItemMapperImpl.class, ExecutorConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderServiceCreateOrderTest {
+
+    private static final long LOOKUP_DELAY_MS = 300;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ThreadPoolTaskExecutor productLookupExecutor;
+
+    @MockBean
+    private ProductClient productClient;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+    }
+
+    @Test
+    void testCreateOrder_BatchesAreFetchedConcurrently() {
+        answerLookups(id -> product(id, true, 10), LOOKUP_DELAY_MS);
+
+        long start = System.nanoTime();
+        OrderDTO created = orderService.createOrder(order(1L, 2L, 3L, 4L, 5L, 6L));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Three batches of two ids; sequential lookups would take at least 3 x 300 ms
+        verify(productClient, times(3)).getProductsByIds(anyCollection(), any());
+        assertThat(elapsedMs).isLessThan(3 * LOOKUP_DELAY_MS);
+        assertThat(created.getMontantTotal()).isEqualByComparingTo("60.00");
+        assertThat(created.getOrderItems()).allSatisfy(item -> assertThat(item.getProductNom()).isNotNull());
+        // Stock is reserved later by the outbox relay, not while the order is created
+        assertThat(outboxEventRepository.findAll()).singleElement().satisfies(event -> {
+            assertThat(event.getOrderId()).isEqualTo(created.getId());
+            assertThat(event.getType()).isEqualTo(OutboxEventType.ORDER_CREATED);
+            assertThat(event.getAdjustments()).extracting(StockAdjustmentDTO::getDelta).containsOnly(-1);
+        });
+        verify(productClient, never()).applyStockEvents(anyList());
+    }
+
+    @Test
+    void testCreateOrder_FailsFastOnUnavailableProduct() {
+        when(productClient.getProductsByIds(anyCollection(), any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            if (ids.contains(1L)) {
+                return List.of(product(1L, false, 10), product(2L, true, 10));
+            }
+            Thread.sleep(900);
+            return ids.stream().map(id -> product(id, true, 10)).toList();
+        });
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> orderService.createOrder(order(1L, 2L, 3L, 4L)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("is not available");
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(elapsedMs).isLessThan(900);
+        assertThat(orderRepository.count()).isZero();
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    void testCreateOrder_MissingProduct() {
+        answerLookups(id -> id == 3L ? null : product(id, true, 10), 0);
+
+        assertThatThrownBy(() -> orderService.createOrder(order(1L, 2L, 3L)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Product not found with id: 3");
+    }
+
+    @Test
+    void testCreateOrder_InsufficientStock() {
+        answerLookups(id -> product(id, true, 0), 0);
+
+        assertThatThrownBy(() -> orderService.createOrder(order(1L)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Insufficient stock");
+    }
+
+    @Test
+    void testCreateOrder_InsufficientStockAcrossLinesOfTheSameProduct() {
+        answerLookups(id -> product(id, true, 2), 0);
+
+        assertThatThrownBy(() -> orderService.createOrder(order(1L, 1L, 1L)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Insufficient stock");
+        assertThat(orderRepository.count()).isZero();
+    }
+
+    @Test
+    void testCreateOrder_DeadlineExceeded() {
+        answerLookups(id -> product(id, true, 10), 2_000);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> orderService.createOrder(order(1L, 2L, 3L)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("timed out");
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(elapsedMs).isLessThan(2_000);
+        assertThat(orderRepository.count()).isZero();
+    }
+
+    @Test
+    void testCreateOrder_EachLookupIsBoundedByTheDeadline() {
+        answerLookups(id -> product(id, true, 10), 0);
+
+        orderService.createOrder(order(1L, 2L, 3L));
+
+        ArgumentCaptor<Request.Options> options = ArgumentCaptor.forClass(Request.Options.class);
+        verify(productClient, times(2)).getProductsByIds(anyCollection(), options.capture());
+        assertThat(options.getAllValues()).allSatisfy(callOptions -> {
+            assertThat(callOptions.readTimeoutMillis()).isPositive().isLessThanOrEqualTo(1_000);
+            assertThat(callOptions.connectTimeoutMillis()).isPositive().isLessThanOrEqualTo(1_000);
+        });
+    }
+
+    @Test
+    void testCreateOrder_SaturatedLookupPoolIsRejected() {
+        answerLookups(id -> product(id, true, 10), 0);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // Occupy every pool thread and queue slot
+            assertThatThrownBy(() -> {
+                while (true) {
+                    productLookupExecutor.execute(() -> {
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    });
+                }
+            }).isInstanceOf(TaskRejectedException.class);
+
+            long start = System.nanoTime();
+            assertThatThrownBy(() -> orderService.createOrder(order(1L)))
+                    .isInstanceOf(ProductLookupRejectedException.class);
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            // Refused at once instead of running the lookup on the request thread
+            assertThat(elapsedMs).isLessThan(500);
+            verify(productClient, never()).getProductsByIds(anyCollection(), any());
+            assertThat(orderRepository.count()).isZero();
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private void answerLookups(Function<Long, ProductDTO> products, long delayMs) {
+        when(productClient.getProductsByIds(anyCollection(), any())).thenAnswer(invocation -> {
+            if (delayMs > 0) {
+                Thread.sleep(delayMs);
+            }
+            Collection<Long> ids = invocation.getArgument(0);
+            List<ProductDTO> found = new ArrayList<>();
+            for (Long id : ids) {
+                ProductDTO product = products.apply(id);
+                if (product != null) {
+                    found.add(product);
+                }
+            }
+            return found;
+        });
+    }
+
+    private static OrderDTO order(Long... productIds) {
+        List<OrderItemDTO> items = new ArrayList<>();
+        for (Long productId : productIds) {
+            items.add(OrderItemDTO.builder().productId(productId).quantity(1).build());
+        }
+        return OrderDTO.builder()
+                .userId(1L)
+                .adresseLivraison("1 Checkout Street")
+                .orderItems(items)
+                .build();
+    }
+
+    private static ProductDTO product(Long id, boolean disponible, int stock) {
+        return ProductDTO.builder()
+                .id(id)
+                .nom("Product " + id)
+                .prix(new BigDecimal("10.00"))
+                .stockQuantity(stock)
+                .disponible(disponible)
+                .build();
+    }
+}
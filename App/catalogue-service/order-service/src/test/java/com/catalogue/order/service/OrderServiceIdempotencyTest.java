@@ -0,0 +1,199 @@
+package com.catalogue.order.service;
+
+import com.catalogue.order.client.ProductClient;
+import com.catalogue.order.config.ExecutorConfig;
+import com.catalogue.order.dto.OrderDTO;
+import com.catalogue.order.dto.OrderItemDTO;
+import com.catalogue.order.dto.ProductDTO;
+import com.catalogue.order.entity.IdempotencyKey;
+import com.catalogue.order.exception.IdempotencyConflictException;
+import com.catalogue.order.mapper.OrderItemMapperImpl;
+import com.catalogue.order.mapper.OrderMapperImpl;
+import com.catalogue.order.repository.IdempotencyKeyRepository;
+import com.catalogue.order.repository.OrderRepository;
+import com.catalogue.order.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for Idempotency-Key handling of order creation
+ */
+@DataJpaTest
+@Import({OrderService.class, OrderNumberGenerator.class, OrderStatsService.class, OrderMapperImpl.class, OrderItemMapperImpl.class, ExecutorConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderServiceIdempotencyTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @MockBean
+    private ProductClient productClient;
+
+    private final AtomicBoolean available = new AtomicBoolean(true);
+    private volatile long lookupDelayMs;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyKeyRepository.deleteAll();
+        outboxEventRepository.deleteAll();
+        orderRepository.deleteAll();
+        available.set(true);
+        lookupDelayMs = 0;
+        when(productClient.getProductsByIds(anyCollection(), any())).thenAnswer(invocation -> {
+            if (lookupDelayMs > 0) {
+                Thread.sleep(lookupDelayMs);
+            }
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> ProductDTO.builder()
+                    .id(id)
+                    .nom("Product " + id)
+                    .prix(new BigDecimal("10.00"))
+                    .stockQuantity(10)
+                    .disponible(available.get())
+                    .build()).toList();
+        });
+    }
+
+    @Test
+    void testCreateOrder_RetryReturnsStoredOrder() {
+        OrderDTO first = orderService.createOrder(order(2), "key-1");
+        OrderDTO retry = orderService.createOrder(order(2), "key-1");
+
+        assertThat(retry.getId()).isEqualTo(first.getId());
+        assertThat(retry.getOrderNumber()).isEqualTo(first.getOrderNumber());
+        assertThat(orderRepository.count()).isEqualTo(1);
+        // The retry never reaches product-service
+        verify(productClient, times(1)).getProductsByIds(anyCollection(), any());
+        assertThat(outboxEventRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testCreateOrder_KeyReusedForDifferentRequest() {
+        orderService.createOrder(order(2), "key-1");
+
+        assertThatThrownBy(() -> orderService.createOrder(order(3), "key-1"))
+                .isInstanceOf(IdempotencyConflictException.class)
+                .hasMessageContaining("different request");
+        assertThat(orderRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testCreateOrder_FailedAttemptCanBeRetried() {
+        available.set(false);
+        assertThatThrownBy(() -> orderService.createOrder(order(2), "key-1"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(idempotencyKeyRepository.existsById("key-1")).isFalse();
+
+        available.set(true);
+        OrderDTO created = orderService.createOrder(order(2), "key-1");
+
+        assertThat(created.getId()).isNotNull();
+        assertThat(idempotencyKeyRepository.findById("key-1"))
+                .hasValueSatisfying(key -> assertThat(key.getOrderId()).isEqualTo(created.getId()));
+    }
+
+    @Test
+    void testCreateOrder_ExpiredKeyCreatesNewOrder() {
+        OrderDTO first = orderService.createOrder(order(2), "key-1");
+        expire("key-1");
+
+        OrderDTO second = orderService.createOrder(order(2), "key-1");
+
+        assertThat(second.getId()).isNotEqualTo(first.getId());
+        assertThat(orderRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void testCreateOrder_ConcurrentRetriesCreateOneOrder() throws Exception {
+        lookupDelayMs = 300;
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<CompletableFuture<OrderDTO>> attempts = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                attempts.add(CompletableFuture.supplyAsync(() -> orderService.createOrder(order(2), "key-1"), executor));
+            }
+            int created = 0;
+            for (CompletableFuture<OrderDTO> attempt : attempts) {
+                try {
+                    attempt.get();
+                    created++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(IdempotencyConflictException.class);
+                }
+            }
+            assertThat(created).isEqualTo(1);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(orderRepository.count()).isEqualTo(1);
+        assertThat(outboxEventRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testCreateOrder_WithoutKey() {
+        orderService.createOrder(order(2), null);
+        orderService.createOrder(order(2), " ");
+
+        assertThat(orderRepository.count()).isEqualTo(2);
+        assertThat(idempotencyKeyRepository.count()).isZero();
+    }
+
+    @Test
+    void testPurgeExpiredIdempotencyKeys() {
+        orderService.createOrder(order(2), "key-1");
+        orderService.createOrder(order(2), "key-2");
+        expire("key-1");
+
+        orderService.purgeExpiredIdempotencyKeys();
+
+        assertThat(idempotencyKeyRepository.findAll()).extracting(IdempotencyKey::getKey).containsExactly("key-2");
+    }
+
+    private void expire(String key) {
+        IdempotencyKey stored = idempotencyKeyRepository.findById(key).orElseThrow();
+        stored.setExpiresAt(Instant.now().minusSeconds(1));
+        idempotencyKeyRepository.save(stored);
+    }
+
+    private static OrderDTO order(int quantity) {
+        List<OrderItemDTO> items = new ArrayList<>();
+        items.add(OrderItemDTO.builder().productId(1L).quantity(quantity).build());
+        return OrderDTO.builder()
+                .userId(1L)
+                .adresseLivraison("1 Retry Street")
+                .orderItems(items)
+                .build();
+    }
+}
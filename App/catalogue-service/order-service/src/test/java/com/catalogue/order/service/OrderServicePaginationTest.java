@@ -0,0 +1,111 @@
+package com.catalogue.order.service;
+
+import com.catalogue.order.client.ProductClient;
+import com.catalogue.order.config.ExecutorConfig;
+import com.catalogue.order.dto.CursorPage;
+import com.catalogue.order.dto.OrderDTO;
+import com.catalogue.order.entity.Order;
+import com.catalogue.order.entity.OrderStatus;
+import com.catalogue.order.mapper.OrderItemMapperImpl;
+import com.catalogue.order.mapper.OrderMapperImpl;
+import com.catalogue.order.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for keyset pagination of order listings on (createdAt, id), newest first
+ */
+@DataJpaTest
+@Import({OrderService.class, OrderNumberGenerator.class, OrderStatsService.class, OrderMapperImpl.class, OrderItemMapperImpl.class, ExecutorConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderServicePaginationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @MockBean
+    private ProductClient productClient;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            orders.add(Order.builder()
+                    .orderNumber("ORD-PAGE-" + i)
+                    .userId(i % 2 == 0 ? 1L : 2L)
+                    .adresseLivraison("1 Page Street")
+                    .status(i % 5 == 0 ? OrderStatus.CANCELLED : OrderStatus.PENDING)
+                    .montantTotal(new BigDecimal("10.00"))
+                    .build());
+        }
+        orderRepository.saveAll(orders);
+    }
+
+    @Test
+    void testGetAllOrders_WalksEveryPageOnce() {
+        List<OrderDTO> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<OrderDTO> page = orderService.getAllOrders(cursor, 10);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).hasSize(25);
+        assertThat(seen).extracting(OrderDTO::getId).doesNotHaveDuplicates();
+        assertThat(seen).isSortedAccordingTo(Comparator.comparing(OrderDTO::getCreatedAt)
+                .thenComparing(OrderDTO::getId).reversed());
+    }
+
+    @Test
+    void testGetOrdersByUserId_Paged() {
+        CursorPage<OrderDTO> first = orderService.getOrdersByUserId(1L, null, 10);
+        CursorPage<OrderDTO> second = orderService.getOrdersByUserId(1L, first.getNextCursor(), 10);
+
+        assertThat(first.getItems()).hasSize(10);
+        assertThat(second.getItems()).hasSize(3);
+        assertThat(second.getNextCursor()).isNull();
+        assertThat(second.getItems()).allMatch(order -> order.getUserId().equals(1L));
+    }
+
+    @Test
+    void testGetOrdersByStatus_ExactPageHasNoCursor() {
+        CursorPage<OrderDTO> page = orderService.getOrdersByStatus(OrderStatus.CANCELLED, null, 5);
+
+        assertThat(page.getItems()).hasSize(5);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void testPageSize_IsCapped() {
+        assertThat(orderService.getAllOrders(null, 10_000).getItems()).hasSize(25);
+        assertThat(orderService.getAllOrders(null, null).getItems()).hasSize(OrderService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Test
+    void testInvalidCursor() {
+        assertThatThrownBy(() -> orderService.getAllOrders("not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
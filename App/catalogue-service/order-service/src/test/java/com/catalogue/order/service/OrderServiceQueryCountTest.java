@@ -0,0 +1,120 @@
+package com.catalogue.order.service;
+
+import com.catalogue.order.client.ProductClient;
+import com.catalogue.order.config.ExecutorConfig;
+import com.catalogue.order.dto.CursorPage;
+import com.catalogue.order.dto.OrderDTO;
+import com.catalogue.order.entity.Order;
+import com.catalogue.order.entity.OrderItem;
+import com.catalogue.order.entity.OrderStatus;
+import com.catalogue.order.mapper.OrderItemMapperImpl;
+import com.catalogue.order.mapper.OrderMapperImpl;
+import com.catalogue.order.repository.OrderRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Order list endpoints must load a page of orders and their items with a constant number of queries
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({OrderService.class, OrderNumberGenerator.class, OrderStatsService.class, OrderMapperImpl.class, OrderItemMapperImpl.class, ExecutorConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderServiceQueryCountTest {
+
+    private static final int ORDERS = 100;
+    private static final int ITEMS_PER_ORDER = 3;
+    private static final long USER_ID = 7L;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private ProductClient productClient;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        List<Order> orders = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = Order.builder()
+                    .orderNumber("ORD-N1-" + i)
+                    .userId(USER_ID)
+                    .adresseLivraison("1 Query Street")
+                    .status(OrderStatus.CONFIRMED)
+                    .montantTotal(new BigDecimal("30.00"))
+                    .build();
+            for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                order.getOrderItems().add(OrderItem.builder()
+                        .order(order)
+                        .productId((long) j + 1)
+                        .quantity(1)
+                        .prixUnitaire(new BigDecimal("10.00"))
+                        .sousTotal(new BigDecimal("10.00"))
+                        .build());
+            }
+            orders.add(order);
+        }
+        orderRepository.saveAll(orders);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testGetAllOrders_ConstantQueries() {
+        assertConstantQueries(() -> orderService.getAllOrders(null, ORDERS));
+    }
+
+    @Test
+    void testGetOrdersByUserId_ConstantQueries() {
+        assertConstantQueries(() -> orderService.getOrdersByUserId(USER_ID, null, ORDERS));
+    }
+
+    @Test
+    void testGetOrdersByStatus_ConstantQueries() {
+        assertConstantQueries(() -> orderService.getOrdersByStatus(OrderStatus.CONFIRMED, null, ORDERS));
+    }
+
+    @Test
+    void testGetOrdersByDateRange_ConstantQueries() {
+        Instant now = Instant.now();
+        assertConstantQueries(() -> orderService.getOrdersByDateRange(
+                now.minus(1, ChronoUnit.HOURS), now.plus(1, ChronoUnit.HOURS), null, ORDERS));
+    }
+
+    private void assertConstantQueries(Supplier<CursorPage<OrderDTO>> call) {
+        statistics.clear();
+
+        List<OrderDTO> orders = call.get().getItems();
+
+        assertThat(orders).hasSize(ORDERS);
+        assertThat(orders).allSatisfy(order -> assertThat(order.getOrderItems()).hasSize(ITEMS_PER_ORDER));
+        // One query for the page of orders, one batch-fetch for all their items
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+}
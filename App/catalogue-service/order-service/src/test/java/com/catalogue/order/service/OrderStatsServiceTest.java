@@ -0,0 +1,285 @@
+package com.catalogue.order.service;
+
+import com.catalogue.order.client.ProductClient;
+import com.catalogue.order.config.ExecutorConfig;
+import com.catalogue.order.dto.OrderDTO;
+import com.catalogue.order.dto.OrderItemDTO;
+import com.catalogue.order.dto.OrderStatsDTO;
+import com.catalogue.order.dto.ProductDTO;
+import com.catalogue.order.entity.DailyOrderStatsId;
+import com.catalogue.order.entity.Order;
+import com.catalogue.order.entity.OrderStatus;
+import com.catalogue.order.mapper.OrderItemMapperImpl;
+import com.catalogue.order.mapper.OrderMapperImpl;
+import com.catalogue.order.repository.DailyOrderStatsRepository;
+import com.catalogue.order.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the incrementally maintained daily order stats
+ */
+@DataJpaTest
+@Import({OrderService.class, OrderNumberGenerator.class, OrderStatsService.class, OrderMapperImpl.class,
+        OrderItemMapperImpl.class, ExecutorConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderStatsServiceTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderStatsService orderStatsService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private DailyOrderStatsRepository statsRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private ProductClient productClient;
+
+    private final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        orderStatsService.rebuild();
+        when(productClient.getProductsByIds(anyCollection(), any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> ProductDTO.builder()
+                    .id(id)
+                    .nom("Product " + id)
+                    .prix(new BigDecimal("10.00"))
+                    .stockQuantity(100)
+                    .disponible(true)
+                    .build()).toList();
+        });
+    }
+
+    @Test
+    void testStats_FollowOrderLifecycle() {
+        Long first = orderService.createOrder(order(1)).getId();
+        Long second = orderService.createOrder(order(2)).getId();
+        Long third = orderService.createOrder(order(3)).getId();
+        orderService.updateOrderStatus(first, OrderStatus.CONFIRMED);
+        orderService.cancelOrder(second);
+        orderService.deleteOrder(third);
+
+        OrderStatsDTO stats = orderStatsService.getStats(today, today);
+
+        assertThat(stats.getOrderCount()).isEqualTo(2);
+        assertThat(stats.getMontantTotal()).isEqualByComparingTo("30.00");
+        assertThat(stats.getRevenue()).isEqualByComparingTo("10.00");
+        assertThat(stats.getByStatus()).containsOnlyKeys(OrderStatus.CONFIRMED, OrderStatus.CANCELLED);
+        assertThat(stats.getByStatus().get(OrderStatus.CANCELLED).getMontantTotal()).isEqualByComparingTo("20.00");
+        assertThat(stats.getDaily()).allSatisfy(daily -> assertThat(daily.getDay()).isEqualTo(today));
+    }
+
+    @Test
+    void testStats_MatchRebuildFromOrders() {
+        for (int i = 1; i <= 5; i++) {
+            Long id = orderService.createOrder(order(i)).getId();
+            if (i % 2 == 0) {
+                orderService.updateOrderStatus(id, OrderStatus.SHIPPED);
+            }
+        }
+        OrderStatsDTO incremental = orderStatsService.getStats(today, today);
+
+        orderStatsService.rebuild();
+
+        assertThat(orderStatsService.getStats(today, today)).usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .isEqualTo(incremental);
+    }
+
+    @Test
+    void testStats_ConcurrentOrdersAreAllCounted() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<OrderDTO>> orders = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                orders.add(CompletableFuture.supplyAsync(() -> orderService.createOrder(order(1)), executor));
+            }
+            CompletableFuture.allOf(orders.toArray(CompletableFuture[]::new)).get();
+        } finally {
+            executor.shutdown();
+        }
+
+        OrderStatsDTO stats = orderStatsService.getStats(today, today);
+        assertThat(stats.getOrderCount()).isEqualTo(40);
+        assertThat(stats.getMontantTotal()).isEqualByComparingTo("400.00");
+    }
+
+    @Test
+    void testStats_ConcurrentFirstOrdersCreateMissingRow() throws Exception {
+        statsRepository.deleteAll();
+        // Finds the pre-created row gone, so the next orders have to insert it
+        orderService.createOrder(order(1));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<OrderDTO>> orders = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                orders.add(CompletableFuture.supplyAsync(() -> orderService.createOrder(order(1)), executor));
+            }
+            CompletableFuture.allOf(orders.toArray(CompletableFuture[]::new)).get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(orderStatsService.getStats(today, today).getOrderCount()).isEqualTo(40);
+    }
+
+    @Test
+    void testStats_ReadsOneRowPerDayAndStatus() {
+        for (int i = 0; i < 20; i++) {
+            orderService.createOrder(order(1));
+        }
+
+        assertThat(statsRepository.findAll()).filteredOn(stats -> stats.getOrderCount() > 0).hasSize(1);
+        assertThat(orderStatsService.getStats(null, null).getDaily()).singleElement()
+                .satisfies(daily -> assertThat(daily.getOrderCount()).isEqualTo(20));
+    }
+
+    @Test
+    void testCreateUpcomingRows_PreCreatesTodayAndTomorrowForEveryStatus() {
+        statsRepository.deleteAll();
+
+        orderStatsService.createUpcomingRows();
+        orderStatsService.createUpcomingRows();
+
+        assertThat(statsRepository.count()).isEqualTo(2L * OrderStatus.values().length);
+        for (OrderStatus status : OrderStatus.values()) {
+            assertThat(statsRepository.existsById(new DailyOrderStatsId(today, status))).isTrue();
+            assertThat(statsRepository.existsById(new DailyOrderStatsId(today.plusDays(1), status))).isTrue();
+        }
+    }
+
+    @Test
+    void testRebuild_CreatesEveryStatusRowForDaysWithOrders() {
+        orderService.createOrder(order(1));
+
+        orderStatsService.rebuild();
+
+        for (OrderStatus status : OrderStatus.values()) {
+            assertThat(statsRepository.existsById(new DailyOrderStatsId(today, status))).isTrue();
+        }
+    }
+
+    @Test
+    void testRebuild_RunsAlongsideRowPreCreation() throws Exception {
+        orderService.createOrder(order(2));
+        statsRepository.deleteAll();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<CompletableFuture<Void>> runs = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                runs.add(CompletableFuture.runAsync(i % 2 == 0
+                        ? orderStatsService::rebuild
+                        : orderStatsService::createUpcomingRows, executor));
+            }
+            CompletableFuture.allOf(runs.toArray(CompletableFuture[]::new)).get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(orderStatsService.getStats(today, today).getMontantTotal()).isEqualByComparingTo("20.00");
+        assertThat(statsRepository.count()).isEqualTo(2L * OrderStatus.values().length);
+    }
+
+    @Test
+    void testRebuild_KeepsOrderCommittedMeanwhile() throws Exception {
+        CountDownLatch created = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // The order is written but not committed when the rebuild starts
+            CompletableFuture<Void> order = CompletableFuture.runAsync(() ->
+                    new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+                        orderService.createOrder(order(1));
+                        created.countDown();
+                        try {
+                            commit.await(10, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }), executor);
+            assertThat(created.await(10, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<Void> rebuild = CompletableFuture.runAsync(orderStatsService::rebuild, executor);
+            Thread.sleep(300);
+            commit.countDown();
+            CompletableFuture.allOf(order, rebuild).get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(orderStatsService.getStats(today, today).getOrderCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testStats_BackfillsExistingOrders() {
+        orderRepository.save(Order.builder()
+                .orderNumber("ORD-SEED-1")
+                .userId(1L)
+                .adresseLivraison("1 Seed Street")
+                .status(OrderStatus.DELIVERED)
+                .montantTotal(new BigDecimal("99.90"))
+                .build());
+        statsRepository.deleteAll();
+
+        orderStatsService.backfillIfEmpty();
+
+        assertThat(orderStatsService.getStats(today, today).getByStatus().get(OrderStatus.DELIVERED).getMontantTotal())
+                .isEqualByComparingTo("99.90");
+    }
+
+    @Test
+    void testStats_RangeValidation() {
+        assertThatThrownBy(() -> orderStatsService.getStats(today, today.minusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> orderStatsService.getStats(today.minusYears(2), today))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static OrderDTO order(int quantity) {
+        List<OrderItemDTO> items = new ArrayList<>();
+        items.add(OrderItemDTO.builder().productId(1L).quantity(quantity).build());
+        return OrderDTO.builder()
+                .userId(1L)
+                .adresseLivraison("1 Stats Street")
+                .orderItems(items)
+                .build();
+    }
+}
@@ -0,0 +1,14 @@
+-- Indexes for the PaymentRepository access paths
+
+-- findByOrderIdAndUserId, and findByOrderId through the leading column
+CREATE INDEX idx_payments_order_user ON payments (order_id, user_id);
+
+-- findByUserId (payment history of a user)
+CREATE INDEX idx_payments_user ON payments (user_id);
+
+-- findByStatus
+CREATE INDEX idx_payments_status ON payments (status);
+
+-- findByTransactionId (PayPal execute/cancel callbacks). Not unique: updatePayment accepts
+-- any transaction id from the client
+CREATE INDEX idx_payments_transaction ON payments (transaction_id);
@@ -0,0 +1,17 @@
+-- Payment Service schema (H2, also used in MySQL compatibility mode)
+-- Ids come from a pooled sequence (allocationSize = 50 in the entity)
+
+CREATE SEQUENCE payments_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE payments (
+    id BIGINT NOT NULL PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    amount NUMERIC(10, 2) NOT NULL,
+    payment_method VARCHAR(50) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    transaction_id VARCHAR(200),
+    description VARCHAR(500),
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE
+);
@@ -0,0 +1,18 @@
+-- Payment Service schema (MySQL)
+-- MySQL has no sequences: Hibernate emulates the pooled sequence with a one-row table
+
+CREATE TABLE payments_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO payments_seq VALUES (1);
+
+CREATE TABLE payments (
+    id BIGINT NOT NULL PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    amount DECIMAL(10, 2) NOT NULL,
+    payment_method VARCHAR(50) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    transaction_id VARCHAR(200),
+    description VARCHAR(500),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,62 @@
+package com.catalogue.payment.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks on H2 (MySQL mode) that the Flyway schema validates against the entity and that
+ * every PaymentRepository finder is served by an index instead of a full table scan.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:payment_plan;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.sql.init.mode=never",
+        "spring.flyway.enabled=true",
+        "spring.flyway.locations=classpath:db/migration/common,classpath:db/migration/{vendor}",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PaymentQueryPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testFindByOrderId() {
+        assertUsesIndex("SELECT * FROM payments WHERE order_id = 1", "idx_payments_order_user");
+    }
+
+    @Test
+    void testFindByOrderIdAndUserId() {
+        assertUsesIndex("SELECT * FROM payments WHERE order_id = 1 AND user_id = 1", "idx_payments_order_user");
+    }
+
+    @Test
+    void testFindByUserId() {
+        assertUsesIndex("SELECT * FROM payments WHERE user_id = 1", "idx_payments_user");
+    }
+
+    @Test
+    void testFindByStatus() {
+        assertUsesIndex("SELECT * FROM payments WHERE status = 'PENDING'", "idx_payments_status");
+    }
+
+    @Test
+    void testFindByTransactionId() {
+        assertUsesIndex("SELECT * FROM payments WHERE transaction_id = 'PAYID-1'", "idx_payments_transaction");
+    }
+
+    private void assertUsesIndex(String sql, String index) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+        assertThat(plan)
+                .as("plan of %s", sql)
+                .containsIgnoringCase(index)
+                .doesNotContainIgnoringCase("tableScan");
+    }
+}
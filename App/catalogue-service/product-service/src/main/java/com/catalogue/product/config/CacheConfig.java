@@ -0,0 +1,66 @@
+package com.catalogue.product.config;
+
+import com.catalogue.product.dto.ProductDTO;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Cache Configuration for Product Service
+ *
+ * Caching runs before the transaction interceptor, so a cache hit never opens a transaction.
+ * The manager is transaction-aware: evictions made inside a write transaction are applied
+ * after commit, so a concurrent reader cannot re-cache the old value.
+ * Cached ProductDTOs are mutable, so every read hands out a copy: a caller that modifies its
+ * result cannot change what the next caller sees.
+ * Hit/miss/eviction counts are published by actuator as cache.* metrics.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    public static final String PRODUCTS_CACHE = "products";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${product.cache.maximum-size:10000}") long maximumSize,
+            @Value("${product.cache.ttl:10m}") Duration ttl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(PRODUCTS_CACHE) {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new CopyOnReadCaffeineCache(name, cache, isAllowNullValues());
+            }
+        };
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    static class CopyOnReadCaffeineCache extends CaffeineCache {
+
+        CopyOnReadCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                                boolean allowNullValues) {
+            super(name, cache, allowNullValues);
+        }
+
+        // Every read path (get, get with loader, lookup) goes through here
+        @Override
+        protected Object fromStoreValue(Object storeValue) {
+            Object value = super.fromStoreValue(storeValue);
+            return value instanceof ProductDTO product ? product.toBuilder().build() : value;
+        }
+    }
+}
@@ -4,6 +4,8 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import lombok.Data;
 
+import java.time.Duration;
+
 @Configuration
 @ConfigurationProperties(prefix = "ebay.api")
 @Data
@@ -14,6 +16,15 @@ public class EbayConfig {
     private String oauthUrl;
     private String apiUrl;
     private String marketplaceId;
+
+    // Search result cache: entries are served as-is until refreshAfter, then served stale
+    // while a single background call revalidates them, and dropped after ttl
+    private Duration searchCacheRefreshAfter = Duration.ofMinutes(2);
+    private Duration searchCacheTtl = Duration.ofMinutes(15);
+    private long searchCacheMaximumSize = 1000;
+
+    // How often the featured products entry is refreshed in the background
+    private Duration featuredRefreshInterval = Duration.ofMinutes(2);
     
     // Default values - Using Production API for real eBay products
     public EbayConfig() {
@@ -0,0 +1,39 @@
+package com.catalogue.product.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings of the scheduled eBay catalogue import
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ebay.import")
+@Data
+public class EbayImportProperties {
+
+    private boolean enabled = false;
+
+    // Search queries whose results are imported into the products table
+    private List<String> queries = new ArrayList<>(List.of("electronics"));
+
+    // Items requested per eBay search call (eBay maximum is 200)
+    private int pageSize = 200;
+
+    // Stop paging a query after this many items
+    private int maxItemsPerQuery = 1000;
+
+    // Rows per JDBC batch statement
+    private int batchSize = 100;
+
+    // Stock given to newly imported products; existing stock is never overwritten
+    private int defaultStock = 10;
+
+    // Only the instance holding the lease imports; it is renewed before each query, so it must
+    // outlast the import of one query
+    private Duration lease = Duration.ofMinutes(15);
+}
@@ -1,15 +1,65 @@
 package com.catalogue.product.config;
 
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebClient used for outbound calls to external APIs (eBay).
+ * Connections are pooled and every phase of a call is bounded, so a slow upstream
+ * fails fast instead of piling up pending requests.
+ */
 @Configuration
 public class WebClientConfig {
 
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider webClientConnectionProvider(
+            @Value("${webclient.pool.max-connections:100}") int maxConnections,
+            @Value("${webclient.pool.pending-acquire-max-count:500}") int pendingAcquireMaxCount,
+            @Value("${webclient.pool.pending-acquire-timeout:5s}") Duration pendingAcquireTimeout,
+            @Value("${webclient.pool.max-idle-time:30s}") Duration maxIdleTime,
+            @Value("${webclient.pool.max-life-time:5m}") Duration maxLifeTime) {
+        return ConnectionProvider.builder("webclient")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(Duration.ofSeconds(30))
+                .metrics(true)
+                .build();
+    }
+
     @Bean
-    public WebClient webClient() {
+    public WebClient webClient(
+            ConnectionProvider webClientConnectionProvider,
+            @Value("${webclient.connect-timeout:3s}") Duration connectTimeout,
+            @Value("${webclient.response-timeout:10s}") Duration responseTimeout,
+            @Value("${webclient.read-timeout:10s}") Duration readTimeout,
+            @Value("${webclient.write-timeout:10s}") Duration writeTimeout,
+            @Value("${webclient.max-in-memory-size:2MB}") DataSize maxInMemorySize) {
+        HttpClient httpClient = HttpClient.create(webClientConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout)
+                .compress(true)
+                .doOnConnected(connection -> connection
+                        .addHandlerLast(new ReadTimeoutHandler(readTimeout.toMillis(), TimeUnit.MILLISECONDS))
+                        .addHandlerLast(new WriteTimeoutHandler(writeTimeout.toMillis(), TimeUnit.MILLISECONDS)));
+
         return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize((int) maxInMemorySize.toBytes()))
                 .build();
     }
 }
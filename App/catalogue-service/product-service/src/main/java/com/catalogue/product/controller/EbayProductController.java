@@ -6,7 +6,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
+/**
+ * eBay endpoints return Mono, so Spring MVC completes them asynchronously:
+ * the servlet thread is released while the eBay call is in flight.
+ */
 @RestController
 @RequestMapping("/api/products/ebay")
 @RequiredArgsConstructor
@@ -20,10 +25,10 @@ public class EbayProductController {
      * GET /api/products/ebay/featured
      */
     @GetMapping("/featured")
-    public ResponseEntity<EbaySearchResponse> getFeaturedProducts() {
+    public Mono<ResponseEntity<EbaySearchResponse>> getFeaturedProducts() {
         log.info("Fetching featured products from eBay");
-        EbaySearchResponse response = ebayService.getFeaturedProducts();
-        return ResponseEntity.ok(response);
+        return ebayService.getFeaturedProducts()
+                .map(ResponseEntity::ok);
     }
 
     /**
@@ -31,12 +36,12 @@ public class EbayProductController {
      * GET /api/products/ebay/search?q=laptop&limit=10
      */
     @GetMapping("/search")
-    public ResponseEntity<EbaySearchResponse> searchProducts(
+    public Mono<ResponseEntity<EbaySearchResponse>> searchProducts(
             @RequestParam String q,
             @RequestParam(required = false, defaultValue = "10") Integer limit) {
         log.info("Searching eBay products: q={}, limit={}", q, limit);
-        EbaySearchResponse response = ebayService.searchProducts(q, limit);
-        return ResponseEntity.ok(response);
+        return ebayService.searchProducts(q, limit)
+                .map(ResponseEntity::ok);
     }
 
     /**
@@ -44,11 +49,11 @@ public class EbayProductController {
      * GET /api/products/ebay/category/electronics?limit=10
      */
     @GetMapping("/category/{categoryName}")
-    public ResponseEntity<EbaySearchResponse> getProductsByCategory(
+    public Mono<ResponseEntity<EbaySearchResponse>> getProductsByCategory(
             @PathVariable String categoryName,
             @RequestParam(required = false, defaultValue = "10") Integer limit) {
         log.info("Searching eBay products by category: {}", categoryName);
-        EbaySearchResponse response = ebayService.searchByCategory(categoryName, limit);
-        return ResponseEntity.ok(response);
+        return ebayService.searchByCategory(categoryName, limit)
+                .map(ResponseEntity::ok);
     }
 }
@@ -1,13 +1,27 @@
 package com.catalogue.product.controller;
 
+import com.catalogue.product.dto.CursorPage;
+import com.catalogue.product.dto.OrderStockEventDTO;
+import com.catalogue.product.dto.OrderStockEventResult;
 import com.catalogue.product.dto.ProductDTO;
+import com.catalogue.product.dto.ProductFacetsDTO;
+import com.catalogue.product.dto.ProductSuggestionDTO;
+import com.catalogue.product.dto.StockAdjustmentDTO;
+import com.catalogue.product.dto.StockReservationResponse;
+import com.catalogue.product.service.OrderStockEventService;
+import com.catalogue.product.service.ProductSearchService;
 import com.catalogue.product.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -16,7 +30,12 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ProductController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ProductService productService;
+    private final ProductSearchService productSearchService;
+    private final OrderStockEventService orderStockEventService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<ProductDTO> createProduct(@Valid @RequestBody ProductDTO productDTO) {
@@ -30,12 +49,47 @@ public class ProductController {
         return ResponseEntity.ok(product);
     }
 
-    @GetMapping
-    public ResponseEntity<List<ProductDTO>> getAllProducts() {
-        List<ProductDTO> products = productService.getAllProducts();
+    /**
+     * Fetch several products in one call (used by order-service)
+     * POST /api/products/batch with a JSON array of ids
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<ProductDTO>> getProductsByIds(@RequestBody List<Long> ids) {
+        List<ProductDTO> products = productService.getProductsByIds(ids);
         return ResponseEntity.ok(products);
     }
 
+    /**
+     * List products one page at a time
+     * GET /api/products?after=120&size=50
+     * The cursor for the next page is returned in the X-Next-Cursor header.
+     */
+    @GetMapping
+    public ResponseEntity<List<ProductDTO>> getAllProducts(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size) {
+        return toPageResponse(productService.getAllProducts(after, size));
+    }
+
+    /**
+     * Stream the whole catalogue as newline-delimited JSON
+     * GET /api/products/stream
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamProducts() {
+        StreamingResponseBody body = outputStream -> productService.streamAllProducts(product -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(product));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ProductDTO> updateProduct(@PathVariable Long id, @Valid @RequestBody ProductDTO productDTO) {
         ProductDTO updated = productService.updateProduct(id, productDTO);
@@ -49,35 +103,69 @@ public class ProductController {
     }
 
     @GetMapping("/category/{categoryName}")
-    public ResponseEntity<List<ProductDTO>> getProductsByCategory(@PathVariable String categoryName) {
-        List<ProductDTO> products = productService.getProductsByCategoryName(categoryName);
-        return ResponseEntity.ok(products);
+    public ResponseEntity<List<ProductDTO>> getProductsByCategory(
+            @PathVariable String categoryName,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size) {
+        return toPageResponse(productService.getProductsByCategoryName(categoryName, after, size));
     }
 
     @GetMapping("/category/search")
-    public ResponseEntity<List<ProductDTO>> searchProductsByCategory(@RequestParam String categoryName) {
-        List<ProductDTO> products = productService.searchProductsByCategory(categoryName);
-        return ResponseEntity.ok(products);
+    public ResponseEntity<List<ProductDTO>> searchProductsByCategory(
+            @RequestParam String categoryName,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size) {
+        return toPageResponse(productService.searchProductsByCategory(categoryName, after, size));
     }
 
     @GetMapping("/available")
-    public ResponseEntity<List<ProductDTO>> getAvailableProducts() {
-        List<ProductDTO> products = productService.getAvailableProducts();
-        return ResponseEntity.ok(products);
+    public ResponseEntity<List<ProductDTO>> getAvailableProducts(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size) {
+        return toPageResponse(productService.getAvailableProducts(after, size));
     }
 
+    /**
+     * Full-text search over name, description and category, best matches first
+     * GET /api/products/search?keyword=wireless mou&size=20
+     * X-Next-Cursor is the rank offset to pass as "after" for the next page.
+     */
     @GetMapping("/search")
-    public ResponseEntity<List<ProductDTO>> searchProducts(@RequestParam String keyword) {
-        List<ProductDTO> products = productService.searchProducts(keyword);
-        return ResponseEntity.ok(products);
+    public ResponseEntity<List<ProductDTO>> searchProducts(
+            @RequestParam String keyword,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size) {
+        return toPageResponse(productSearchService.search(keyword, after, size));
+    }
+
+    /**
+     * Autocomplete product names for the search box
+     * GET /api/products/suggest?prefix=wir&limit=10
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSuggestionDTO>> suggestProducts(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Integer limit) {
+        List<ProductSuggestionDTO> suggestions = productSearchService.suggest(prefix, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+
+    /**
+     * Category, availability and price-range counts for the catalogue sidebar
+     * GET /api/products/facets
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<ProductFacetsDTO> getFacets() {
+        return ResponseEntity.ok(productService.getFacets());
     }
 
     @GetMapping("/price-range")
     public ResponseEntity<List<ProductDTO>> getProductsByPriceRange(
             @RequestParam BigDecimal minPrix,
-            @RequestParam BigDecimal maxPrix) {
-        List<ProductDTO> products = productService.getProductsByPriceRange(minPrix, maxPrix);
-        return ResponseEntity.ok(products);
+            @RequestParam BigDecimal maxPrix,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size) {
+        return toPageResponse(productService.getProductsByPriceRange(minPrix, maxPrix, after, size));
     }
 
     @PutMapping("/{id}/stock")
@@ -85,5 +173,33 @@ public class ProductController {
         ProductDTO updated = productService.updateStock(id, quantity);
         return ResponseEntity.ok(updated);
     }
-}
 
+    /**
+     * Reserve (negative delta) or release (positive delta) stock for several products at once
+     * POST /api/products/stock/reserve
+     * All adjustments are applied in one transaction, or none are.
+     */
+    @PostMapping("/stock/reserve")
+    public ResponseEntity<StockReservationResponse> reserveStock(@RequestBody List<StockAdjustmentDTO> adjustments) {
+        StockReservationResponse response = productService.reserveStock(adjustments);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Apply order events relayed from the order-service outbox, in order
+     * POST /api/products/stock/events
+     * Each event is applied atomically and at most once; the result list follows the request order.
+     */
+    @PostMapping("/stock/events")
+    public ResponseEntity<List<OrderStockEventResult>> applyOrderEvents(@RequestBody List<OrderStockEventDTO> events) {
+        return ResponseEntity.ok(orderStockEventService.apply(events));
+    }
+
+    private ResponseEntity<List<ProductDTO>> toPageResponse(CursorPage<ProductDTO> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.getNextCursor()));
+        }
+        return response.body(page.getItems());
+    }
+}
@@ -0,0 +1,30 @@
+package com.catalogue.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Order event relayed from the order-service outbox.
+ * ORDER_CREATED reserves the adjustments, ORDER_CANCELLED releases them.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStockEventDTO {
+
+    public enum Type {
+        ORDER_CREATED,
+        ORDER_CANCELLED
+    }
+
+    // Unique per event; a redelivered event returns its first outcome
+    private String eventId;
+    private Long orderId;
+    private Type type;
+    private List<StockAdjustmentDTO> adjustments;
+}
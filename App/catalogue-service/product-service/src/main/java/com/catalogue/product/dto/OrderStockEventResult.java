@@ -0,0 +1,16 @@
+package com.catalogue.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStockEventResult {
+    private String eventId;
+    private Boolean success;
+    private String message;
+}
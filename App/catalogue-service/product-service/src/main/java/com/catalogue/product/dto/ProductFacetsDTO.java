@@ -0,0 +1,42 @@
+package com.catalogue.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregated counts used to build the catalogue sidebar
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFacetsDTO {
+
+    private Long total;
+
+    private Map<String, Long> categories;
+
+    private Long available;
+
+    private Long unavailable;
+
+    private List<PriceBucket> priceBuckets;
+
+    /**
+     * Products with min <= prix < max; max is null for the last, open-ended bucket.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceBucket {
+        private BigDecimal min;
+        private BigDecimal max;
+        private Long count;
+    }
+}
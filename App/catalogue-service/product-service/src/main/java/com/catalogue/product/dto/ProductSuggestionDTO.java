@@ -0,0 +1,16 @@
+package com.catalogue.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lightweight autocomplete entry, served from memory
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSuggestionDTO {
+    private Long id;
+    private String nom;
+}
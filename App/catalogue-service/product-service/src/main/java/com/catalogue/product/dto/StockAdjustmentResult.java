@@ -0,0 +1,18 @@
+package com.catalogue.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAdjustmentResult {
+    private Long productId;
+    private Integer delta;
+    private Boolean applied;
+    private Integer stockQuantity;
+    private String message;
+}
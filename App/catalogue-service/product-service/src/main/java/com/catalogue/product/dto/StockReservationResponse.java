@@ -0,0 +1,20 @@
+package com.catalogue.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a stock reservation. When success is false nothing was applied.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationResponse {
+    private Boolean success;
+    private List<StockAdjustmentResult> results;
+}
@@ -0,0 +1,33 @@
+package com.catalogue.product.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Single-row lease naming the product-service instance that runs the eBay import (see EbayImportService).
+ * Only the holder imports, so replicas neither race on external_id nor spend the eBay quota twice.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "ebay_import_lease")
+public class EbayImportLease {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false, length = 64)
+    private String owner;
+
+    @Column(nullable = false)
+    private Instant leaseUntil;
+}
@@ -0,0 +1,43 @@
+package com.catalogue.product.entity;
+
+import com.catalogue.product.dto.OrderStockEventDTO;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Outcome of an order event already applied to stock.
+ * Outbox relays deliver at least once, so each event id is applied only the first time.
+ */
+@Entity
+@Table(name = "processed_stock_events", indexes = @Index(name = "idx_processed_stock_events_order", columnList = "orderId, type"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessedStockEvent {
+
+    @Id
+    @Column(length = 36)
+    private String eventId;
+
+    @Column(nullable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderStockEventDTO.Type type;
+
+    @Column(nullable = false)
+    private Boolean success;
+
+    @Column(length = 1000)
+    private String message;
+
+    @Column(nullable = false)
+    private Instant processedAt;
+}
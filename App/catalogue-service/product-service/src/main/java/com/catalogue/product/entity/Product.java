@@ -20,7 +20,8 @@ import java.time.Instant;
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 200)
@@ -46,6 +47,14 @@ public class Product {
     @Column(name = "category_description", length = 500)
     private String categoryDescription;
 
+    // eBay itemId for products imported from eBay, null for local products
+    @Column(name = "external_id", unique = true, length = 100)
+    private String externalId;
+
+    // SHA-256 of the imported eBay content, used to skip unchanged listings
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private Instant createdAt;
@@ -0,0 +1,30 @@
+package com.catalogue.product.event;
+
+import com.catalogue.product.dto.ProductDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published by ProductService whenever a product is written.
+ * Listeners use @TransactionalEventListener so they only see committed changes.
+ */
+@Data
+@AllArgsConstructor
+public class ProductChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        STOCK_CHANGED
+    }
+
+    private Type type;
+
+    private Long productId;
+
+    /**
+     * State after the change; null for DELETED and for bulk stock changes.
+     */
+    private ProductDTO product;
+}
@@ -3,6 +3,7 @@ package com.catalogue.product.mapper;
 import com.catalogue.product.dto.ProductDTO;
 import com.catalogue.product.entity.Product;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 
 import java.util.List;
@@ -12,10 +13,14 @@ public interface ProductMapper {
 
     ProductDTO toDTO(Product product);
 
+    // externalId and contentHash are owned by the eBay import
+    @Mapping(target = "externalId", ignore = true)
+    @Mapping(target = "contentHash", ignore = true)
     Product toEntity(ProductDTO productDTO);
 
     List<ProductDTO> toDTOList(List<Product> products);
 
+    @Mapping(target = "externalId", ignore = true)
+    @Mapping(target = "contentHash", ignore = true)
     void updateEntityFromDTO(ProductDTO productDTO, @MappingTarget Product product);
 }
-
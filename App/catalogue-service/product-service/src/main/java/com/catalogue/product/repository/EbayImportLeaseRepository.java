@@ -0,0 +1,25 @@
+package com.catalogue.product.repository;
+
+import com.catalogue.product.entity.EbayImportLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface EbayImportLeaseRepository extends JpaRepository<EbayImportLease, Integer> {
+
+    // Take or renew the lease if it is ours or has run out; 1 when we hold it afterwards
+    @Modifying
+    @Query("UPDATE EbayImportLease l SET l.owner = :owner, l.leaseUntil = :until "
+            + "WHERE l.id = :id AND (l.owner = :owner OR l.leaseUntil < :now)")
+    int claim(@Param("id") int id, @Param("owner") String owner, @Param("now") Instant now, @Param("until") Instant until);
+
+    // Plain insert (not a merge), so a lease row created concurrently fails here instead of being taken over
+    @Modifying
+    @Query(value = "INSERT INTO ebay_import_lease (id, owner, lease_until) VALUES (:id, :owner, :until)", nativeQuery = true)
+    int insert(@Param("id") int id, @Param("owner") String owner, @Param("until") Instant until);
+}
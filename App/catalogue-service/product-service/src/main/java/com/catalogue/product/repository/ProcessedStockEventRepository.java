@@ -0,0 +1,14 @@
+package com.catalogue.product.repository;
+
+import com.catalogue.product.dto.OrderStockEventDTO;
+import com.catalogue.product.entity.ProcessedStockEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ProcessedStockEventRepository extends JpaRepository<ProcessedStockEvent, String> {
+
+    Optional<ProcessedStockEvent> findFirstByOrderIdAndType(Long orderId, OrderStockEventDTO.Type type);
+}
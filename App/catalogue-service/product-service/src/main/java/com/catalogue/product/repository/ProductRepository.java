@@ -1,18 +1,72 @@
 package com.catalogue.product.repository;
 
 import com.catalogue.product.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
-    List<Product> findByCategoryName(String categoryName);
-    List<Product> findByCategoryNameContainingIgnoreCase(String categoryName);
-    List<Product> findByDisponibleTrue();
-    List<Product> findByNomContainingIgnoreCase(String nom);
-    List<Product> findByPrixBetween(BigDecimal minPrix, BigDecimal maxPrix);
-}
 
+    // Keyset pagination: every listing is ordered by id and resumes after the last id seen
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+    List<Product> findByCategoryNameAndIdGreaterThanOrderByIdAsc(String categoryName, Long afterId, Limit limit);
+    List<Product> findByCategoryNameContainingIgnoreCaseAndIdGreaterThanOrderByIdAsc(String categoryName, Long afterId, Limit limit);
+    List<Product> findByDisponibleTrueAndIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+    List<Product> findByPrixBetweenAndIdGreaterThanOrderByIdAsc(BigDecimal minPrix, BigDecimal maxPrix, Long afterId, Limit limit);
+
+    List<Product> findByExternalIdIn(Collection<String> externalIds);
+
+    // Facet aggregations, computed by the database
+    @Query("SELECT p.categoryName, COUNT(p) FROM Product p GROUP BY p.categoryName ORDER BY p.categoryName")
+    List<Object[]> countByCategoryName();
+
+    @Query("SELECT p.disponible, COUNT(p) FROM Product p GROUP BY p.disponible")
+    List<Object[]> countByDisponible();
+
+    /**
+     * Stream the whole catalogue in id order. Must be consumed inside a transaction.
+     * Note: MySQL only streams row by row with useCursorFetch=true on the JDBC URL.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p ORDER BY p.id")
+    Stream<Product> streamAllByOrderByIdAsc();
+
+    // Products written since the given time, by any instance (search index catch-up)
+    List<Product> findByUpdatedAtGreaterThanEqual(Instant since);
+
+    @Query("SELECT p.id FROM Product p")
+    List<Long> findAllIds();
+
+    /**
+     * Apply a relative stock change only if the resulting stock stays non-negative.
+     * @return 1 if the row was updated, 0 if the product is missing or stock is insufficient
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity + :delta, " +
+            "p.disponible = CASE WHEN p.stockQuantity + :delta > 0 THEN true ELSE false END, " +
+            "p.updatedAt = :now " +
+            "WHERE p.id = :id AND p.stockQuantity + :delta >= 0")
+    int adjustStock(@Param("id") Long id, @Param("delta") int delta, @Param("now") Instant now);
+
+    @Query("SELECT p.stockQuantity FROM Product p WHERE p.id = :id")
+    Optional<Integer> findStockQuantityById(@Param("id") Long id);
+}
@@ -0,0 +1,309 @@
+package com.catalogue.product.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BinaryOperator;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over product name, description and category.
+ *
+ * Each term maps to a posting list of primitive product ids and term frequencies.
+ * Every document remembers its slot in each of its posting lists, so removing or
+ * re-indexing a product costs its own terms only, however long the postings are.
+ * Queries are scored with BM25, name and category matches being weighted higher
+ * than description matches, and only the top k hits are kept.
+ *
+ * The last query word also matches as a prefix ("mou" finds "mouse"), as it may still
+ * be being typed. Completions score below an exact match, and only the first
+ * MAX_PREFIX_TERMS terms of the prefix range are expanded.
+ *
+ * Thread-safe: searches share a read lock, writes take the write lock.
+ */
+public class ProductSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final int MAX_PREFIX_TERMS = 64;
+    private static final double PREFIX_WEIGHT = 0.5;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final NavigableMap<String, PostingList> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private long totalLength;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Add a product to the index, replacing any previous version of it.
+     */
+    public void index(long id, String nom, String description, String categoryName) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = addTerms(frequencies, nom, NAME_WEIGHT)
+                + addTerms(frequencies, categoryName, CATEGORY_WEIGHT)
+                + addTerms(frequencies, description, DESCRIPTION_WEIGHT);
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            String[] terms = new String[frequencies.size()];
+            int[] slots = new int[terms.length];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                terms[i] = entry.getKey();
+                slots[i] = postings.computeIfAbsent(entry.getKey(), term -> new PostingList()).add(id, entry.getValue());
+                i++;
+            }
+            documents.put(id, new Document(terms, slots, length));
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the ids of every indexed product
+     */
+    public long[] ids() {
+        lock.readLock().lock();
+        try {
+            return documents.keySet().stream().mapToLong(Long::longValue).toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return ids of the k best matching products, most relevant first
+     */
+    public long[] search(String query, int k) {
+        return search(query, 0, k);
+    }
+
+    /**
+     * @return ids of the matching products ranked offset to offset + k - 1, most relevant first
+     */
+    public long[] search(String query, int offset, int k) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || offset < 0 || k <= 0) {
+            return new long[0];
+        }
+        String lastToken = tokens.get(tokens.size() - 1);
+        Set<String> terms = new LinkedHashSet<>(tokens);
+        terms.remove(lastToken);
+
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            if (documentCount == 0) {
+                return new long[0];
+            }
+            double averageLength = (double) totalLength / documentCount;
+
+            for (String term : terms) {
+                PostingList postingList = postings.get(term);
+                if (postingList != null) {
+                    score(postingList, 1, documentCount, averageLength, scores, Double::sum);
+                }
+            }
+
+            // A product matching several completions of the last word counts its best one
+            Map<Long, Double> lastTokenScores = new HashMap<>();
+            int expanded = 0;
+            for (Map.Entry<String, PostingList> entry
+                    : postings.subMap(lastToken, true, lastToken + Character.MAX_VALUE, false).entrySet()) {
+                if (expanded++ == MAX_PREFIX_TERMS) {
+                    break;
+                }
+                double weight = entry.getKey().equals(lastToken) ? 1 : PREFIX_WEIGHT;
+                score(entry.getValue(), weight, documentCount, averageLength, lastTokenScores, Math::max);
+            }
+            lastTokenScores.forEach((id, score) -> scores.merge(id, score, Double::sum));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        long[] top = topK(scores, offset + k);
+        return offset >= top.length ? new long[0] : Arrays.copyOfRange(top, offset, top.length);
+    }
+
+    /**
+     * Lower-case, accent-free tokens of the given text.
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private void score(PostingList postingList, double weight, int documentCount, double averageLength,
+                       Map<Long, Double> scores, BinaryOperator<Double> combine) {
+        double idf = Math.log(1 + (documentCount - postingList.size + 0.5) / (postingList.size + 0.5));
+        for (int i = 0; i < postingList.size; i++) {
+            long id = postingList.ids[i];
+            int frequency = postingList.frequencies[i];
+            int length = documents.get(id).length;
+            double norm = K1 * (1 - B + B * length / averageLength);
+            double score = weight * idf * frequency * (K1 + 1) / (frequency + norm);
+            scores.merge(id, score, combine);
+        }
+    }
+
+    private static int addTerms(Map<String, Integer> frequencies, String text, int weight) {
+        List<String> tokens = tokenize(text);
+        for (String token : tokens) {
+            frequencies.merge(token, weight, Integer::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    private void removeInternal(long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (int i = 0; i < document.terms.length; i++) {
+            String term = document.terms[i];
+            PostingList postingList = postings.get(term);
+            long movedId = postingList.removeAt(document.slots[i]);
+            if (movedId != id) {
+                // The last posting took the freed slot: record its new position
+                documents.get(movedId).moveSlot(term, document.slots[i]);
+            }
+            if (postingList.size == 0) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= document.length;
+    }
+
+    private static long[] topK(Map<Long, Double> scores, int k) {
+        // Min-heap of the best k hits; ties go to the lowest id
+        Comparator<Map.Entry<Long, Double>> byRelevance = Map.Entry.<Long, Double>comparingByValue()
+                .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed());
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(k + 1, byRelevance);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            if (heap.size() < k) {
+                heap.add(entry);
+            } else if (byRelevance.compare(entry, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+
+        long[] ids = new long[heap.size()];
+        for (int i = ids.length - 1; i >= 0; i--) {
+            ids[i] = heap.poll().getKey();
+        }
+        return ids;
+    }
+
+    /**
+     * Terms of an indexed product and its slot in the posting list of each term
+     */
+    private record Document(String[] terms, int[] slots, int length) {
+
+        void moveSlot(String term, int slot) {
+            for (int i = 0; i < terms.length; i++) {
+                if (terms[i].equals(term)) {
+                    slots[i] = slot;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Growable parallel arrays of product ids and term frequencies.
+     */
+    private static final class PostingList {
+        private long[] ids = new long[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        /**
+         * @return the slot of the new posting
+         */
+        int add(long id, int frequency) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ids[size] = id;
+            frequencies[size] = frequency;
+            return size++;
+        }
+
+        /**
+         * Remove the posting at a slot by moving the last posting into it.
+         * @return the id now stored at the slot, or the removed id if it was the last posting
+         */
+        long removeAt(int slot) {
+            long removedId = ids[slot];
+            size--;
+            ids[slot] = ids[size];
+            frequencies[slot] = frequencies[size];
+            return slot == size ? removedId : ids[slot];
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.catalogue.product.search;
+
+import com.catalogue.product.dto.ProductSuggestionDTO;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Sorted prefix index over normalized product names, for autocomplete.
+ *
+ * Every word of a name starts one key ("wireless mouse logitech", "mouse logitech",
+ * "logitech"), so typing the beginning of any word finds the product. Keys live in
+ * a concurrent skip list, so a lookup is one range scan and needs no lock. The range
+ * is ranked through a heap bounded by the limit, so the result is the true top-N however
+ * the matching keys sort.
+ *
+ * One or two typed characters would match most of the catalogue, so prefixes up to
+ * SHORT_PREFIX characters are answered from a ranked list kept per prefix instead. Writes
+ * keep those lists current. Each list holds up to SHORT_LIST_CAPACITY entries, a spare tail
+ * beyond MAX_LIMIT, so a removal usually just drops its entry; only a truncated list that
+ * falls below MAX_LIMIT is refilled with a range scan, at most once per SPARE removals.
+ * Longer prefixes match a small slice and are scanned per request.
+ */
+public class ProductSuggestIndex {
+
+    public static final int MAX_LIMIT = 50;
+
+    private static final int SHORT_PREFIX = 3;
+    private static final int SPARE = MAX_LIMIT;
+    private static final int SHORT_LIST_CAPACITY = MAX_LIMIT + SPARE;
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    /**
+     * Names starting with the prefix first, then shorter names
+     */
+    private static final Comparator<Entry> RANK = Comparator.comparing((Entry entry) -> !entry.startsName)
+            .thenComparingInt(entry -> entry.nom.length())
+            .thenComparing(Entry::nom)
+            .thenComparingLong(Entry::id);
+
+    private final ConcurrentSkipListMap<String, Entry> entries = new ConcurrentSkipListMap<>();
+    private final Map<Long, List<String>> keysById = new ConcurrentHashMap<>();
+    // Immutable; replaced as a whole so readers need no lock
+    private final Map<String, ShortList> topByShortPrefix = new ConcurrentHashMap<>();
+
+    public synchronized void index(long id, String nom) {
+        removeInternal(id);
+        List<String> tokens = ProductSearchIndex.tokenize(nom);
+        List<String> keys = new ArrayList<>(tokens.size());
+        Map<String, Entry> bestByShortPrefix = new HashMap<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            String text = String.join(" ", tokens.subList(i, tokens.size()));
+            String key = text + KEY_SEPARATOR + id;
+            Entry entry = new Entry(id, nom, i == 0);
+            entries.put(key, entry);
+            keys.add(key);
+            for (String prefix : shortPrefixes(text)) {
+                bestByShortPrefix.merge(prefix, entry, (a, b) -> RANK.compare(a, b) <= 0 ? a : b);
+            }
+        }
+        keysById.put(id, keys);
+        bestByShortPrefix.forEach(this::offer);
+    }
+
+    public synchronized void remove(long id) {
+        removeInternal(id);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        keysById.clear();
+        topByShortPrefix.clear();
+    }
+
+    /**
+     * @return up to limit products whose name, or one of its words, starts with the prefix.
+     * Names starting with the prefix come first, then shorter names.
+     */
+    public List<ProductSuggestionDTO> suggest(String prefix, int limit) {
+        String normalized = String.join(" ", ProductSearchIndex.tokenize(prefix));
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        List<Entry> ranked = normalized.length() <= SHORT_PREFIX && limit <= MAX_LIMIT
+                ? topByShortPrefix.getOrDefault(normalized, ShortList.EMPTY).entries()
+                : rank(normalized, limit);
+        return ranked.stream()
+                .limit(limit)
+                .map(entry -> new ProductSuggestionDTO(entry.id, entry.nom))
+                .toList();
+    }
+
+    /**
+     * Ranks the whole key range of the prefix; cost grows with the number of matching keys
+     */
+    private List<Entry> rank(String normalized, int limit) {
+        // Worst kept entry at the head; a product matched by several of its words keeps its best key
+        PriorityQueue<Entry> top = new PriorityQueue<>(limit + 1, RANK.reversed());
+        Map<Long, Entry> topById = new HashMap<>();
+        for (Entry entry : entries.subMap(normalized, true, normalized + Character.MAX_VALUE, false).values()) {
+            Entry kept = topById.get(entry.id);
+            if (kept != null) {
+                if (RANK.compare(entry, kept) < 0) {
+                    top.remove(kept);
+                    top.add(entry);
+                    topById.put(entry.id, entry);
+                }
+            } else if (top.size() < limit || RANK.compare(entry, top.peek()) < 0) {
+                top.add(entry);
+                topById.put(entry.id, entry);
+                if (top.size() > limit) {
+                    topById.remove(top.poll().id);
+                }
+            }
+        }
+
+        return top.stream()
+                .sorted(RANK)
+                .toList();
+    }
+
+    private void offer(String prefix, Entry entry) {
+        ShortList current = topByShortPrefix.getOrDefault(prefix, ShortList.EMPTY);
+        List<Entry> entries = current.entries();
+        if (entries.size() >= SHORT_LIST_CAPACITY && RANK.compare(entry, entries.get(entries.size() - 1)) >= 0) {
+            return;
+        }
+        List<Entry> updated = new ArrayList<>(entries.size() + 1);
+        updated.addAll(entries);
+        int at = Collections.binarySearch(updated, entry, RANK);
+        updated.add(at < 0 ? -at - 1 : at, entry);
+        boolean complete = current.complete();
+        if (updated.size() > SHORT_LIST_CAPACITY) {
+            updated.remove(SHORT_LIST_CAPACITY);
+            complete = false;
+        }
+        topByShortPrefix.put(prefix, new ShortList(List.copyOf(updated), complete));
+    }
+
+    private void removeInternal(long id) {
+        List<String> keys = keysById.remove(id);
+        if (keys == null) {
+            return;
+        }
+        keys.forEach(entries::remove);
+
+        Set<String> prefixes = new HashSet<>();
+        for (String key : keys) {
+            prefixes.addAll(shortPrefixes(key.substring(0, key.indexOf(KEY_SEPARATOR))));
+        }
+        for (String prefix : prefixes) {
+            ShortList current = topByShortPrefix.get(prefix);
+            if (current == null || current.entries().stream().noneMatch(entry -> entry.id == id)) {
+                continue;
+            }
+            List<Entry> remaining = current.entries().stream()
+                    .filter(entry -> entry.id != id)
+                    .toList();
+            if (!current.complete() && remaining.size() < MAX_LIMIT) {
+                // The spare tail is used up: products ranked below it may now belong in the top list
+                List<Entry> refilled = rank(prefix, SHORT_LIST_CAPACITY);
+                topByShortPrefix.put(prefix, new ShortList(refilled, refilled.size() < SHORT_LIST_CAPACITY));
+            } else if (remaining.isEmpty()) {
+                topByShortPrefix.remove(prefix);
+            } else {
+                topByShortPrefix.put(prefix, new ShortList(remaining, current.complete()));
+            }
+        }
+    }
+
+    private static List<String> shortPrefixes(String text) {
+        List<String> prefixes = new ArrayList<>(SHORT_PREFIX);
+        for (int length = 1; length <= Math.min(SHORT_PREFIX, text.length()); length++) {
+            // A normalized query never ends with a space
+            if (text.charAt(length - 1) != ' ') {
+                prefixes.add(text.substring(0, length));
+            }
+        }
+        return prefixes;
+    }
+
+    private record Entry(long id, String nom, boolean startsName) {
+    }
+
+    /**
+     * Ranked entries of one short prefix
+     * @param complete whether every product matching the prefix is listed
+     */
+    private record ShortList(List<Entry> entries, boolean complete) {
+        static final ShortList EMPTY = new ShortList(List.of(), true);
+    }
+}
@@ -0,0 +1,315 @@
+package com.catalogue.product.service;
+
+import com.catalogue.product.config.CacheConfig;
+import com.catalogue.product.config.EbayImportProperties;
+import com.catalogue.product.dto.ebay.EbayItem;
+import com.catalogue.product.dto.ebay.EbaySearchResponse;
+import com.catalogue.product.entity.EbayImportLease;
+import com.catalogue.product.entity.Product;
+import com.catalogue.product.event.ProductChangedEvent;
+import com.catalogue.product.mapper.ProductMapper;
+import com.catalogue.product.repository.EbayImportLeaseRepository;
+import com.catalogue.product.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Imports eBay search results into the products table so browsing is served from our own DB.
+ *
+ * Listings are read from eBay directly, bypassing the search cache, and keyed on the eBay
+ * itemId (products.external_id). New listings are persisted
+ * through JPA, which Hibernate JDBC-batches thanks to pooled sequence ids; changed listings
+ * are written with JDBC batch updates. A SHA-256 of the imported content is stored with each
+ * row, so listings that did not change since the last run are skipped without a write.
+ *
+ * A run holds a scheduler thread for minutes, so spring.task.scheduling.pool.size leaves room for
+ * the featured warm-up and the token refresh. Only the instance holding the ebay_import_lease row
+ * imports, so replicas neither race on external_id nor spend the eBay quota twice.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EbayImportService {
+
+    private static final String SELECT_HASHES_SQL =
+            "SELECT external_id, content_hash FROM products WHERE external_id IN (:externalIds)";
+
+    // Stock and availability are managed locally and never overwritten by an import
+    private static final String UPDATE_SQL =
+            "UPDATE products SET nom = :nom, description = :description, prix = :prix, image_url = :imageUrl, "
+                    + "category_name = :categoryName, content_hash = :contentHash, updated_at = :now "
+                    + "WHERE external_id = :externalId";
+
+    private final EbayService ebayService;
+    private final EbayImportProperties importProperties;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EbayImportLeaseRepository leaseRepository;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Scheduled(fixedDelayString = "${ebay.import.interval:PT1H}",
+            initialDelayString = "${ebay.import.initial-delay:PT1M}")
+    public void scheduledImport() {
+        if (importProperties.isEnabled()) {
+            importCatalogue();
+        }
+    }
+
+    /**
+     * Page through every configured query and upsert the results. Does nothing unless this
+     * instance holds the import lease, and stops when it loses it between two queries.
+     */
+    public ImportResult importCatalogue() {
+        long start = System.currentTimeMillis();
+        ImportResult total = new ImportResult(0, 0, 0, 0);
+        List<String> queries = importProperties.getQueries();
+        for (int i = 0; i < queries.size(); i++) {
+            String query = queries.get(i);
+            // Taken before the first query and renewed before each next one
+            if (!acquireLease()) {
+                if (i == 0) {
+                    log.debug("eBay import lease held by another instance, skipping this run");
+                    return total;
+                }
+                log.warn("Lost the eBay import lease, stopping after {} of {} queries", i, queries.size());
+                break;
+            }
+            try {
+                total = total.plus(importQuery(query));
+            } catch (Exception e) {
+                log.error("eBay import failed for query '{}': {}", query, e.getMessage(), e);
+            }
+        }
+        log.info("eBay import finished in {} ms: {}", System.currentTimeMillis() - start, total);
+        return total;
+    }
+
+    /**
+     * Take or renew the import lease
+     * @return whether this instance holds it for the next lease period
+     */
+    boolean acquireLease() {
+        Instant now = Instant.now();
+        Instant until = now.plus(importProperties.getLease());
+        try {
+            return transactionTemplate.execute(status ->
+                    leaseRepository.claim(EbayImportLease.ID, instanceId, now, until) == 1
+                            || (!leaseRepository.existsById(EbayImportLease.ID)
+                            && leaseRepository.insert(EbayImportLease.ID, instanceId, until) == 1));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the lease row first
+            return false;
+        }
+    }
+
+    private ImportResult importQuery(String query) {
+        int pageSize = Math.min(Math.max(importProperties.getPageSize(), 1), 200);
+        ImportResult result = new ImportResult(0, 0, 0, 0);
+        int offset = 0;
+        while (offset < importProperties.getMaxItemsPerQuery()) {
+            EbaySearchResponse response = ebayService.searchProductsUncached(query, pageSize, offset).block();
+            List<EbayItem> items = response != null && response.getItemSummaries() != null
+                    ? response.getItemSummaries()
+                    : List.of();
+            if (items.isEmpty()) {
+                break;
+            }
+
+            result = result.plus(upsert(items, query));
+
+            offset += items.size();
+            if (items.size() < pageSize || (response.getTotal() != null && offset >= response.getTotal())) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Upsert one page of eBay listings in a single transaction.
+     * @param fallbackCategory category used when a listing carries none (the search query)
+     */
+    ImportResult upsert(List<EbayItem> items, String fallbackCategory) {
+        // Map and de-duplicate on itemId; listings without id, title or price cannot be imported
+        Map<String, Product> listings = new LinkedHashMap<>();
+        int skipped = 0;
+        for (EbayItem item : items) {
+            Product product = toProduct(item, fallbackCategory);
+            if (product == null) {
+                skipped++;
+            } else {
+                listings.put(product.getExternalId(), product);
+            }
+        }
+        if (listings.isEmpty()) {
+            return new ImportResult(0, 0, 0, skipped);
+        }
+
+        int invalid = skipped;
+        return transactionTemplate.execute(status -> {
+            Map<String, String> existingHashes = findContentHashes(listings.keySet());
+
+            List<Product> inserts = new ArrayList<>();
+            List<Product> updates = new ArrayList<>();
+            for (Product product : listings.values()) {
+                if (!existingHashes.containsKey(product.getExternalId())) {
+                    inserts.add(product);
+                } else if (!product.getContentHash().equals(existingHashes.get(product.getExternalId()))) {
+                    updates.add(product);
+                }
+            }
+
+            productRepository.saveAll(inserts);
+            productRepository.flush();
+            batchUpdate(updates);
+            publishChanges(inserts, updates);
+
+            return new ImportResult(inserts.size(), updates.size(),
+                    listings.size() - inserts.size() - updates.size(), invalid);
+        });
+    }
+
+    private Map<String, String> findContentHashes(Set<String> externalIds) {
+        Map<String, String> hashes = new HashMap<>();
+        jdbcTemplate.query(SELECT_HASHES_SQL, new MapSqlParameterSource("externalIds", externalIds),
+                (RowCallbackHandler) rs -> hashes.put(rs.getString("external_id"), rs.getString("content_hash")));
+        return hashes;
+    }
+
+    private void batchUpdate(List<Product> products) {
+        Timestamp now = Timestamp.from(Instant.now());
+        int batchSize = Math.max(importProperties.getBatchSize(), 1);
+        for (int from = 0; from < products.size(); from += batchSize) {
+            SqlParameterSource[] batch = products.subList(from, Math.min(from + batchSize, products.size())).stream()
+                    .map(product -> new MapSqlParameterSource()
+                            .addValue("externalId", product.getExternalId())
+                            .addValue("nom", product.getNom())
+                            .addValue("description", product.getDescription())
+                            .addValue("prix", product.getPrix())
+                            .addValue("imageUrl", product.getImageUrl())
+                            .addValue("categoryName", product.getCategoryName())
+                            .addValue("contentHash", product.getContentHash())
+                            .addValue("now", now))
+                    .toArray(SqlParameterSource[]::new);
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch);
+        }
+    }
+
+    /**
+     * Evict changed products from the cache and notify the search indexes (after commit)
+     */
+    private void publishChanges(List<Product> inserts, List<Product> updates) {
+        for (Product product : inserts) {
+            eventPublisher.publishEvent(new ProductChangedEvent(
+                    ProductChangedEvent.Type.CREATED, product.getId(), productMapper.toDTO(product)));
+        }
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        List<String> externalIds = updates.stream()
+                .map(Product::getExternalId)
+                .toList();
+        Cache productsCache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        for (Product product : productRepository.findByExternalIdIn(externalIds)) {
+            productsCache.evict(product.getId());
+            eventPublisher.publishEvent(new ProductChangedEvent(
+                    ProductChangedEvent.Type.UPDATED, product.getId(), productMapper.toDTO(product)));
+        }
+    }
+
+    /**
+     * @return the listing as a new product, or null when it lacks an id, title or valid price
+     */
+    private Product toProduct(EbayItem item, String fallbackCategory) {
+        if (item.getItemId() == null || item.getTitle() == null
+                || item.getPrice() == null || item.getPrice().getValue() == null) {
+            return null;
+        }
+        BigDecimal prix;
+        try {
+            prix = new BigDecimal(item.getPrice().getValue());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+
+        String nom = truncate(item.getTitle(), 200);
+        String description = truncate(item.getShortDescription(), 1000);
+        String imageUrl = item.getImage() != null ? truncate(item.getImage().getImageUrl(), 255) : null;
+        String categoryName = item.getCategories() != null && !item.getCategories().isEmpty()
+                && item.getCategories().get(0).getCategoryName() != null
+                ? item.getCategories().get(0).getCategoryName()
+                : fallbackCategory;
+        categoryName = truncate(categoryName, 100);
+
+        return Product.builder()
+                .externalId(item.getItemId())
+                .nom(nom)
+                .description(description)
+                .prix(prix)
+                .imageUrl(imageUrl)
+                .categoryName(categoryName)
+                .contentHash(contentHash(nom, description, prix.toPlainString(), imageUrl, categoryName))
+                .stockQuantity(importProperties.getDefaultStock())
+                .disponible(true)
+                .build();
+    }
+
+    static String contentHash(String... fields) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String field : fields) {
+                if (field != null) {
+                    digest.update(field.getBytes(StandardCharsets.UTF_8));
+                }
+                // Field separator, so ("ab", "c") and ("a", "bc") hash differently
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value == null || value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    public record ImportResult(int inserted, int updated, int unchanged, int skipped) {
+        ImportResult plus(ImportResult other) {
+            return new ImportResult(inserted + other.inserted, updated + other.updated,
+                    unchanged + other.unchanged, skipped + other.skipped);
+        }
+    }
+}
@@ -1,77 +1,54 @@
 package com.catalogue.product.service;
 
 import com.catalogue.product.config.EbayConfig;
-import com.catalogue.product.dto.ebay.EbayOAuthResponse;
 import com.catalogue.product.dto.ebay.EbaySearchResponse;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
-import java.time.Instant;
-import java.util.Base64;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EbayService {
 
+    private static final String FEATURED_QUERY = "electronics";
+    private static final int FEATURED_LIMIT = 20;
+
     private final WebClient webClient;
     private final EbayConfig ebayConfig;
-    
-    private String cachedAccessToken;
-    private Instant tokenExpiryTime;
+    private final EbayTokenProvider tokenProvider;
+    private final MeterRegistry meterRegistry;
 
     /**
-     * Get OAuth access token for eBay API
+     * eBay search results keyed on (query, limit, offset, marketplace).
+     * Concurrent lookups of the same key share one upstream call, and entries past
+     * refreshAfter are returned stale while they are reloaded in the background.
      */
-    private String getAccessToken() {
-        // Check if we have a valid cached token
-        if (cachedAccessToken != null && tokenExpiryTime != null && 
-            Instant.now().isBefore(tokenExpiryTime)) {
-            log.info("Using cached eBay access token");
-            return cachedAccessToken;
-        }
-
-        log.info("Requesting new eBay access token");
-        
-        // Create credentials string for Basic Auth
-        String credentials = ebayConfig.getClientId() + ":" + ebayConfig.getClientSecret();
-        String encodedCredentials = Base64.getEncoder().encodeToString(credentials.getBytes());
-
-        // Prepare form data
-        MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
-        formData.add("grant_type", "client_credentials");
-        formData.add("scope", "https://api.ebay.com/oauth/api_scope");
-
-        try {
-            EbayOAuthResponse response = webClient.post()
-                    .uri(ebayConfig.getOauthUrl())
-                    .header(HttpHeaders.AUTHORIZATION, "Basic " + encodedCredentials)
-                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED_VALUE)
-                    .body(BodyInserters.fromFormData(formData))
-                    .retrieve()
-                    .bodyToMono(EbayOAuthResponse.class)
-                    .block();
-
-            if (response != null && response.getAccessToken() != null) {
-                cachedAccessToken = response.getAccessToken();
-                // Set expiry time with 5 minutes buffer
-                tokenExpiryTime = Instant.now().plusSeconds(response.getExpiresIn() - 300);
-                log.info("Successfully obtained eBay access token");
-                return cachedAccessToken;
-            }
-        } catch (Exception e) {
-            log.error("Error getting eBay access token: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to authenticate with eBay API", e);
-        }
-
-        throw new RuntimeException("Failed to obtain access token from eBay");
+    private AsyncLoadingCache<SearchKey, EbaySearchResponse> searchCache;
+
+    @PostConstruct
+    void initSearchCache() {
+        searchCache = Caffeine.newBuilder()
+                .maximumSize(ebayConfig.getSearchCacheMaximumSize())
+                .refreshAfterWrite(ebayConfig.getSearchCacheRefreshAfter())
+                .expireAfterWrite(ebayConfig.getSearchCacheTtl())
+                .recordStats()
+                .buildAsync((key, executor) -> fetchProducts(key).toFuture());
+        CaffeineCacheMetrics.monitor(meterRegistry, searchCache, "ebay.search");
     }
 
     /**
@@ -80,11 +57,74 @@ public class EbayService {
      * @param limit Number of items to retrieve (default: 10, max: 200)
      * @return EbaySearchResponse containing list of items
      */
-    public EbaySearchResponse searchProducts(String query, Integer limit) {
-        String accessToken = getAccessToken();
-        
+    public Mono<EbaySearchResponse> searchProducts(String query, Integer limit) {
+        return searchProducts(query, limit, 0);
+    }
+
+    /**
+     * Search for products on eBay, starting at the given result offset
+     */
+    public Mono<EbaySearchResponse> searchProducts(String query, Integer limit, int offset) {
+        SearchKey key = searchKey(query, limit, offset);
+        return Mono.defer(() -> {
+                    CompletableFuture<EbaySearchResponse> future = searchCache.get(key);
+                    // Drop a failed load right away so the next caller retries instead of seeing the same error
+                    return Mono.fromFuture(future, true)
+                            .doOnError(e -> searchCache.asMap().remove(key, future));
+                })
+                .onErrorMap(e -> {
+                    log.error("Error searching eBay products: {}", e.getMessage(), e);
+                    return new RuntimeException("Failed to search eBay products", e);
+                });
+    }
+
+    /**
+     * Search eBay directly, bypassing the search cache: for bulk reads such as the catalogue
+     * import, which must see current listings and would only evict the entries users hit
+     */
+    public Mono<EbaySearchResponse> searchProductsUncached(String query, Integer limit, int offset) {
+        return fetchProducts(searchKey(query, limit, offset))
+                .onErrorMap(e -> {
+                    log.error("Error searching eBay products: {}", e.getMessage(), e);
+                    return new RuntimeException("Failed to search eBay products", e);
+                });
+    }
+
+    /**
+     * Get featured products (electronics by default)
+     */
+    public Mono<EbaySearchResponse> getFeaturedProducts() {
+        return searchProducts(FEATURED_QUERY, FEATURED_LIMIT);
+    }
+
+    /**
+     * Search products by category
+     */
+    public Mono<EbaySearchResponse> searchByCategory(String category, Integer limit) {
+        return searchProducts(category, limit);
+    }
+
+    /**
+     * Keep the featured products entry warm so the home page never waits for eBay.
+     * Runs once the application is ready and then on a fixed interval.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${ebay.api.featured-refresh-interval:PT2M}",
+            initialDelayString = "${ebay.api.featured-refresh-interval:PT2M}")
+    public void warmFeaturedProducts() {
+        SearchKey key = new SearchKey(FEATURED_QUERY, FEATURED_LIMIT, 0, ebayConfig.getMarketplaceId());
+        searchCache.synchronous().refresh(key).whenComplete((response, error) -> {
+            if (error != null) {
+                log.warn("Failed to pre-warm featured eBay products: {}", error.getMessage());
+            } else {
+                log.debug("Pre-warmed featured eBay products");
+            }
+        });
+    }
+
+    private SearchKey searchKey(String query, Integer limit, int offset) {
         // Validate and set default limit
-        final Integer finalLimit;
+        final int finalLimit;
         if (limit == null || limit <= 0) {
             finalLimit = 10;
         } else if (limit > 200) {
@@ -92,42 +132,28 @@ public class EbayService {
         } else {
             finalLimit = limit;
         }
+        return new SearchKey(normalize(query), finalLimit, Math.max(offset, 0), ebayConfig.getMarketplaceId());
+    }
 
-        log.info("Searching eBay for: {} (limit: {})", query, finalLimit);
-
-        try {
-            String searchUrl = ebayConfig.getApiUrl() + "/item_summary/search";
-            
-            EbaySearchResponse response = webClient.get()
-                    .uri(searchUrl + "?q={query}&limit={limit}", query, finalLimit)
-                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
-                    .header("X-EBAY-C-MARKETPLACE-ID", ebayConfig.getMarketplaceId())
-                    .retrieve()
-                    .bodyToMono(EbaySearchResponse.class)
-                    .block();
-
-            log.info("eBay search returned {} items", 
-                    response != null && response.getItemSummaries() != null ? 
-                    response.getItemSummaries().size() : 0);
-
-            return response;
-        } catch (Exception e) {
-            log.error("Error searching eBay products: {}", e.getMessage(), e);
-            throw new RuntimeException("Failed to search eBay products", e);
-        }
+    private Mono<EbaySearchResponse> fetchProducts(SearchKey key) {
+        log.info("Searching eBay for: {} (limit: {}, offset: {})", key.query(), key.limit(), key.offset());
+
+        String searchUrl = ebayConfig.getApiUrl() + "/item_summary/search";
+        return tokenProvider.accessToken()
+                .flatMap(accessToken -> webClient.get()
+                        .uri(searchUrl + "?q={query}&limit={limit}&offset={offset}", key.query(), key.limit(), key.offset())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                        .header("X-EBAY-C-MARKETPLACE-ID", key.marketplaceId())
+                        .retrieve()
+                        .bodyToMono(EbaySearchResponse.class))
+                .doOnNext(response -> log.info("eBay search returned {} items",
+                        response.getItemSummaries() != null ? response.getItemSummaries().size() : 0));
     }
 
-    /**
-     * Get featured products (electronics by default)
-     */
-    public EbaySearchResponse getFeaturedProducts() {
-        return searchProducts("electronics", 20);
+    private static String normalize(String query) {
+        return query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
     }
 
-    /**
-     * Search products by category
-     */
-    public EbaySearchResponse searchByCategory(String category, Integer limit) {
-        return searchProducts(category, limit);
+    private record SearchKey(String query, int limit, int offset, String marketplaceId) {
     }
 }
@@ -0,0 +1,200 @@
+package com.catalogue.product.service;
+
+import com.catalogue.product.config.EbayConfig;
+import com.catalogue.product.dto.ebay.EbayOAuthResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Thread-safe holder of the eBay OAuth application token.
+ *
+ * - While the token is valid, callers read it from a volatile field without blocking.
+ * - When a refresh is needed, only one OAuth request is in flight; every caller waits on it.
+ * - After each refresh, a background refresh is scheduled well before the token expires,
+ *   so request threads normally never wait for OAuth at all. Only one background refresh is
+ *   ever pending: scheduling a new one cancels the previous one.
+ * - Refresh latency is published as the "ebay.oauth.refresh" timer.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EbayTokenProvider {
+
+    // Stop using a token 5 minutes before eBay expires it, or half-way through a shorter lifetime
+    private static final long EXPIRY_MARGIN_SECONDS = 300;
+    private static final long MIN_LIFETIME_SECONDS = 1;
+
+    // Never schedule background refreshes closer together than this, unless the token expires sooner
+    private static final Duration MIN_REFRESH_DELAY = Duration.ofSeconds(10);
+
+    // Refresh in the background once this share of the token lifetime has elapsed
+    private static final double REFRESH_AT_LIFETIME_RATIO = 0.8;
+
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+
+    private final WebClient webClient;
+    private final EbayConfig ebayConfig;
+    private final TaskScheduler taskScheduler;
+    private final MeterRegistry meterRegistry;
+
+    private volatile AccessToken token;
+    private final AtomicReference<CompletableFuture<AccessToken>> refreshInFlight = new AtomicReference<>();
+    private ScheduledFuture<?> scheduledRefresh;
+
+    /**
+     * @return a valid access token, waiting for a refresh only if none is available
+     */
+    public String getAccessToken() {
+        AccessToken current = token;
+        if (current != null && current.isValid()) {
+            return current.value();
+        }
+        try {
+            return refresh().join().value();
+        } catch (CompletionException e) {
+            throw new RuntimeException("Failed to authenticate with eBay API", e.getCause());
+        }
+    }
+
+    /**
+     * Non-blocking variant of getAccessToken
+     */
+    public Mono<String> accessToken() {
+        AccessToken current = token;
+        if (current != null && current.isValid()) {
+            return Mono.just(current.value());
+        }
+        return Mono.fromFuture(refresh(), true)
+                .map(AccessToken::value)
+                .onErrorMap(e -> new RuntimeException("Failed to authenticate with eBay API", e));
+    }
+
+    /**
+     * Join the refresh in flight, or start one if there is none
+     */
+    CompletableFuture<AccessToken> refresh() {
+        while (true) {
+            CompletableFuture<AccessToken> existing = refreshInFlight.get();
+            if (existing != null) {
+                return existing;
+            }
+            CompletableFuture<AccessToken> created = new CompletableFuture<>();
+            if (refreshInFlight.compareAndSet(null, created)) {
+                startRefresh(created);
+                return created;
+            }
+        }
+    }
+
+    private void startRefresh(CompletableFuture<AccessToken> result) {
+        log.info("Requesting new eBay access token");
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        requestToken().subscribe(
+                response -> {
+                    Instant now = Instant.now();
+                    long lifetime = usableLifetimeSeconds(response.getExpiresIn());
+                    Instant expiresAt = now.plusSeconds(lifetime);
+                    Instant refreshAt = now.plus(refreshDelay(lifetime));
+                    AccessToken refreshed = new AccessToken(
+                            response.getAccessToken(),
+                            expiresAt,
+                            refreshAt.isAfter(expiresAt) ? expiresAt : refreshAt);
+                    // Publish the token before clearing the in-flight marker
+                    token = refreshed;
+                    refreshInFlight.set(null);
+                    sample.stop(refreshTimer("success"));
+                    log.info("Successfully obtained eBay access token, valid until {}", refreshed.expiresAt());
+                    scheduleRefresh(refreshed.refreshAt());
+                    result.complete(refreshed);
+                },
+                error -> {
+                    refreshInFlight.set(null);
+                    sample.stop(refreshTimer("failure"));
+                    log.error("Error getting eBay access token: {}", error.getMessage(), error);
+                    result.completeExceptionally(error);
+                    // Keep trying in the background while the current token is still usable
+                    AccessToken current = token;
+                    if (current != null && current.isValid()) {
+                        scheduleRefresh(Instant.now().plus(RETRY_DELAY));
+                    }
+                });
+    }
+
+    /**
+     * @return how long a token with the given expires_in is used for. A fixed 5 minute margin
+     * would leave nothing of a short-lived token, and a zero lifetime makes every call refresh.
+     */
+    static long usableLifetimeSeconds(long expiresIn) {
+        long margin = Math.min(EXPIRY_MARGIN_SECONDS, expiresIn / 2);
+        return Math.max(expiresIn - margin, MIN_LIFETIME_SECONDS);
+    }
+
+    private static Duration refreshDelay(long lifetimeSeconds) {
+        Duration delay = Duration.ofSeconds((long) (lifetimeSeconds * REFRESH_AT_LIFETIME_RATIO));
+        return delay.compareTo(MIN_REFRESH_DELAY) < 0 ? MIN_REFRESH_DELAY : delay;
+    }
+
+    /**
+     * Replace the pending background refresh, so on-demand refreshes never start a second chain
+     */
+    private synchronized void scheduleRefresh(Instant when) {
+        if (scheduledRefresh != null) {
+            scheduledRefresh.cancel(false);
+        }
+        scheduledRefresh = taskScheduler.schedule(this::refresh, when);
+    }
+
+    private Mono<EbayOAuthResponse> requestToken() {
+        // Create credentials string for Basic Auth
+        String credentials = ebayConfig.getClientId() + ":" + ebayConfig.getClientSecret();
+        String encodedCredentials = Base64.getEncoder().encodeToString(credentials.getBytes());
+
+        // Prepare form data
+        MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
+        formData.add("grant_type", "client_credentials");
+        formData.add("scope", "https://api.ebay.com/oauth/api_scope");
+
+        return webClient.post()
+                .uri(ebayConfig.getOauthUrl())
+                .header(HttpHeaders.AUTHORIZATION, "Basic " + encodedCredentials)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+                .body(BodyInserters.fromFormData(formData))
+                .retrieve()
+                .bodyToMono(EbayOAuthResponse.class)
+                .filter(response -> response.getAccessToken() != null && response.getExpiresIn() != null)
+                .switchIfEmpty(Mono.error(new IllegalStateException("Failed to obtain access token from eBay")));
+    }
+
+    private Timer refreshTimer(String outcome) {
+        return Timer.builder("ebay.oauth.refresh")
+                .description("Latency of eBay OAuth token refreshes")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    record AccessToken(String value, Instant expiresAt, Instant refreshAt) {
+        boolean isValid() {
+            return Instant.now().isBefore(expiresAt);
+        }
+    }
+}
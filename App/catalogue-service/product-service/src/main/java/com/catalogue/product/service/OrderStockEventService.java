@@ -0,0 +1,138 @@
+package com.catalogue.product.service;
+
+import com.catalogue.product.dto.OrderStockEventDTO;
+import com.catalogue.product.dto.OrderStockEventResult;
+import com.catalogue.product.dto.StockAdjustmentResult;
+import com.catalogue.product.dto.StockReservationResponse;
+import com.catalogue.product.entity.ProcessedStockEvent;
+import com.catalogue.product.repository.ProcessedStockEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Applies order events relayed from the order-service outbox to stock.
+ *
+ * Each event is applied in its own transaction together with its ProcessedStockEvent row, so a
+ * redelivered event returns the recorded outcome instead of moving stock twice. Events are
+ * applied in the order they are received. The order side sends them oldest first, but an
+ * ORDER_CANCELLED can still overtake its ORDER_CREATED (clock skew between order-service instances):
+ * the cancellation is then recorded and supersedes the reservation, which is skipped when it arrives.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderStockEventService {
+
+    private final ProductService productService;
+    private final ProcessedStockEventRepository processedStockEventRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public List<OrderStockEventResult> apply(List<OrderStockEventDTO> events) {
+        List<OrderStockEventResult> results = new ArrayList<>(events.size());
+        for (OrderStockEventDTO event : events) {
+            if (event.getEventId() == null || event.getOrderId() == null || event.getType() == null) {
+                throw new IllegalArgumentException("Each order event needs an eventId, an orderId and a type");
+            }
+            results.add(apply(event));
+        }
+        return results;
+    }
+
+    private OrderStockEventResult apply(OrderStockEventDTO event) {
+        Optional<ProcessedStockEvent> processed = processedStockEventRepository.findById(event.getEventId());
+        if (processed.isPresent()) {
+            log.info("Order event {} already processed, returning its outcome", event.getEventId());
+            return toResult(processed.get());
+        }
+
+        try {
+            ProcessedStockEvent outcome = switch (event.getType()) {
+                case ORDER_CREATED -> processed(event.getOrderId(), OrderStockEventDTO.Type.ORDER_CANCELLED).isPresent()
+                        ? record(event, true, "Order " + event.getOrderId() + " was cancelled before its reservation arrived, nothing reserved")
+                        : applyAdjustments(event);
+                case ORDER_CANCELLED -> cancel(event);
+            };
+            return toResult(outcome);
+        } catch (DataIntegrityViolationException e) {
+            // The same event was applied concurrently by another delivery
+            return processedStockEventRepository.findById(event.getEventId())
+                    .map(this::toResult)
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    private ProcessedStockEvent applyAdjustments(OrderStockEventDTO event) {
+        List<String> rejections = new ArrayList<>();
+        ProcessedStockEvent applied = transactionTemplate.execute(status -> {
+            StockReservationResponse response = productService.reserveStock(event.getAdjustments());
+            if (Boolean.TRUE.equals(response.getSuccess())) {
+                return processedStockEventRepository.saveAndFlush(outcome(event, true, null));
+            }
+            // Nothing was applied; the rejection is recorded in its own transaction below
+            status.setRollbackOnly();
+            response.getResults().stream()
+                    .filter(result -> !Boolean.TRUE.equals(result.getApplied()))
+                    .map(StockAdjustmentResult::getMessage)
+                    .forEach(rejections::add);
+            return null;
+        });
+        if (applied != null) {
+            return applied;
+        }
+        log.warn("Order event {} ({}) rejected: {}", event.getEventId(), event.getType(), rejections);
+        return record(event, false, rejections.stream().collect(Collectors.joining(", ")));
+    }
+
+    /**
+     * Release the stock of a cancelled order, if its ORDER_CREATED reserved any. A cancellation of an
+     * order whose reservation was rejected must not release anything, and one that arrives before
+     * the reservation is recorded so the reservation is skipped.
+     */
+    private ProcessedStockEvent cancel(OrderStockEventDTO event) {
+        Optional<ProcessedStockEvent> created = processed(event.getOrderId(), OrderStockEventDTO.Type.ORDER_CREATED);
+        if (created.isEmpty()) {
+            log.warn("Order event {} cancels order {} before its reservation arrived", event.getEventId(), event.getOrderId());
+            return record(event, true, "Cancelled before the reservation of order " + event.getOrderId() + " arrived");
+        }
+        if (!Boolean.TRUE.equals(created.get().getSuccess())) {
+            return record(event, true, "Nothing was reserved for order " + event.getOrderId());
+        }
+        return applyAdjustments(event);
+    }
+
+    private Optional<ProcessedStockEvent> processed(Long orderId, OrderStockEventDTO.Type type) {
+        return processedStockEventRepository.findFirstByOrderIdAndType(orderId, type);
+    }
+
+    private ProcessedStockEvent record(OrderStockEventDTO event, boolean success, String message) {
+        return processedStockEventRepository.saveAndFlush(outcome(event, success, message));
+    }
+
+    private static ProcessedStockEvent outcome(OrderStockEventDTO event, boolean success, String message) {
+        return ProcessedStockEvent.builder()
+                .eventId(event.getEventId())
+                .orderId(event.getOrderId())
+                .type(event.getType())
+                .success(success)
+                .message(message != null && message.length() > 1000 ? message.substring(0, 1000) : message)
+                .processedAt(Instant.now())
+                .build();
+    }
+
+    private OrderStockEventResult toResult(ProcessedStockEvent processed) {
+        return OrderStockEventResult.builder()
+                .eventId(processed.getEventId())
+                .success(processed.getSuccess())
+                .message(processed.getMessage())
+                .build();
+    }
+}
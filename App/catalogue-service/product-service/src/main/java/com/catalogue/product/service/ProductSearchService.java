@@ -0,0 +1,173 @@
+package com.catalogue.product.service;
+
+import com.catalogue.product.dto.CursorPage;
+import com.catalogue.product.dto.ProductDTO;
+import com.catalogue.product.dto.ProductSuggestionDTO;
+import com.catalogue.product.entity.Product;
+import com.catalogue.product.event.ProductChangedEvent;
+import com.catalogue.product.mapper.ProductMapper;
+import com.catalogue.product.repository.ProductRepository;
+import com.catalogue.product.search.ProductSearchIndex;
+import com.catalogue.product.search.ProductSuggestIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Full-text product search and name autocomplete, both backed by in-memory indexes.
+ * The indexes are rebuilt at startup and kept in sync with committed product writes.
+ *
+ * Writes made on other instances are picked up by a periodic catch-up: products whose updatedAt
+ * is at most CATCH_UP_OVERLAP older than the previous run are re-indexed, and products deleted
+ * elsewhere are dropped once the index holds more products than the table.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchService {
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+
+    private static final int DEFAULT_SUGGESTIONS = 10;
+    private static final int MAX_SUGGESTIONS = ProductSuggestIndex.MAX_LIMIT;
+    // Deeper pages rank ever larger heaps; nobody pages this far through relevance results
+    private static final int MAX_SEARCH_OFFSET = 10_000;
+    // Re-read this far back, so that writes committed late or stamped by a lagging clock are not missed
+    private static final Duration CATCH_UP_OVERLAP = Duration.ofMinutes(1);
+
+    private final ProductSearchIndex searchIndex = new ProductSearchIndex();
+    private final ProductSuggestIndex suggestIndex = new ProductSuggestIndex();
+
+    // Start of the last rebuild or catch-up; null until the indexes are built
+    private volatile Instant caughtUpTo;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        long start = System.currentTimeMillis();
+        caughtUpTo = Instant.now();
+        searchIndex.clear();
+        suggestIndex.clear();
+        try (Stream<Product> products = productRepository.streamAllByOrderByIdAsc()) {
+            products.forEach(product ->
+                    index(product.getId(), product.getNom(), product.getDescription(), product.getCategoryName()));
+        }
+        log.info("Product search indexes built with {} products in {} ms",
+                searchIndex.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Apply the product writes of other instances to the indexes
+     */
+    @Scheduled(fixedDelayString = "${product.search.catch-up-interval:PT30S}",
+            initialDelayString = "${product.search.catch-up-interval:PT30S}")
+    @Transactional(readOnly = true)
+    public void catchUp() {
+        Instant since = caughtUpTo;
+        if (since == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        List<Product> changed = productRepository.findByUpdatedAtGreaterThanEqual(since.minus(CATCH_UP_OVERLAP));
+        for (Product product : changed) {
+            index(product.getId(), product.getNom(), product.getDescription(), product.getCategoryName());
+        }
+
+        // Every product in the table is indexed by now, so extra index entries were deleted
+        int removed = 0;
+        if (searchIndex.size() > productRepository.count()) {
+            Set<Long> existing = new HashSet<>(productRepository.findAllIds());
+            for (long id : searchIndex.ids()) {
+                if (!existing.contains(id)) {
+                    searchIndex.remove(id);
+                    suggestIndex.remove(id);
+                    removed++;
+                }
+            }
+        }
+        caughtUpTo = now;
+        log.debug("Search index catch-up re-indexed {} and removed {} products", changed.size(), removed);
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED, UPDATED -> {
+                ProductDTO product = event.getProduct();
+                index(product.getId(), product.getNom(), product.getDescription(), product.getCategoryName());
+            }
+            case DELETED -> {
+                searchIndex.remove(event.getProductId());
+                suggestIndex.remove(event.getProductId());
+            }
+            default -> {
+                // Stock changes do not affect indexed text
+            }
+        }
+    }
+
+    private void index(long id, String nom, String description, String categoryName) {
+        searchIndex.index(id, nom, description, categoryName);
+        suggestIndex.index(id, nom);
+    }
+
+    /**
+     * @return one page of products ranked by relevance to the keyword. The cursor is the
+     * rank offset of the next page, since relevance order has no stable key to seek from.
+     * Offsets beyond MAX_SEARCH_OFFSET are not served: the page at the cap has no next cursor.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ProductDTO> search(String keyword, Long after, Integer size) {
+        int limit = size == null || size <= 0
+                ? ProductService.DEFAULT_PAGE_SIZE
+                : Math.min(size, ProductService.MAX_PAGE_SIZE);
+        int offset = after == null || after < 0 ? 0 : (int) Math.min(after, MAX_SEARCH_OFFSET);
+        // One extra hit tells whether a next page exists
+        long[] hits = searchIndex.search(keyword, offset, limit + 1);
+        long[] ids = hits.length > limit ? Arrays.copyOf(hits, limit) : hits;
+        // Paging ends at the cap, so a client following the cursor always stops
+        Long nextCursor = hits.length > limit && offset + limit <= MAX_SEARCH_OFFSET ? (long) offset + limit : null;
+        if (ids.length == 0) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        // Load the hits by primary key, then restore the ranking order
+        Map<Long, Product> products = productRepository.findAllById(Arrays.stream(ids).boxed().toList())
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<ProductDTO> results = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            Product product = products.get(id);
+            if (product != null) {
+                results.add(productMapper.toDTO(product));
+            }
+        }
+        return new CursorPage<>(results, nextCursor);
+    }
+
+    /**
+     * Autocomplete on product names, answered from memory only
+     */
+    public List<ProductSuggestionDTO> suggest(String prefix, Integer limit) {
+        int max = limit == null || limit <= 0 ? DEFAULT_SUGGESTIONS : Math.min(limit, MAX_SUGGESTIONS);
+        return suggestIndex.suggest(prefix, max);
+    }
+}
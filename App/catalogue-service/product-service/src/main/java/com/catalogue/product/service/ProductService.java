@@ -1,30 +1,74 @@
 package com.catalogue.product.service;
 
+import com.catalogue.product.config.CacheConfig;
+import com.catalogue.product.dto.CursorPage;
 import com.catalogue.product.dto.ProductDTO;
+import com.catalogue.product.dto.ProductFacetsDTO;
 import com.catalogue.product.entity.Product;
+import com.catalogue.product.event.ProductChangedEvent;
 import com.catalogue.product.mapper.ProductMapper;
 import com.catalogue.product.repository.ProductRepository;
+import com.catalogue.product.dto.StockAdjustmentDTO;
+import com.catalogue.product.dto.StockAdjustmentResult;
+import com.catalogue.product.dto.StockReservationResponse;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
+@Slf4j
 public class ProductService {
 
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    /**
+     * Upper bounds (exclusive) of the price histogram buckets; the last bucket is open-ended
+     */
+    private static final int[] PRICE_BUCKET_BOUNDS = {25, 50, 100, 250, 500, 1000, 2500};
 
     public ProductDTO createProduct(ProductDTO productDTO) {
         Product product = productMapper.toEntity(productDTO);
         Product savedProduct = productRepository.save(product);
-        return productMapper.toDTO(savedProduct);
+        ProductDTO created = productMapper.toDTO(savedProduct);
+        eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.Type.CREATED, created.getId(), created));
+        return created;
     }
 
+    /**
+     * Loads run under the cache's per-key lock (sync), and write evictions wait on that lock:
+     * a read that loaded the old row before a write committed cannot put it back after the eviction.
+     */
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id", sync = true)
     @Transactional(readOnly = true)
     public ProductDTO getProductById(Long id) {
         Product product = productRepository.findById(id)
@@ -33,57 +77,107 @@ public class ProductService {
     }
 
     @Transactional(readOnly = true)
-    public List<ProductDTO> getAllProducts() {
-        List<Product> products = productRepository.findAll();
+    public List<ProductDTO> getProductsByIds(List<Long> ids) {
+        List<Product> products = productRepository.findAllById(ids);
         return productMapper.toDTOList(products);
     }
 
     @Transactional(readOnly = true)
-    public List<ProductDTO> getProductsByCategoryName(String categoryName) {
-        List<Product> products = productRepository.findByCategoryName(categoryName);
-        return productMapper.toDTOList(products);
+    public CursorPage<ProductDTO> getAllProducts(Long after, Integer size) {
+        return page(after, size, (afterId, limit) ->
+                productRepository.findByIdGreaterThanOrderByIdAsc(afterId, limit));
     }
 
     @Transactional(readOnly = true)
-    public List<ProductDTO> searchProductsByCategory(String categoryName) {
-        List<Product> products = productRepository.findByCategoryNameContainingIgnoreCase(categoryName);
-        return productMapper.toDTOList(products);
+    public CursorPage<ProductDTO> getProductsByCategoryName(String categoryName, Long after, Integer size) {
+        return page(after, size, (afterId, limit) ->
+                productRepository.findByCategoryNameAndIdGreaterThanOrderByIdAsc(categoryName, afterId, limit));
     }
 
     @Transactional(readOnly = true)
-    public List<ProductDTO> getAvailableProducts() {
-        List<Product> products = productRepository.findByDisponibleTrue();
-        return productMapper.toDTOList(products);
+    public CursorPage<ProductDTO> searchProductsByCategory(String categoryName, Long after, Integer size) {
+        return page(after, size, (afterId, limit) ->
+                productRepository.findByCategoryNameContainingIgnoreCaseAndIdGreaterThanOrderByIdAsc(categoryName, afterId, limit));
     }
 
     @Transactional(readOnly = true)
-    public List<ProductDTO> searchProducts(String nom) {
-        List<Product> products = productRepository.findByNomContainingIgnoreCase(nom);
-        return productMapper.toDTOList(products);
+    public CursorPage<ProductDTO> getAvailableProducts(Long after, Integer size) {
+        return page(after, size, (afterId, limit) ->
+                productRepository.findByDisponibleTrueAndIdGreaterThanOrderByIdAsc(afterId, limit));
     }
 
     @Transactional(readOnly = true)
-    public List<ProductDTO> getProductsByPriceRange(java.math.BigDecimal minPrix, java.math.BigDecimal maxPrix) {
-        List<Product> products = productRepository.findByPrixBetween(minPrix, maxPrix);
-        return productMapper.toDTOList(products);
+    public CursorPage<ProductDTO> getProductsByPriceRange(BigDecimal minPrix, BigDecimal maxPrix, Long after, Integer size) {
+        return page(after, size, (afterId, limit) ->
+                productRepository.findByPrixBetweenAndIdGreaterThanOrderByIdAsc(minPrix, maxPrix, afterId, limit));
+    }
+
+    /**
+     * Category, availability and price-range counts, aggregated with GROUP BY queries
+     * so the catalogue never has to be loaded.
+     */
+    @Transactional(readOnly = true)
+    public ProductFacetsDTO getFacets() {
+        Map<String, Long> categories = new LinkedHashMap<>();
+        for (Object[] row : productRepository.countByCategoryName()) {
+            categories.put((String) row[0], (Long) row[1]);
+        }
+
+        long available = 0;
+        long unavailable = 0;
+        for (Object[] row : productRepository.countByDisponible()) {
+            if (Boolean.TRUE.equals(row[0])) {
+                available += (Long) row[1];
+            } else {
+                unavailable += (Long) row[1];
+            }
+        }
+
+        return ProductFacetsDTO.builder()
+                .total(available + unavailable)
+                .categories(categories)
+                .available(available)
+                .unavailable(unavailable)
+                .priceBuckets(countByPriceBucket())
+                .build();
+    }
+
+    /**
+     * Push every product, in id order, to the given consumer without loading the catalogue in memory.
+     * Entities are detached once mapped so the persistence context stays small.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllProducts(Consumer<ProductDTO> consumer) {
+        try (Stream<Product> products = productRepository.streamAllByOrderByIdAsc()) {
+            products.forEach(product -> {
+                consumer.accept(productMapper.toDTO(product));
+                entityManager.detach(product);
+            });
+        }
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
     public ProductDTO updateProduct(Long id, ProductDTO productDTO) {
         Product existingProduct = productRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Product not found with id: " + id));
 
         productMapper.updateEntityFromDTO(productDTO, existingProduct);
         Product updatedProduct = productRepository.save(existingProduct);
-        return productMapper.toDTO(updatedProduct);
+        ProductDTO updated = productMapper.toDTO(updatedProduct);
+        eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.Type.UPDATED, id, updated));
+        return updated;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
     public void deleteProduct(Long id) {
         if (!productRepository.existsById(id)) {
             throw new EntityNotFoundException("Product not found with id: " + id);
         }
         productRepository.deleteById(id);
+        eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.Type.DELETED, id, null));
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
     public ProductDTO updateStock(Long id, Integer quantity) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Product not found with id: " + id));
@@ -92,6 +186,108 @@ public class ProductService {
         product.setDisponible(quantity > 0);
 
         Product updatedProduct = productRepository.save(product);
-        return productMapper.toDTO(updatedProduct);
+        ProductDTO updated = productMapper.toDTO(updatedProduct);
+        eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.Type.STOCK_CHANGED, id, updated));
+        return updated;
+    }
+
+    /**
+     * Apply several relative stock changes atomically.
+     * Each change is a conditional UPDATE (stock + delta >= 0), so concurrent
+     * reservations cannot oversell. If any change fails, the whole batch is rolled back.
+     */
+    public StockReservationResponse reserveStock(List<StockAdjustmentDTO> adjustments) {
+        // Merge duplicates and lock rows in id order to avoid deadlocks between concurrent batches
+        Map<Long, Integer> deltas = new TreeMap<>();
+        for (StockAdjustmentDTO adjustment : adjustments) {
+            if (adjustment.getProductId() == null || adjustment.getDelta() == null) {
+                throw new IllegalArgumentException("Each stock adjustment needs a productId and a delta");
+            }
+            deltas.merge(adjustment.getProductId(), adjustment.getDelta(), Integer::sum);
+        }
+
+        Instant now = Instant.now();
+        List<StockAdjustmentResult> results = new ArrayList<>(deltas.size());
+        boolean success = true;
+
+        for (Map.Entry<Long, Integer> entry : deltas.entrySet()) {
+            Long productId = entry.getKey();
+            int delta = entry.getValue();
+            boolean applied = productRepository.adjustStock(productId, delta, now) == 1;
+            Integer stock = productRepository.findStockQuantityById(productId).orElse(null);
+
+            StockAdjustmentResult.StockAdjustmentResultBuilder result = StockAdjustmentResult.builder()
+                    .productId(productId)
+                    .delta(delta)
+                    .applied(applied)
+                    .stockQuantity(stock);
+            if (!applied) {
+                success = false;
+                result.message(stock == null
+                        ? "Product not found with id: " + productId
+                        : "Insufficient stock for product " + productId);
+            }
+            results.add(result.build());
+        }
+
+        if (!success) {
+            log.warn("Stock reservation rejected, rolling back: {}", results);
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        } else {
+            Cache productsCache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+            for (StockAdjustmentResult result : results) {
+                productsCache.evict(result.getProductId());
+                eventPublisher.publishEvent(new ProductChangedEvent(
+                        ProductChangedEvent.Type.STOCK_CHANGED, result.getProductId(), null));
+            }
+        }
+
+        return StockReservationResponse.builder()
+                .success(success)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Count products per price bucket in a single GROUP BY over a CASE expression
+     * generated from PRICE_BUCKET_BOUNDS.
+     */
+    private List<ProductFacetsDTO.PriceBucket> countByPriceBucket() {
+        StringBuilder bucket = new StringBuilder("CASE");
+        for (int i = 0; i < PRICE_BUCKET_BOUNDS.length; i++) {
+            bucket.append(" WHEN p.prix < ").append(PRICE_BUCKET_BOUNDS[i]).append(" THEN ").append(i);
+        }
+        bucket.append(" ELSE ").append(PRICE_BUCKET_BOUNDS.length).append(" END");
+
+        long[] counts = new long[PRICE_BUCKET_BOUNDS.length + 1];
+        List<Object[]> rows = entityManager.createQuery(
+                        "SELECT " + bucket + ", COUNT(p) FROM Product p GROUP BY " + bucket, Object[].class)
+                .getResultList();
+        for (Object[] row : rows) {
+            counts[((Number) row[0]).intValue()] = (Long) row[1];
+        }
+
+        List<ProductFacetsDTO.PriceBucket> buckets = new ArrayList<>(counts.length);
+        for (int i = 0; i < counts.length; i++) {
+            BigDecimal min = i == 0 ? BigDecimal.ZERO : BigDecimal.valueOf(PRICE_BUCKET_BOUNDS[i - 1]);
+            BigDecimal max = i < PRICE_BUCKET_BOUNDS.length ? BigDecimal.valueOf(PRICE_BUCKET_BOUNDS[i]) : null;
+            buckets.add(new ProductFacetsDTO.PriceBucket(min, max, counts[i]));
+        }
+        return buckets;
+    }
+
+    /**
+     * Run a keyset query for one page. One extra row is fetched to know whether a next page exists.
+     */
+    private CursorPage<ProductDTO> page(Long after, Integer size, BiFunction<Long, Limit, List<Product>> query) {
+        int pageSize = size == null || size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        List<Product> products = query.apply(after == null ? 0L : after, Limit.of(pageSize + 1));
+
+        Long nextCursor = null;
+        if (products.size() > pageSize) {
+            products = products.subList(0, pageSize);
+            nextCursor = products.get(pageSize - 1).getId();
+        }
+        return new CursorPage<>(productMapper.toDTOList(products), nextCursor);
     }
 }
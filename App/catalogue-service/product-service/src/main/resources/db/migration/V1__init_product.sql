@@ -1,17 +0,0 @@
--- Product Service Migration
-CREATE TABLE IF NOT EXISTS products (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
-    nom VARCHAR(200) NOT NULL,
-    description VARCHAR(1000),
-    prix DECIMAL(10, 2) NOT NULL,
-    stock_quantity INT NOT NULL,
-    image_url VARCHAR(500),
-    disponible BOOLEAN NOT NULL DEFAULT TRUE,
-    category_name VARCHAR(100) NOT NULL,
-    category_description VARCHAR(500),
-    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-    INDEX idx_category_name (category_name),
-    INDEX idx_disponible (disponible)
-) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
-
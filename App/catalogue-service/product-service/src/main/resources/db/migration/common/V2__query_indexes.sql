@@ -0,0 +1,18 @@
+-- Indexes for the ProductRepository access paths. Listings are keyset-paginated by id, so each
+-- filter column leads an index that ends with id: the index serves both "column = ?" and
+-- "id > ? ORDER BY id" and the scan stops after one page.
+
+-- findByCategoryNameAndIdGreaterThanOrderByIdAsc and the countByCategoryName facet
+-- (findByCategoryNameContainingIgnoreCase... matches a substring and cannot use it)
+CREATE INDEX idx_products_category_id ON products (category_name, id);
+
+-- findByDisponibleTrueAndIdGreaterThanOrderByIdAsc and the countByDisponible facet
+CREATE INDEX idx_products_disponible_id ON products (disponible, id);
+
+-- findByPrixBetweenAndIdGreaterThanOrderByIdAsc
+CREATE INDEX idx_products_prix ON products (prix, id);
+
+-- findByExternalIdIn uses uk_products_external_id
+
+-- ProcessedStockEventRepository.findFirstByOrderIdAndType
+CREATE INDEX idx_processed_stock_events_order ON processed_stock_events (order_id, type);
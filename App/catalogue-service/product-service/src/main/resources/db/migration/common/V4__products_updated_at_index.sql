@@ -0,0 +1,3 @@
+-- ProductRepository.findByUpdatedAtGreaterThanEqual: the search index catch-up of every instance
+-- reads the products changed since its last run
+CREATE INDEX idx_products_updated_at ON products (updated_at);
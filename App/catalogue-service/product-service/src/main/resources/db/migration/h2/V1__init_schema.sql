@@ -0,0 +1,30 @@
+-- Product Service schema (H2, also used in MySQL compatibility mode)
+-- Ids come from a pooled sequence (allocationSize = 50 in the entity)
+
+CREATE SEQUENCE products_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE products (
+    id BIGINT NOT NULL PRIMARY KEY,
+    nom VARCHAR(200) NOT NULL,
+    description VARCHAR(1000),
+    prix NUMERIC(38, 2) NOT NULL,
+    stock_quantity INTEGER NOT NULL,
+    image_url VARCHAR(255),
+    disponible BOOLEAN NOT NULL,
+    category_name VARCHAR(100) NOT NULL,
+    category_description VARCHAR(500),
+    external_id VARCHAR(100),
+    content_hash VARCHAR(64),
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT uk_products_external_id UNIQUE (external_id)
+);
+
+CREATE TABLE processed_stock_events (
+    event_id VARCHAR(36) NOT NULL PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    success BOOLEAN NOT NULL,
+    message VARCHAR(1000),
+    processed_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
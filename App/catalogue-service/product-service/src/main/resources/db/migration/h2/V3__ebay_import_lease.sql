@@ -0,0 +1,7 @@
+-- Single row naming the instance that runs the scheduled eBay import
+CREATE TABLE ebay_import_lease (
+    id INTEGER NOT NULL PRIMARY KEY,
+    owner VARCHAR(64) NOT NULL,
+    lease_until TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+INSERT INTO ebay_import_lease VALUES (1, 'none', TIMESTAMP WITH TIME ZONE '1970-01-01 00:00:00+00');
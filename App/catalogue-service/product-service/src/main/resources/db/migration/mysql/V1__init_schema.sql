@@ -0,0 +1,31 @@
+-- Product Service schema (MySQL)
+-- MySQL has no sequences: Hibernate emulates the pooled sequence with a one-row table
+
+CREATE TABLE products_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO products_seq VALUES (1);
+
+CREATE TABLE products (
+    id BIGINT NOT NULL PRIMARY KEY,
+    nom VARCHAR(200) NOT NULL,
+    description VARCHAR(1000),
+    prix DECIMAL(38, 2) NOT NULL,
+    stock_quantity INT NOT NULL,
+    image_url VARCHAR(255),
+    disponible BIT NOT NULL,
+    category_name VARCHAR(100) NOT NULL,
+    category_description VARCHAR(500),
+    external_id VARCHAR(100),
+    content_hash VARCHAR(64),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    CONSTRAINT uk_products_external_id UNIQUE (external_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE processed_stock_events (
+    event_id VARCHAR(36) NOT NULL PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    success BIT NOT NULL,
+    message VARCHAR(1000),
+    processed_at DATETIME(6) NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
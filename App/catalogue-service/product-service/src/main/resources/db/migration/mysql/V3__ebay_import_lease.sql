@@ -0,0 +1,7 @@
+-- Single row naming the instance that runs the scheduled eBay import
+CREATE TABLE ebay_import_lease (
+    id INT NOT NULL PRIMARY KEY,
+    owner VARCHAR(64) NOT NULL,
+    lease_until DATETIME(6) NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+INSERT INTO ebay_import_lease VALUES (1, 'none', '1970-01-01 00:00:00');
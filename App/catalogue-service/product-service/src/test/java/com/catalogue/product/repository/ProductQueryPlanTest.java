@@ -0,0 +1,79 @@
+package com.catalogue.product.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks on H2 (MySQL mode) that the Flyway schema validates against the entities and that
+ * the repository access paths are served by an index instead of a full table scan.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:product_plan;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.flyway.locations=classpath:db/migration/common,classpath:db/migration/{vendor}",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ProductQueryPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testFindByCategoryName() {
+        assertUsesIndex("SELECT * FROM products WHERE category_name = 'Electronics' AND id > 100 ORDER BY id LIMIT 21",
+                "idx_products_category_id");
+    }
+
+    @Test
+    void testFindByDisponible() {
+        assertUsesIndex("SELECT * FROM products WHERE disponible = TRUE AND id > 100 ORDER BY id LIMIT 21",
+                "idx_products_disponible_id");
+    }
+
+    @Test
+    void testFindByPrixBetween() {
+        // Two ranges: the planner picks the price index or walks the primary key in id order,
+        // whichever it estimates cheaper, but never scans the whole table
+        assertUsesIndex("SELECT * FROM products WHERE prix BETWEEN 10 AND 100 AND id > 100 ORDER BY id LIMIT 21",
+                "idx_products_prix", "primary_key");
+    }
+
+    @Test
+    void testCountByCategoryName() {
+        assertUsesIndex("SELECT category_name, COUNT(*) FROM products GROUP BY category_name ORDER BY category_name",
+                "idx_products_category_id");
+    }
+
+    @Test
+    void testFindByExternalIdIn() {
+        assertUsesIndex("SELECT * FROM products WHERE external_id IN ('v1|1|0', 'v1|2|0')", "uk_products_external_id");
+    }
+
+    @Test
+    void testFindByUpdatedAtGreaterThanEqual() {
+        assertUsesIndex("SELECT * FROM products WHERE updated_at >= TIMESTAMP '2026-01-01 00:00:00'",
+                "idx_products_updated_at");
+    }
+
+    @Test
+    void testFindProcessedStockEventByOrderIdAndType() {
+        assertUsesIndex("SELECT * FROM processed_stock_events WHERE order_id = 1 AND type = 'ORDER_CREATED' LIMIT 1",
+                "idx_processed_stock_events_order");
+    }
+
+    private void assertUsesIndex(String sql, String... indexes) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+        assertThat(plan).as("plan of %s", sql).doesNotContainIgnoringCase("tableScan");
+        assertThat(Arrays.stream(indexes).anyMatch(index -> plan.toLowerCase().contains(index.toLowerCase())))
+                .as("plan of %s uses one of %s:%n%s", sql, Arrays.toString(indexes), plan)
+                .isTrue();
+    }
+}
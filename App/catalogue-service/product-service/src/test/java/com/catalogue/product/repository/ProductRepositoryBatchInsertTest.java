@@ -0,0 +1,107 @@
+package com.catalogue.product.repository;
+
+import com.catalogue.product.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark of bulk product inserts: with pooled sequence ids Hibernate sends the
+ * INSERTs as JDBC batches instead of one round trip per row (IDENTITY). The same
+ * inserts are measured with JDBC batching turned off for the session, which costs
+ * one statement per row as IDENTITY did, and both counts are logged.
+ */
+@Slf4j
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductRepositoryBatchInsertTest {
+
+    private static final int PRODUCTS = 2000;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testSaveAll_ProductsAreBatched() {
+        long unbatched = insertStatements(products("Unbatched"), 1);
+        productRepository.deleteAll();
+
+        long start = System.nanoTime();
+        long batched = insertStatements(products("Batched"), null);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        log.info("Inserted {} products with {} prepared statements in {} ms ({} without JDBC batching)",
+                PRODUCTS, batched, elapsedMs, unbatched);
+
+        // Without batching every row is its own statement, plus the sequence calls
+        assertThat(unbatched).isGreaterThanOrEqualTo(PRODUCTS);
+        // 2000 rows in batches of 50 plus one sequence call per 50 ids
+        assertThat(batched).isLessThan(PRODUCTS / 10);
+        assertThat(productRepository.count()).isEqualTo(PRODUCTS);
+    }
+
+    /**
+     * Persist the products in one transaction and count the statements it prepared
+     * @param jdbcBatchSize session batch size, null for the configured one
+     */
+    private long insertStatements(List<Product> products, Integer jdbcBatchSize) {
+        statistics.clear();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            if (jdbcBatchSize != null) {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            }
+            products.forEach(entityManager::persist);
+        });
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(products.size());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static List<Product> products(String prefix) {
+        List<Product> products = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(Product.builder()
+                    .nom(prefix + " product " + i)
+                    .prix(new BigDecimal("9.99"))
+                    .stockQuantity(10)
+                    .disponible(true)
+                    .categoryName("Batch")
+                    .build());
+        }
+        return products;
+    }
+}
@@ -0,0 +1,130 @@
+package com.catalogue.product.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the in-memory product search index
+ */
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index.index(1, "Wireless Mouse Logitech MX", "Ergonomic wireless mouse with precision tracking", "Electronics");
+        index.index(2, "USB-C Hub 7-in-1", "Multi-port hub with HDMI, works with any mouse", "Electronics");
+        index.index(3, "Laptop Dell XPS 15", "High-performance laptop", "Computers");
+        index.index(4, "Gaming Mouse Pad", "Large pad", "Accessories");
+    }
+
+    @Test
+    void testSearch_RanksNameMatchesFirst() {
+        long[] ids = index.search("mouse", 10);
+
+        assertThat(ids).hasSize(3);
+        assertThat(new long[]{ids[0], ids[1]}).containsExactlyInAnyOrder(1L, 4L);
+        assertThat(ids[2]).isEqualTo(2L);
+    }
+
+    @Test
+    void testSearch_IsCaseAndAccentInsensitive() {
+        index.index(5, "Café Crème", "Machine à café", "Maison");
+
+        assertThat(index.search("CAFE", 10)).containsExactly(5L);
+        assertThat(index.search("creme", 10)).containsExactly(5L);
+    }
+
+    @Test
+    void testSearch_ReturnsOnlyTopK() {
+        assertThat(index.search("mouse hub laptop", 2)).hasSize(2);
+    }
+
+    @Test
+    void testSearch_NoMatch() {
+        assertThat(index.search("keyboard", 10)).isEmpty();
+        assertThat(index.search("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void testSearch_LastWordMatchesAsPrefix() {
+        assertThat(index.search("gaming mou", 10)).startsWith(4L).contains(1L);
+        assertThat(index.search("mou gaming", 10)).containsExactly(4L);
+    }
+
+    @Test
+    void testSearch_ExactWordRanksAboveCompletion() {
+        index.index(5, "Pad", "Pad", "Accessories");
+        index.index(6, "Padded Case", "Padded", "Accessories");
+
+        assertThat(index.search("pad", 10)).startsWith(5L).contains(6L);
+    }
+
+    @Test
+    void testSearch_Offset() {
+        long[] all = index.search("mouse", 10);
+
+        assertThat(index.search("mouse", 1, 1)).containsExactly(all[1]);
+        assertThat(index.search("mouse", 2, 10)).containsExactly(all[2]);
+        assertThat(index.search("mouse", 3, 10)).isEmpty();
+    }
+
+    @Test
+    void testIndex_ReplacesPreviousVersion() {
+        index.index(3, "Laptop Lenovo ThinkPad", "Business laptop", "Computers");
+
+        assertThat(index.search("dell", 10)).isEmpty();
+        assertThat(index.search("thinkpad", 10)).containsExactly(3L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void testRemove() {
+        index.remove(1);
+
+        assertThat(index.search("logitech", 10)).isEmpty();
+        assertThat(index.search("mouse", 10)).containsExactly(4L, 2L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void testRemove_KeepsSharedPostingsConsistent() {
+        ProductSearchIndex shared = new ProductSearchIndex();
+        for (long id = 1; id <= 200; id++) {
+            shared.index(id, "Common item" + id, "common", "Bulk");
+        }
+        // Removals in every position of the posting lists, then re-indexing some of them
+        for (long id = 2; id <= 200; id += 2) {
+            shared.remove(id);
+        }
+        for (long id = 3; id <= 200; id += 6) {
+            shared.index(id, "Renamed item" + id, null, "Bulk");
+        }
+
+        assertThat(shared.size()).isEqualTo(100);
+        assertThat(shared.search("bulk", 500))
+                .containsOnly(LongStream.rangeClosed(1, 200).filter(id -> id % 2 == 1).toArray());
+        assertThat(shared.search("common", 500))
+                .containsOnly(LongStream.rangeClosed(1, 200).filter(id -> id % 2 == 1 && id % 6 != 3).toArray());
+        for (long id = 1; id <= 200; id++) {
+            // "item1" also completes to "item10"...; the exact word ranks first
+            long[] hits = shared.search("item" + id, 10);
+            if (id % 2 == 1) {
+                assertThat(hits).startsWith(id);
+            } else {
+                assertThat(hits).doesNotContain(id);
+            }
+        }
+    }
+
+    @Test
+    void testTokenize() {
+        assertThat(ProductSearchIndex.tokenize("USB-C Hub, 7-in-1!")).containsExactly("usb", "c", "hub", "7", "in", "1");
+        assertThat(ProductSearchIndex.tokenize(null)).isEmpty();
+    }
+}
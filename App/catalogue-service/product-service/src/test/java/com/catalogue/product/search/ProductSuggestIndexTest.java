@@ -0,0 +1,127 @@
+package com.catalogue.product.search;
+
+import com.catalogue.product.dto.ProductSuggestionDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the product name autocomplete index
+ */
+class ProductSuggestIndexTest {
+
+    private ProductSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSuggestIndex();
+        index.index(1, "Wireless Mouse Logitech MX");
+        index.index(2, "Mouse Pad");
+        index.index(3, "Monitor LG 27\" 4K");
+        index.index(4, "Gaming Mouse");
+    }
+
+    @Test
+    void testSuggest_NameStartMatchesComeFirst() {
+        assertThat(index.suggest("mou", 10))
+                .extracting(ProductSuggestionDTO::getId)
+                .containsExactly(2L, 4L, 1L);
+    }
+
+    @Test
+    void testSuggest_MultiWordPrefix() {
+        assertThat(index.suggest("Mouse Lo", 10))
+                .extracting(ProductSuggestionDTO::getNom)
+                .containsExactly("Wireless Mouse Logitech MX");
+    }
+
+    @Test
+    void testSuggest_RespectsLimit() {
+        assertThat(index.suggest("m", 2)).hasSize(2);
+    }
+
+    @Test
+    void testSuggest_RanksWholePrefixRangeBeforeLimiting() {
+        // Mid-name matches that sort ahead of the best ones ("mouse aaa..." < "mouse pad")
+        for (int i = 0; i < 50; i++) {
+            index.index(100 + i, "Zebra Mouse Aaa " + i);
+        }
+        index.index(200, "Mouse");
+
+        assertThat(index.suggest("mouse", 3))
+                .extracting(ProductSuggestionDTO::getId)
+                .containsExactly(200L, 2L, 4L);
+    }
+
+    @Test
+    void testSuggest_ProductMatchedByTwoWordsListedOnce() {
+        index.index(5, "Mouse Mouse Bungee");
+
+        assertThat(index.suggest("mouse", 10))
+                .extracting(ProductSuggestionDTO::getId)
+                .containsExactly(2L, 5L, 4L, 1L);
+    }
+
+    @Test
+    void testSuggest_AfterUpdateAndRemove() {
+        index.index(2, "Desk Pad");
+        index.remove(4);
+
+        assertThat(index.suggest("mouse", 10))
+                .extracting(ProductSuggestionDTO::getId)
+                .containsExactly(1L);
+        assertThat(index.suggest("desk", 10)).hasSize(1);
+    }
+
+    @Test
+    void testSuggest_ShortPrefixMatchesFullRanking() {
+        for (int i = 0; i < 80; i++) {
+            index.index(100 + i, "Mouse " + i);
+        }
+
+        assertThat(index.suggest("mou", ProductSuggestIndex.MAX_LIMIT))
+                .isEqualTo(index.suggest("mouse", ProductSuggestIndex.MAX_LIMIT));
+    }
+
+    @Test
+    void testSuggest_ShortPrefixRefilledAfterRemove() {
+        ProductSuggestIndex rebuilt = new ProductSuggestIndex();
+        for (int i = 0; i < ProductSuggestIndex.MAX_LIMIT + 5; i++) {
+            index.index(100 + i, "Mo " + i);
+            if (i > 0) {
+                rebuilt.index(100 + i, "Mo " + i);
+            }
+        }
+        // "Mo 0" is the best match; its slot must go to an entry below the kept top-N
+        index.remove(100);
+
+        assertThat(index.suggest("mo", ProductSuggestIndex.MAX_LIMIT))
+                .hasSize(ProductSuggestIndex.MAX_LIMIT)
+                .isEqualTo(rebuilt.suggest("mo", ProductSuggestIndex.MAX_LIMIT));
+    }
+
+    @Test
+    void testSuggest_ShortPrefixStaysExactAcrossManyRemovals() {
+        for (int i = 0; i < 300; i++) {
+            index.index(1000 + i, "Mo " + i);
+        }
+        ProductSuggestIndex rebuilt = new ProductSuggestIndex();
+        for (int i = 150; i < 300; i++) {
+            rebuilt.index(1000 + i, "Mo " + i);
+        }
+        // Uses up the spare tail several times over
+        for (int i = 0; i < 150; i++) {
+            index.remove(1000 + i);
+            assertThat(index.suggest("m", ProductSuggestIndex.MAX_LIMIT)).hasSize(ProductSuggestIndex.MAX_LIMIT);
+        }
+
+        assertThat(index.suggest("mo", ProductSuggestIndex.MAX_LIMIT))
+                .isEqualTo(rebuilt.suggest("mo", ProductSuggestIndex.MAX_LIMIT));
+    }
+
+    @Test
+    void testSuggest_BlankPrefix() {
+        assertThat(index.suggest(" ", 10)).isEmpty();
+    }
+}
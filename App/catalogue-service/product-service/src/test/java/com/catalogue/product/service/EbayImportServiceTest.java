@@ -0,0 +1,175 @@
+package com.catalogue.product.service;
+
+import com.catalogue.product.config.CacheConfig;
+import com.catalogue.product.config.EbayImportProperties;
+import com.catalogue.product.dto.ebay.EbayCategory;
+import com.catalogue.product.dto.ebay.EbayItem;
+import com.catalogue.product.dto.ebay.EbayPrice;
+import com.catalogue.product.dto.ebay.EbaySearchResponse;
+import com.catalogue.product.entity.EbayImportLease;
+import com.catalogue.product.entity.Product;
+import com.catalogue.product.mapper.ProductMapperImpl;
+import com.catalogue.product.repository.EbayImportLeaseRepository;
+import com.catalogue.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the batched eBay catalogue import
+ */
+@DataJpaTest
+@Import({EbayImportService.class, EbayImportProperties.class, ProductMapperImpl.class, CacheConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EbayImportServiceTest {
+
+    @Autowired
+    private EbayImportService importService;
+
+    @Autowired
+    private EbayImportProperties importProperties;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EbayImportLeaseRepository leaseRepository;
+
+    @MockBean
+    private EbayService ebayService;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        leaseRepository.deleteAll();
+        importProperties.setBatchSize(2);
+    }
+
+    @Test
+    void testUpsert_InsertsNewListings() {
+        EbayImportService.ImportResult result = importService.upsert(
+                List.of(item("v1|1|0", "Laptop", "999.99", "Computers"), item("v1|2|0", "Phone", "499.00", null)),
+                "electronics");
+
+        assertThat(result).isEqualTo(new EbayImportService.ImportResult(2, 0, 0, 0));
+        List<Product> products = productRepository.findByExternalIdIn(List.of("v1|1|0", "v1|2|0"));
+        assertThat(products).hasSize(2);
+        Product phone = products.stream().filter(p -> p.getNom().equals("Phone")).findFirst().orElseThrow();
+        assertThat(phone.getCategoryName()).isEqualTo("electronics");
+        assertThat(phone.getPrix()).isEqualByComparingTo("499.00");
+        assertThat(phone.getStockQuantity()).isEqualTo(importProperties.getDefaultStock());
+        assertThat(phone.getDisponible()).isTrue();
+        assertThat(phone.getContentHash()).hasSize(64);
+    }
+
+    @Test
+    void testUpsert_SkipsUnchangedAndUpdatesChanged() {
+        importService.upsert(List.of(item("v1|1|0", "Laptop", "999.99", "Computers"),
+                item("v1|2|0", "Phone", "499.00", "Phones")), "electronics");
+        Product laptop = productRepository.findByExternalIdIn(List.of("v1|1|0")).get(0);
+        laptop.setStockQuantity(3);
+        productRepository.save(laptop);
+
+        EbayImportService.ImportResult result = importService.upsert(List.of(
+                item("v1|1|0", "Laptop", "899.99", "Computers"),
+                item("v1|2|0", "Phone", "499.00", "Phones")), "electronics");
+
+        assertThat(result).isEqualTo(new EbayImportService.ImportResult(0, 1, 1, 0));
+        Product updated = productRepository.findById(laptop.getId()).orElseThrow();
+        assertThat(updated.getPrix()).isEqualByComparingTo("899.99");
+        // Locally managed stock survives the import
+        assertThat(updated.getStockQuantity()).isEqualTo(3);
+        assertThat(productRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void testUpsert_SkipsInvalidAndDuplicateListings() {
+        EbayItem noPrice = item("v1|3|0", "No price", null, null);
+        EbayImportService.ImportResult result = importService.upsert(List.of(
+                item("v1|1|0", "Laptop", "999.99", null),
+                item("v1|1|0", "Laptop", "999.99", null),
+                noPrice), "electronics");
+
+        assertThat(result).isEqualTo(new EbayImportService.ImportResult(1, 0, 0, 1));
+        assertThat(productRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testImportCatalogue_PagesThroughResults() {
+        importProperties.setQueries(List.of("laptop"));
+        importProperties.setPageSize(2);
+        when(ebayService.searchProductsUncached(eq("laptop"), eq(2), anyInt())).thenAnswer(invocation -> {
+            int offset = invocation.getArgument(2);
+            List<EbayItem> items = new ArrayList<>();
+            for (int i = offset; i < Math.min(offset + 2, 5); i++) {
+                items.add(item("v1|" + i + "|0", "Laptop " + i, "100.00", null));
+            }
+            EbaySearchResponse response = new EbaySearchResponse();
+            response.setTotal(5);
+            response.setItemSummaries(items);
+            return Mono.just(response);
+        });
+
+        EbayImportService.ImportResult result = importService.importCatalogue();
+
+        assertThat(result.inserted()).isEqualTo(5);
+        assertThat(productRepository.count()).isEqualTo(5);
+        assertThat(importService.importCatalogue().unchanged()).isEqualTo(5);
+    }
+
+    @Test
+    void testImportCatalogue_SkippedWhileAnotherInstanceHoldsLease() {
+        leaseRepository.save(new EbayImportLease(EbayImportLease.ID, "other-instance", Instant.now().plus(Duration.ofMinutes(5))));
+
+        EbayImportService.ImportResult result = importService.importCatalogue();
+
+        assertThat(result).isEqualTo(new EbayImportService.ImportResult(0, 0, 0, 0));
+        verify(ebayService, never()).searchProductsUncached(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testAcquireLease_TakesOverExpiredLease() {
+        leaseRepository.save(new EbayImportLease(EbayImportLease.ID, "other-instance", Instant.now().minusSeconds(1)));
+
+        assertThat(importService.acquireLease()).isTrue();
+        assertThat(importService.acquireLease()).isTrue();
+        assertThat(leaseRepository.findById(EbayImportLease.ID).orElseThrow().getOwner()).isNotEqualTo("other-instance");
+    }
+
+    private static EbayItem item(String itemId, String title, String price, String category) {
+        EbayItem item = new EbayItem();
+        item.setItemId(itemId);
+        item.setTitle(title);
+        if (price != null) {
+            EbayPrice ebayPrice = new EbayPrice();
+            ebayPrice.setValue(price);
+            ebayPrice.setCurrency("USD");
+            item.setPrice(ebayPrice);
+        }
+        if (category != null) {
+            EbayCategory ebayCategory = new EbayCategory();
+            ebayCategory.setCategoryName(category);
+            item.setCategories(List.of(ebayCategory));
+        }
+        return item;
+    }
+}
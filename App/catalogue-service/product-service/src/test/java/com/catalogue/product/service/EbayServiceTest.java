@@ -0,0 +1,129 @@
+package com.catalogue.product.service;
+
+import com.catalogue.product.config.EbayConfig;
+import com.catalogue.product.dto.ebay.EbaySearchResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the eBay search result cache
+ */
+class EbayServiceTest {
+
+    private final AtomicInteger searchCalls = new AtomicInteger();
+    private volatile HttpStatus searchStatus = HttpStatus.OK;
+
+    private EbayService ebayService;
+
+    @BeforeEach
+    void setUp() {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    searchCalls.incrementAndGet();
+                    return Mono.delay(Duration.ofMillis(100))
+                            .map(tick -> ClientResponse.create(searchStatus)
+                                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                    .body("{\"total\":1,\"itemSummaries\":[{\"itemId\":\"v1|1|0\",\"title\":\"Laptop\"}]}")
+                                    .build());
+                })
+                .build();
+
+        EbayTokenProvider tokenProvider = mock(EbayTokenProvider.class);
+        when(tokenProvider.accessToken()).thenReturn(Mono.just("token"));
+
+        ebayService = new EbayService(webClient, new EbayConfig(), tokenProvider, new SimpleMeterRegistry());
+        ebayService.initSearchCache();
+    }
+
+    @Test
+    void testSearchProducts_ConcurrentIdenticalSearchesCoalesce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<CompletableFuture<EbaySearchResponse>> responses = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                responses.add(CompletableFuture.supplyAsync(() -> ebayService.searchProducts("laptop", 10).block(), executor));
+            }
+            for (CompletableFuture<EbaySearchResponse> response : responses) {
+                assertThat(response.get().getItemSummaries()).hasSize(1);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(searchCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testSearchProducts_CachedPerQueryAndLimit() {
+        ebayService.searchProducts("laptop", 10).block();
+        ebayService.searchProducts(" Laptop ", 10).block();
+        ebayService.searchProducts("laptop", null).block();
+        assertThat(searchCalls.get()).isEqualTo(1);
+
+        ebayService.searchProducts("laptop", 20).block();
+        ebayService.searchProducts("phone", 10).block();
+        assertThat(searchCalls.get()).isEqualTo(3);
+    }
+
+    @Test
+    void testSearchProducts_DoesNotCallEbayUntilSubscribed() {
+        Mono<EbaySearchResponse> response = ebayService.searchProducts("laptop", 10);
+        assertThat(searchCalls.get()).isZero();
+
+        assertThat(response.block().getItemSummaries()).hasSize(1);
+        assertThat(searchCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testWarmFeaturedProducts() {
+        ebayService.warmFeaturedProducts();
+        ebayService.getFeaturedProducts().block();
+        ebayService.getFeaturedProducts().block();
+        assertThat(searchCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testSearchProductsUncached_BypassesCache() {
+        ebayService.searchProducts("laptop", 10).block();
+
+        assertThat(ebayService.searchProductsUncached("laptop", 10, 0).block().getItemSummaries()).hasSize(1);
+        ebayService.searchProductsUncached("laptop", 10, 0).block();
+        assertThat(searchCalls.get()).isEqualTo(3);
+        // The cached entry is left as it was
+        ebayService.searchProducts("laptop", 10).block();
+        assertThat(searchCalls.get()).isEqualTo(3);
+    }
+
+    @Test
+    void testSearchProducts_FailureIsNotCached() {
+        searchStatus = HttpStatus.SERVICE_UNAVAILABLE;
+        assertThatThrownBy(() -> ebayService.searchProducts("laptop", 10).block())
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Failed to search eBay products");
+
+        searchStatus = HttpStatus.OK;
+        assertThat(ebayService.searchProducts("laptop", 10).block().getItemSummaries()).hasSize(1);
+        assertThat(searchCalls.get()).isEqualTo(2);
+    }
+
+}
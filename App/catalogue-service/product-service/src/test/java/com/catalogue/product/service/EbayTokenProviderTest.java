@@ -0,0 +1,163 @@
+package com.catalogue.product.service;
+
+import com.catalogue.product.config.EbayConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the single-flight eBay OAuth token holder
+ */
+class EbayTokenProviderTest {
+
+    private final AtomicInteger oauthCalls = new AtomicInteger();
+    private volatile HttpStatus oauthStatus = HttpStatus.OK;
+    private volatile long expiresIn = 7200;
+    private final List<ScheduledFuture<?>> scheduledRefreshes = new ArrayList<>();
+
+    private TaskScheduler taskScheduler;
+    private SimpleMeterRegistry meterRegistry;
+    private EbayTokenProvider tokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    int call = oauthCalls.incrementAndGet();
+                    return Mono.delay(Duration.ofMillis(100))
+                            .map(tick -> ClientResponse.create(oauthStatus)
+                                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                    .body("{\"access_token\":\"token-" + call + "\",\"expires_in\":" + expiresIn + ",\"token_type\":\"Bearer\"}")
+                                    .build());
+                })
+                .build();
+
+        EbayConfig ebayConfig = new EbayConfig();
+        ebayConfig.setClientId("client");
+        ebayConfig.setClientSecret("secret");
+
+        taskScheduler = mock(TaskScheduler.class);
+        when(taskScheduler.schedule(any(Runnable.class), any(Instant.class))).thenAnswer(invocation -> {
+            ScheduledFuture<?> future = mock(ScheduledFuture.class);
+            scheduledRefreshes.add(future);
+            return future;
+        });
+        meterRegistry = new SimpleMeterRegistry();
+        tokenProvider = new EbayTokenProvider(webClient, ebayConfig, taskScheduler, meterRegistry);
+    }
+
+    @Test
+    void testGetAccessToken_ConcurrentCallersShareOneRefresh() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<CompletableFuture<String>> tokens = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                tokens.add(CompletableFuture.supplyAsync(tokenProvider::getAccessToken, executor));
+            }
+            for (CompletableFuture<String> token : tokens) {
+                assertThat(token.get()).isEqualTo("token-1");
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(oauthCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testGetAccessToken_ValidTokenIsReused() {
+        tokenProvider.getAccessToken();
+        tokenProvider.getAccessToken();
+        assertThat(tokenProvider.accessToken().block()).isEqualTo("token-1");
+
+        assertThat(oauthCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void testGetAccessToken_SchedulesProactiveRefresh() {
+        tokenProvider.getAccessToken();
+
+        verify(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        assertThat(meterRegistry.get("ebay.oauth.refresh").tag("outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testBackgroundRefresh_ReplacesTokenWithoutBlockingReaders() {
+        tokenProvider.getAccessToken();
+        tokenProvider.refresh().join();
+
+        assertThat(tokenProvider.getAccessToken()).isEqualTo("token-2");
+    }
+
+    @Test
+    void testOnDemandRefreshes_LeaveOnePendingBackgroundRefresh() {
+        tokenProvider.getAccessToken();
+        for (int i = 0; i < 5; i++) {
+            tokenProvider.refresh().join();
+        }
+
+        assertThat(scheduledRefreshes).hasSize(6);
+        for (ScheduledFuture<?> replaced : scheduledRefreshes.subList(0, 5)) {
+            verify(replaced).cancel(false);
+        }
+        verify(scheduledRefreshes.get(5), never()).cancel(anyBoolean());
+    }
+
+    @Test
+    void testShortLivedToken_RefreshIsNotScheduledAfterExpiry() {
+        expiresIn = 12;
+
+        Instant before = Instant.now();
+        tokenProvider.getAccessToken();
+
+        ArgumentCaptor<Instant> refreshAt = ArgumentCaptor.forClass(Instant.class);
+        verify(taskScheduler).schedule(any(Runnable.class), refreshAt.capture());
+        // 12 s tokens are used for 6 s, so the 10 s floor must not push the refresh past expiry
+        assertThat(refreshAt.getValue()).isBefore(before.plusSeconds(7));
+    }
+
+    @Test
+    void testUsableLifetime_MarginShrinksForShortLivedTokens() {
+        assertThat(EbayTokenProvider.usableLifetimeSeconds(7200)).isEqualTo(6900);
+        assertThat(EbayTokenProvider.usableLifetimeSeconds(300)).isEqualTo(150);
+        assertThat(EbayTokenProvider.usableLifetimeSeconds(60)).isEqualTo(30);
+        assertThat(EbayTokenProvider.usableLifetimeSeconds(0)).isEqualTo(1);
+    }
+
+    @Test
+    void testGetAccessToken_Failure() {
+        oauthStatus = HttpStatus.UNAUTHORIZED;
+
+        assertThatThrownBy(tokenProvider::getAccessToken)
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Failed to authenticate");
+        assertThat(meterRegistry.get("ebay.oauth.refresh").tag("outcome", "failure").timer().count()).isEqualTo(1);
+
+        oauthStatus = HttpStatus.OK;
+        assertThat(tokenProvider.getAccessToken()).isEqualTo("token-2");
+    }
+}
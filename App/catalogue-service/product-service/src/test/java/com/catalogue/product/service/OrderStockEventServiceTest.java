@@ -0,0 +1,145 @@
+package com.catalogue.product.service;
+
+import com.catalogue.product.config.CacheConfig;
+import com.catalogue.product.dto.OrderStockEventDTO;
+import com.catalogue.product.dto.OrderStockEventResult;
+import com.catalogue.product.dto.StockAdjustmentDTO;
+import com.catalogue.product.entity.Product;
+import com.catalogue.product.mapper.ProductMapperImpl;
+import com.catalogue.product.repository.ProcessedStockEventRepository;
+import com.catalogue.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for applying outbox order events to stock
+ */
+@DataJpaTest
+@Import({OrderStockEventService.class, ProductService.class, ProductMapperImpl.class, CacheConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderStockEventServiceTest {
+
+    @Autowired
+    private OrderStockEventService orderStockEventService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProcessedStockEventRepository processedStockEventRepository;
+
+    private Long mouseId;
+    private Long laptopId;
+
+    @BeforeEach
+    void setUp() {
+        processedStockEventRepository.deleteAll();
+        productRepository.deleteAll();
+        mouseId = productRepository.save(product("Wireless Mouse", 5)).getId();
+        laptopId = productRepository.save(product("Laptop", 1)).getId();
+    }
+
+    @Test
+    void testApply_CreatedThenCancelled() {
+        List<OrderStockEventResult> results = orderStockEventService.apply(List.of(
+                event(1L, OrderStockEventDTO.Type.ORDER_CREATED, -2),
+                event(1L, OrderStockEventDTO.Type.ORDER_CANCELLED, 2),
+                event(2L, OrderStockEventDTO.Type.ORDER_CREATED, -1)));
+
+        assertThat(results).extracting(OrderStockEventResult::getSuccess).containsExactly(true, true, true);
+        assertThat(stockOf(mouseId)).isEqualTo(4);
+    }
+
+    @Test
+    void testApply_RedeliveredEventIsAppliedOnce() {
+        OrderStockEventDTO created = event(1L, OrderStockEventDTO.Type.ORDER_CREATED, -2);
+
+        orderStockEventService.apply(List.of(created));
+        List<OrderStockEventResult> redelivered = orderStockEventService.apply(List.of(created));
+
+        assertThat(redelivered.get(0).getSuccess()).isTrue();
+        assertThat(stockOf(mouseId)).isEqualTo(3);
+        assertThat(processedStockEventRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testApply_RejectedReservationIsRecorded() {
+        OrderStockEventDTO created = OrderStockEventDTO.builder()
+                .eventId(UUID.randomUUID().toString())
+                .orderId(1L)
+                .type(OrderStockEventDTO.Type.ORDER_CREATED)
+                .adjustments(List.of(new StockAdjustmentDTO(mouseId, -1), new StockAdjustmentDTO(laptopId, -3)))
+                .build();
+
+        OrderStockEventResult result = orderStockEventService.apply(List.of(created)).get(0);
+
+        assertThat(result.getSuccess()).isFalse();
+        assertThat(result.getMessage()).contains("Insufficient stock");
+        assertThat(stockOf(mouseId)).isEqualTo(5);
+        // The redelivery gets the same rejection, even once stock is back
+        Product laptop = productRepository.findById(laptopId).orElseThrow();
+        laptop.setStockQuantity(6);
+        productRepository.save(laptop);
+        assertThat(orderStockEventService.apply(List.of(created)).get(0).getSuccess()).isFalse();
+        assertThat(stockOf(laptopId)).isEqualTo(6);
+    }
+
+    @Test
+    void testApply_CancellingRejectedOrderReleasesNothing() {
+        orderStockEventService.apply(List.of(event(1L, OrderStockEventDTO.Type.ORDER_CREATED, -10)));
+
+        OrderStockEventResult cancelled = orderStockEventService.apply(List.of(
+                event(1L, OrderStockEventDTO.Type.ORDER_CANCELLED, 10))).get(0);
+
+        assertThat(cancelled.getSuccess()).isTrue();
+        assertThat(stockOf(mouseId)).isEqualTo(5);
+    }
+
+    @Test
+    void testApply_CancellationAheadOfReservationSupersedesIt() {
+        OrderStockEventResult cancelled = orderStockEventService.apply(List.of(
+                event(1L, OrderStockEventDTO.Type.ORDER_CANCELLED, 2))).get(0);
+        OrderStockEventResult created = orderStockEventService.apply(List.of(
+                event(1L, OrderStockEventDTO.Type.ORDER_CREATED, -2))).get(0);
+
+        assertThat(cancelled.getSuccess()).isTrue();
+        assertThat(created.getSuccess()).isTrue();
+        assertThat(created.getMessage()).contains("cancelled before");
+        // Neither released stock that was never reserved nor reserved stock for a cancelled order
+        assertThat(stockOf(mouseId)).isEqualTo(5);
+    }
+
+    private OrderStockEventDTO event(Long orderId, OrderStockEventDTO.Type type, int mouseDelta) {
+        return OrderStockEventDTO.builder()
+                .eventId(UUID.randomUUID().toString())
+                .orderId(orderId)
+                .type(type)
+                .adjustments(List.of(new StockAdjustmentDTO(mouseId, mouseDelta)))
+                .build();
+    }
+
+    private Integer stockOf(Long id) {
+        return productRepository.findById(id).orElseThrow().getStockQuantity();
+    }
+
+    private static Product product(String nom, int stock) {
+        return Product.builder()
+                .nom(nom)
+                .prix(new BigDecimal("10.00"))
+                .stockQuantity(stock)
+                .disponible(true)
+                .categoryName("Electronics")
+                .build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.catalogue.product.service;
+
+import com.catalogue.product.dto.CursorPage;
+import com.catalogue.product.dto.ProductDTO;
+import com.catalogue.product.entity.Product;
+import com.catalogue.product.event.ProductChangedEvent;
+import com.catalogue.product.mapper.ProductMapperImpl;
+import com.catalogue.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for relevance paging and the cross-instance catch-up of the in-memory indexes
+ */
+class ProductSearchServiceTest {
+
+    private ProductRepository productRepository;
+    private ProductSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        when(productRepository.findAllById(anyIterable())).thenReturn(List.of());
+        searchService = new ProductSearchService(productRepository, new ProductMapperImpl());
+    }
+
+    @Test
+    void testSearch_PagingStopsAtOffsetCap() {
+        for (long id = 1; id <= 10_200; id++) {
+            searchService.onProductChanged(new ProductChangedEvent(ProductChangedEvent.Type.CREATED, id, ProductDTO.builder()
+                    .id(id)
+                    .nom("Mouse " + id)
+                    .prix(BigDecimal.TEN)
+                    .categoryName("Electronics")
+                    .build()));
+        }
+
+        Long cursor = 9_800L;
+        int pages = 0;
+        while (cursor != null) {
+            assertThat(cursor).isLessThanOrEqualTo(10_000L);
+            CursorPage<ProductDTO> page = searchService.search("mouse", cursor, 100);
+            cursor = page.getNextCursor();
+            assertThat(++pages).isLessThanOrEqualTo(3);
+        }
+        assertThat(searchService.search("mouse", 50_000L, 100).getNextCursor()).isNull();
+    }
+
+    @Test
+    void testCatchUp_AppliesWritesOfOtherInstances() {
+        Product keyboard = product(1L, "Mechanical Keyboard");
+        Product mouse = product(2L, "Wireless Mouse");
+        when(productRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(keyboard));
+        searchService.rebuildIndex();
+
+        // Another instance adds the mouse and deletes the keyboard
+        when(productRepository.findByUpdatedAtGreaterThanEqual(any())).thenReturn(List.of(mouse));
+        when(productRepository.count()).thenReturn(1L);
+        when(productRepository.findAllIds()).thenReturn(List.of(2L));
+        searchService.catchUp();
+
+        assertThat(searchService.suggest("wire", 10)).singleElement()
+                .satisfies(suggestion -> assertThat(suggestion.getId()).isEqualTo(2L));
+        assertThat(searchService.suggest("mech", 10)).isEmpty();
+    }
+
+    private static Product product(Long id, String nom) {
+        return Product.builder()
+                .id(id)
+                .nom(nom)
+                .prix(BigDecimal.TEN)
+                .stockQuantity(1)
+                .disponible(true)
+                .categoryName("Electronics")
+                .build();
+    }
+}
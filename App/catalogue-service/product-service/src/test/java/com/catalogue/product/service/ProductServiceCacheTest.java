@@ -0,0 +1,162 @@
+package com.catalogue.product.service;
+
+import com.catalogue.product.config.CacheConfig;
+import com.catalogue.product.dto.ProductDTO;
+import com.catalogue.product.dto.StockAdjustmentDTO;
+import com.catalogue.product.entity.Product;
+import com.catalogue.product.mapper.ProductMapper;
+import com.catalogue.product.mapper.ProductMapperImpl;
+import com.catalogue.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for the read-through product cache and its invalidation on writes
+ */
+@DataJpaTest
+@Import({ProductService.class, ProductMapperImpl.class, CacheConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductServiceCacheTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @SpyBean
+    private ProductMapper productMapper;
+
+    private Cache cache;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        cache.clear();
+        productRepository.deleteAll();
+        productId = productRepository.save(Product.builder()
+                .nom("Wireless Mouse")
+                .prix(new BigDecimal("79.99"))
+                .stockQuantity(10)
+                .disponible(true)
+                .categoryName("Electronics")
+                .build()).getId();
+    }
+
+    @Test
+    void testGetProductById_IsCached() {
+        ProductDTO first = productService.getProductById(productId);
+        ProductDTO second = productService.getProductById(productId);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(cache.get(productId)).isNotNull();
+        verify(productMapper, times(1)).toDTO(any(Product.class));
+    }
+
+    @Test
+    void testGetProductById_CallerChangesDoNotLeakIntoCache() {
+        ProductDTO first = productService.getProductById(productId);
+        first.setStockQuantity(0);
+        first.setNom("Changed by caller");
+
+        ProductDTO second = productService.getProductById(productId);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getStockQuantity()).isEqualTo(10);
+        assertThat(second.getNom()).isEqualTo("Wireless Mouse");
+    }
+
+    @Test
+    void testUpdateStock_EvictsEntry() {
+        productService.getProductById(productId);
+        productService.updateStock(productId, 3);
+
+        assertThat(cache.get(productId)).isNull();
+        assertThat(productService.getProductById(productId).getStockQuantity()).isEqualTo(3);
+    }
+
+    @Test
+    void testUpdateProduct_EvictsEntry() {
+        ProductDTO product = productService.getProductById(productId);
+        productService.updateProduct(productId, ProductDTO.builder()
+                .id(productId)
+                .nom("Silent Mouse")
+                .prix(product.getPrix())
+                .stockQuantity(product.getStockQuantity())
+                .disponible(true)
+                .categoryName("Electronics")
+                .build());
+
+        assertThat(productService.getProductById(productId).getNom()).isEqualTo("Silent Mouse");
+    }
+
+    @Test
+    void testReserveStock_EvictsEntryAfterCommit() {
+        productService.getProductById(productId);
+        productService.reserveStock(List.of(new StockAdjustmentDTO(productId, -4)));
+
+        assertThat(productService.getProductById(productId).getStockQuantity()).isEqualTo(6);
+    }
+
+    @Test
+    void testDeleteProduct_EvictsEntry() {
+        productService.getProductById(productId);
+        productService.deleteProduct(productId);
+
+        assertThat(cache.get(productId)).isNull();
+    }
+
+    @Test
+    void testReserveStock_ReadInFlightDoesNotRecacheOldValue() throws Exception {
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            // The reader has loaded the old row: hold it until the reservation has committed
+            loaded.countDown();
+            assertThat(resume.await(10, TimeUnit.SECONDS)).isTrue();
+            return invocation.callRealMethod();
+        }).when(productMapper).toDTO(any(Product.class));
+
+        CompletableFuture<ProductDTO> read = CompletableFuture.supplyAsync(() -> productService.getProductById(productId));
+        assertThat(loaded.await(10, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Void> reservation = CompletableFuture.runAsync(
+                () -> productService.reserveStock(List.of(new StockAdjustmentDTO(productId, -4))));
+        while (productRepository.findStockQuantityById(productId).orElseThrow() != 6) {
+            Thread.sleep(10);
+        }
+        resume.countDown();
+
+        assertThat(read.get(10, TimeUnit.SECONDS).getStockQuantity()).isEqualTo(10);
+        reservation.get(10, TimeUnit.SECONDS);
+
+        assertThat(cache.get(productId)).isNull();
+        reset(productMapper);
+        assertThat(productService.getProductById(productId).getStockQuantity()).isEqualTo(6);
+    }
+}
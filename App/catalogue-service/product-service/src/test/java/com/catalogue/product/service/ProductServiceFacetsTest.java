@@ -0,0 +1,66 @@
+package com.catalogue.product.service;
+
+import com.catalogue.product.config.CacheConfig;
+import com.catalogue.product.dto.ProductFacetsDTO;
+import com.catalogue.product.entity.Product;
+import com.catalogue.product.mapper.ProductMapperImpl;
+import com.catalogue.product.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the catalogue facet aggregations
+ */
+@DataJpaTest
+@Import({ProductService.class, ProductMapperImpl.class, CacheConfig.class})
+class ProductServiceFacetsTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void testGetFacets() {
+        productRepository.save(product("Mouse", "19.99", true, "Electronics"));
+        productRepository.save(product("Hub", "45.50", true, "Electronics"));
+        productRepository.save(product("Laptop", "1299.99", false, "Computers"));
+        productRepository.save(product("Desktop", "2999.00", true, "Computers"));
+        productRepository.save(product("Case", "25.00", true, "Mobile Phones"));
+
+        ProductFacetsDTO facets = productService.getFacets();
+
+        assertThat(facets.getTotal()).isEqualTo(5);
+        assertThat(facets.getCategories()).containsExactly(
+                Map.entry("Computers", 2L),
+                Map.entry("Electronics", 2L),
+                Map.entry("Mobile Phones", 1L));
+        assertThat(facets.getAvailable()).isEqualTo(4);
+        assertThat(facets.getUnavailable()).isEqualTo(1);
+
+        assertThat(facets.getPriceBuckets()).hasSize(8);
+        assertThat(facets.getPriceBuckets().get(0).getCount()).isEqualTo(1);
+        assertThat(facets.getPriceBuckets().get(1).getCount()).isEqualTo(2);
+        assertThat(facets.getPriceBuckets().get(6).getCount()).isEqualTo(1);
+        assertThat(facets.getPriceBuckets().get(7).getMax()).isNull();
+        assertThat(facets.getPriceBuckets().get(7).getCount()).isEqualTo(1);
+    }
+
+    private Product product(String nom, String prix, boolean disponible, String categoryName) {
+        return Product.builder()
+                .nom(nom)
+                .prix(new BigDecimal(prix))
+                .stockQuantity(disponible ? 5 : 0)
+                .disponible(disponible)
+                .categoryName(categoryName)
+                .build();
+    }
+}
@@ -0,0 +1,109 @@
+package com.catalogue.product.service;
+
+import com.catalogue.product.config.CacheConfig;
+import com.catalogue.product.dto.CursorPage;
+import com.catalogue.product.dto.ProductDTO;
+import com.catalogue.product.entity.Product;
+import com.catalogue.product.mapper.ProductMapperImpl;
+import com.catalogue.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for keyset pagination and streaming of product listings
+ */
+@DataJpaTest
+@Import({ProductService.class, ProductMapperImpl.class, CacheConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductServicePaginationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        for (int i = 1; i <= 7; i++) {
+            productRepository.save(Product.builder()
+                    .nom("Product " + i)
+                    .prix(BigDecimal.valueOf(i * 10L))
+                    .stockQuantity(i % 2)
+                    .disponible(i % 2 == 1)
+                    .categoryName(i <= 4 ? "Electronics" : "Books")
+                    .build());
+        }
+    }
+
+    @Test
+    void testGetAllProducts_WalksEveryPageOnce() {
+        List<String> names = new ArrayList<>();
+        Long cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<ProductDTO> page = productService.getAllProducts(cursor, 3);
+            page.getItems().forEach(product -> names.add(product.getNom()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(names).containsExactly("Product 1", "Product 2", "Product 3", "Product 4",
+                "Product 5", "Product 6", "Product 7");
+    }
+
+    @Test
+    void testFilteredListings_ArePaginated() {
+        CursorPage<ProductDTO> electronics = productService.getProductsByCategoryName("Electronics", null, 3);
+        assertThat(electronics.getItems()).hasSize(3);
+        assertThat(electronics.getNextCursor()).isNotNull();
+        assertThat(productService.getProductsByCategoryName("Electronics", electronics.getNextCursor(), 3).getItems())
+                .extracting(ProductDTO::getNom)
+                .containsExactly("Product 4");
+
+        assertThat(productService.getAvailableProducts(null, 10).getItems()).hasSize(4);
+        assertThat(productService.getProductsByPriceRange(BigDecimal.valueOf(20), BigDecimal.valueOf(40), null, 10)
+                .getItems()).hasSize(3);
+    }
+
+    @Test
+    void testGetAllProducts_PageSizeIsCapped() {
+        List<Product> more = new ArrayList<>();
+        for (int i = 8; i <= ProductService.MAX_PAGE_SIZE + 10; i++) {
+            more.add(Product.builder()
+                    .nom("Product " + i)
+                    .prix(BigDecimal.TEN)
+                    .stockQuantity(1)
+                    .disponible(true)
+                    .categoryName("Books")
+                    .build());
+        }
+        productRepository.saveAll(more);
+
+        CursorPage<ProductDTO> page = productService.getAllProducts(null, 10_000);
+        assertThat(page.getItems()).hasSize(ProductService.MAX_PAGE_SIZE);
+        assertThat(page.getNextCursor()).isEqualTo(page.getItems().get(ProductService.MAX_PAGE_SIZE - 1).getId());
+        assertThat(productService.getAllProducts(page.getNextCursor(), 10_000).getItems()).hasSize(10);
+    }
+
+    @Test
+    void testStreamAllProducts() {
+        List<ProductDTO> streamed = new ArrayList<>();
+        productService.streamAllProducts(streamed::add);
+        assertThat(streamed).hasSize(7);
+        assertThat(streamed.get(0).getNom()).isEqualTo("Product 1");
+    }
+}
@@ -0,0 +1,115 @@
+package com.catalogue.product.service;
+
+import com.catalogue.product.config.CacheConfig;
+import com.catalogue.product.dto.StockAdjustmentDTO;
+import com.catalogue.product.dto.StockReservationResponse;
+import com.catalogue.product.entity.Product;
+import com.catalogue.product.mapper.ProductMapperImpl;
+import com.catalogue.product.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the atomic stock reservation against an in-memory H2 database
+ */
+@DataJpaTest
+@Import({ProductService.class, ProductMapperImpl.class, CacheConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductServiceStockReservationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Long mouseId;
+    private Long laptopId;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        mouseId = productRepository.save(product("Wireless Mouse", 5)).getId();
+        laptopId = productRepository.save(product("Laptop", 1)).getId();
+    }
+
+    @Test
+    void testReserveStock_AllItemsApplied() {
+        StockReservationResponse response = productService.reserveStock(List.of(
+                new StockAdjustmentDTO(mouseId, -2),
+                new StockAdjustmentDTO(laptopId, -1)));
+
+        assertThat(response.getSuccess()).isTrue();
+        assertThat(response.getResults()).hasSize(2);
+        assertThat(stockOf(mouseId)).isEqualTo(3);
+        assertThat(stockOf(laptopId)).isZero();
+        assertThat(productRepository.findById(laptopId).orElseThrow().getDisponible()).isFalse();
+    }
+
+    @Test
+    void testReserveStock_InsufficientStockRollsBackEverything() {
+        StockReservationResponse response = productService.reserveStock(List.of(
+                new StockAdjustmentDTO(mouseId, -2),
+                new StockAdjustmentDTO(laptopId, -3)));
+
+        assertThat(response.getSuccess()).isFalse();
+        assertThat(response.getResults())
+                .filteredOn(result -> !result.getApplied())
+                .extracting("productId")
+                .containsExactly(laptopId);
+        assertThat(stockOf(mouseId)).isEqualTo(5);
+        assertThat(stockOf(laptopId)).isEqualTo(1);
+    }
+
+    @Test
+    void testReserveStock_DuplicateItemsAreMerged() {
+        StockReservationResponse response = productService.reserveStock(List.of(
+                new StockAdjustmentDTO(mouseId, -3),
+                new StockAdjustmentDTO(mouseId, -3)));
+
+        assertThat(response.getSuccess()).isFalse();
+        assertThat(stockOf(mouseId)).isEqualTo(5);
+    }
+
+    @Test
+    void testReserveStock_ReleaseRestoresAvailability() {
+        productService.reserveStock(List.of(new StockAdjustmentDTO(laptopId, -1)));
+        StockReservationResponse response = productService.reserveStock(List.of(new StockAdjustmentDTO(laptopId, 1)));
+
+        assertThat(response.getSuccess()).isTrue();
+        assertThat(stockOf(laptopId)).isEqualTo(1);
+        assertThat(productRepository.findById(laptopId).orElseThrow().getDisponible()).isTrue();
+    }
+
+    @Test
+    void testReserveStock_UnknownProduct() {
+        StockReservationResponse response = productService.reserveStock(List.of(new StockAdjustmentDTO(-1L, -1)));
+
+        assertThat(response.getSuccess()).isFalse();
+        assertThat(response.getResults().get(0).getMessage()).contains("not found");
+    }
+
+    private Integer stockOf(Long id) {
+        return productRepository.findStockQuantityById(id).orElseThrow();
+    }
+
+    private Product product(String nom, int stock) {
+        return Product.builder()
+                .nom(nom)
+                .prix(new BigDecimal("10.00"))
+                .stockQuantity(stock)
+                .disponible(stock > 0)
+                .categoryName("Electronics")
+                .build();
+    }
+}
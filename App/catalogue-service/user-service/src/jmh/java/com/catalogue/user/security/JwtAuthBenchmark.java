@@ -0,0 +1,83 @@
+package com.catalogue.user.security;
+
+import com.catalogue.user.entity.User;
+import com.catalogue.user.entity.UserRole;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.SecretKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token verification cost in JwtAuthenticationFilter: one parseAndValidate on the
+ * shared key and parser, against the previous validateJwtToken + getUserNameFromJwtToken pair
+ * that decoded the secret, built a key and a parser and verified the token twice. (The user
+ * lookup that used to follow is gone as well, but needs a database to be measured.)
+ *
+ * Run with: mvn -P benchmark -pl user-service test-compile exec:exec
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthBenchmark {
+
+    private static final String SECRET = "mySecretKeyForJWTAuthenticationThatIsAtLeast256BitsLong12345";
+
+    private final JwtUtils jwtUtils = new JwtUtils(SECRET, 86400000);
+    private final String token = jwtUtils.generateToken(User.builder()
+            .id(1L)
+            .email("john.doe@example.com")
+            .role(UserRole.CLIENT)
+            .active(true)
+            .build());
+
+    @Benchmark
+    public AuthenticatedUser parseAndValidate() {
+        return jwtUtils.parseAndValidate(token).flatMap(jwtUtils::toAuthenticatedUser).orElseThrow();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public AuthenticatedUser parseAndValidateContended() {
+        return parseAndValidate();
+    }
+
+    @Benchmark
+    public String validateThenParse() {
+        Jwts.parser().verifyWith(signingKey()).build().parseSignedClaims(token);
+        return Jwts.parser().verifyWith(signingKey()).build().parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String validateThenParseContended() {
+        return validateThenParse();
+    }
+
+    private static SecretKey signingKey() {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
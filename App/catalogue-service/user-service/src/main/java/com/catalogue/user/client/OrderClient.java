@@ -2,8 +2,10 @@ package com.catalogue.user.client;
 
 import com.catalogue.user.dto.OrderDTO;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
 
@@ -13,7 +15,15 @@ import java.util.List;
 @FeignClient(name = "order-service")
 public interface OrderClient {
 
+    String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * One page of the user's orders, newest first.
+     * The X-Next-Cursor response header holds the cursor of the next page.
+     */
     @GetMapping("/api/orders/user/{userId}")
-    List<OrderDTO> getOrdersByUserId(@PathVariable("userId") Long userId);
+    ResponseEntity<List<OrderDTO>> getOrdersByUserId(@PathVariable("userId") Long userId,
+                                                     @RequestParam(value = "after", required = false) String after,
+                                                     @RequestParam(value = "size", required = false) Integer size);
 }
 
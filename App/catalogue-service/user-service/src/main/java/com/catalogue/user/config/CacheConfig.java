@@ -0,0 +1,41 @@
+package com.catalogue.user.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Cache Configuration for User Service
+ *
+ * User snapshots are cached twice, by id and by email, with the same size and TTL bounds.
+ * UserSnapshotService reads the caches directly, so a cache hit never opens a transaction, and
+ * evictions made inside a write transaction are applied after commit.
+ * Hit/miss/eviction counts are published by actuator as cache.* metrics.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USERS_BY_ID_CACHE = "usersById";
+    public static final String USERS_BY_EMAIL_CACHE = "usersByEmail";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${user.cache.maximum-size:10000}") long maximumSize,
+            @Value("${user.cache.ttl:10m}") Duration ttl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(USERS_BY_ID_CACHE, USERS_BY_EMAIL_CACHE);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
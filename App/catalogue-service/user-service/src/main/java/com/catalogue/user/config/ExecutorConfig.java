@@ -0,0 +1,54 @@
+package com.catalogue.user.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Bounded pool for BCrypt hashing and verification (login, signup), kept apart from the
+     * Tomcat workers so a login burst cannot take every request thread. When the pool and its
+     * queue are full the task is rejected and the caller answers 429 instead of piling up work.
+     * @param size threads, 0 for half the available processors
+     */
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashingExecutor(
+            @Value("${user.password.pool.size:0}") int size,
+            @Value("${user.password.pool.queue-capacity:64}") int queueCapacity) {
+        int threads = size > 0 ? size : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hashing-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    /**
+     * Bounded pool for the signup insert and token issue that follow hashing, so the hashing
+     * threads go back to BCrypt instead of waiting on the database. Sized like the connection
+     * pool; a full queue is rejected and the caller answers 429.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor accountWriteExecutor(
+            @Value("${user.account.pool.size:4}") int size,
+            @Value("${user.account.pool.queue-capacity:64}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(size);
+        executor.setMaxPoolSize(size);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("account-write-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+}
@@ -1,15 +1,24 @@
 package com.catalogue.user.controller;
 
+import com.catalogue.user.dto.UserSnapshot;
 import com.catalogue.user.dto.auth.AuthResponse;
 import com.catalogue.user.dto.auth.LoginRequest;
 import com.catalogue.user.dto.auth.SignupRequest;
 import com.catalogue.user.entity.User;
 import com.catalogue.user.entity.UserRole;
 import com.catalogue.user.repository.UserRepository;
+import com.catalogue.user.security.AuthenticatedUser;
 import com.catalogue.user.security.JwtUtils;
+import com.catalogue.user.security.PasswordHashingService;
+import com.catalogue.user.security.UserAccount;
+import com.catalogue.user.security.UserRevocationCache;
+import com.catalogue.user.service.UserSnapshotService;
+import io.jsonwebtoken.Claims;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -20,6 +29,12 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
@@ -30,86 +45,119 @@ public class AuthController {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtils jwtUtils;
-
+    private final UserSnapshotService userSnapshotService;
+    private final PasswordHashingService passwordHashingService;
+    private final UserRevocationCache revocationCache;
+    private final Executor accountWriteExecutor;
+
+    /**
+     * Password verification runs on the bounded hashing pool and the request thread is released
+     * while it waits; a saturated pool answers 429. The response is built from the principal
+     * loaded for the verification, without reading the user again.
+     */
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
         log.info("Login attempt for user: {}", loginRequest.getEmail());
 
+        CompletableFuture<Authentication> authentication;
         try {
-            Authentication authentication = authenticationManager.authenticate(
+            authentication = passwordHashingService.submit("login", () -> authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
                             loginRequest.getEmail(),
-                            loginRequest.getPassword()));
-
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-            String jwt = jwtUtils.generateJwtToken(authentication);
+                            loginRequest.getPassword())));
+        } catch (TaskRejectedException e) {
+            return CompletableFuture.completedFuture(tooManyRequests());
+        }
 
-            User user = userRepository.findByEmail(loginRequest.getEmail())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
+        return authentication.<ResponseEntity<?>>thenApply(auth -> {
+            UserSnapshot user = ((UserAccount) auth.getPrincipal()).getSnapshot();
+            String jwt = jwtUtils.generateToken(user);
 
             log.info("User {} logged in successfully", loginRequest.getEmail());
 
             return ResponseEntity.ok(new AuthResponse(
                     jwt,
-                    user.getId(),
-                    user.getEmail(),
-                    user.getFirstName(),
-                    user.getLastName(),
-                    user.getRole()));
-
-        } catch (BadCredentialsException e) {
-            log.warn("Login failed for user: {} - Invalid credentials", loginRequest.getEmail());
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(AuthResponse.builder()
-                            .message("Invalid email or password")
-                            .build());
-        } catch (Exception e) {
-            log.error("Login failed for user: {} - {}", loginRequest.getEmail(), e.getMessage());
+                    user.id(),
+                    user.email(),
+                    user.firstName(),
+                    user.lastName(),
+                    user.role()));
+        }).exceptionally(e -> {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof BadCredentialsException) {
+                log.warn("Login failed for user: {} - Invalid credentials", loginRequest.getEmail());
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                        .body(AuthResponse.builder()
+                                .message("Invalid email or password")
+                                .build());
+            }
+            log.error("Login failed for user: {} - {}", loginRequest.getEmail(), cause.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(AuthResponse.builder()
                             .message("An error occurred during login")
                             .build());
-        }
+        });
     }
 
+    /**
+     * Hashing runs on the bounded hashing pool and the insert on the account write pool, so
+     * neither a request thread nor a hashing thread waits on the database; either pool
+     * saturated answers 429.
+     */
     @PostMapping("/signup")
-    public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signupRequest) {
+    public CompletableFuture<ResponseEntity<?>> registerUser(@Valid @RequestBody SignupRequest signupRequest) {
         log.info("Registration attempt for user: {}", signupRequest.getEmail());
 
         // Check if email already exists
         if (userRepository.existsByEmail(signupRequest.getEmail())) {
             log.warn("Registration failed - Email already exists: {}", signupRequest.getEmail());
-            return ResponseEntity.badRequest()
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
                     .body(AuthResponse.builder()
                             .message("Email is already registered")
-                            .build());
+                            .build()));
         }
 
-        // Create new user
-        User user = User.builder()
-                .firstName(signupRequest.getFirstName())
-                .lastName(signupRequest.getLastName())
-                .email(signupRequest.getEmail())
-                .password(passwordEncoder.encode(signupRequest.getPassword()))
-                .phoneNumber(signupRequest.getPhoneNumber())
-                .address(signupRequest.getAddress())
-                .role(UserRole.CLIENT) // Default role for new users
-                .active(true)
-                .build();
-
-        User savedUser = userRepository.save(user);
-        log.info("User registered successfully: {}", savedUser.getEmail());
-
-        // Auto-login after registration
-        String jwt = jwtUtils.generateTokenFromUsername(savedUser.getEmail());
-
-        return ResponseEntity.status(HttpStatus.CREATED).body(new AuthResponse(
-                jwt,
-                savedUser.getId(),
-                savedUser.getEmail(),
-                savedUser.getFirstName(),
-                savedUser.getLastName(),
-                savedUser.getRole()));
+        CompletableFuture<String> encodedPassword;
+        try {
+            encodedPassword = passwordHashingService.submit("signup",
+                    () -> passwordEncoder.encode(signupRequest.getPassword()));
+        } catch (TaskRejectedException e) {
+            return CompletableFuture.completedFuture(tooManyRequests());
+        }
+
+        return encodedPassword.<ResponseEntity<?>>thenApplyAsync(password -> {
+            // Create new user
+            User user = User.builder()
+                    .firstName(signupRequest.getFirstName())
+                    .lastName(signupRequest.getLastName())
+                    .email(signupRequest.getEmail())
+                    .password(password)
+                    .phoneNumber(signupRequest.getPhoneNumber())
+                    .address(signupRequest.getAddress())
+                    .role(UserRole.CLIENT) // Default role for new users
+                    .active(true)
+                    .build();
+
+            User savedUser = userRepository.save(user);
+            log.info("User registered successfully: {}", savedUser.getEmail());
+
+            // Auto-login after registration
+            String jwt = jwtUtils.generateToken(savedUser);
+
+            return ResponseEntity.status(HttpStatus.CREATED).body(new AuthResponse(
+                    jwt,
+                    savedUser.getId(),
+                    savedUser.getEmail(),
+                    savedUser.getFirstName(),
+                    savedUser.getLastName(),
+                    savedUser.getRole()));
+        }, accountWriteExecutor).exceptionally(e -> {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RejectedExecutionException) {
+                return tooManyRequests();
+            }
+            throw e instanceof CompletionException completion ? completion : new CompletionException(cause);
+        });
     }
 
     @PostMapping("/logout")
@@ -129,16 +177,17 @@ public class AuthController {
                             .build());
         }
 
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        Optional<UserSnapshot> snapshot = authentication.getPrincipal() instanceof AuthenticatedUser principal
+                ? userSnapshotService.findById(principal.id())
+                : userSnapshotService.findByEmail(authentication.getName());
+        UserSnapshot user = snapshot.orElseThrow(() -> new RuntimeException("User not found"));
 
         return ResponseEntity.ok(AuthResponse.builder()
-                .id(user.getId())
-                .email(user.getEmail())
-                .firstName(user.getFirstName())
-                .lastName(user.getLastName())
-                .role(user.getRole())
+                .id(user.id())
+                .email(user.email())
+                .firstName(user.firstName())
+                .lastName(user.lastName())
+                .role(user.role())
                 .build());
     }
 
@@ -152,17 +201,18 @@ public class AuthController {
         }
 
         String token = authHeader.substring(7);
-        if (jwtUtils.validateJwtToken(token)) {
-            String email = jwtUtils.getUserNameFromJwtToken(token);
-            User user = userRepository.findByEmail(email)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
+        Optional<Claims> claims = jwtUtils.parseAndValidate(token);
+        // Same checks as JwtAuthenticationFilter, then the current profile of a user that still exists
+        Optional<UserSnapshot> user = claims.flatMap(jwtUtils::toAuthenticatedUser)
+                .filter(u -> !revocationCache.isRevoked(u.id(), claims.get().getIssuedAt()))
+                .flatMap(u -> userSnapshotService.findById(u.id()));
+        if (user.isPresent()) {
             return ResponseEntity.ok(AuthResponse.builder()
-                    .id(user.getId())
-                    .email(user.getEmail())
-                    .firstName(user.getFirstName())
-                    .lastName(user.getLastName())
-                    .role(user.getRole())
+                    .id(user.get().id())
+                    .email(user.get().email())
+                    .firstName(user.get().firstName())
+                    .lastName(user.get().lastName())
+                    .role(user.get().role())
                     .message("Token is valid")
                     .build());
         }
@@ -172,5 +222,12 @@ public class AuthController {
                         .message("Invalid or expired token")
                         .build());
     }
-}
 
+    private static ResponseEntity<?> tooManyRequests() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(AuthResponse.builder()
+                        .message("Too many authentication requests, please retry shortly")
+                        .build());
+    }
+}
@@ -1,5 +1,7 @@
 package com.catalogue.user.controller;
 
+import com.catalogue.user.client.OrderClient;
+import com.catalogue.user.dto.CursorPage;
 import com.catalogue.user.dto.OrderDTO;
 import com.catalogue.user.dto.UserDTO;
 import com.catalogue.user.entity.UserRole;
@@ -31,7 +33,7 @@ public class UserController {
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or @userService.isCurrentUser(#id, authentication.name)")
+    @PreAuthorize("hasRole('ADMIN') or @userService.isCurrentUser(#id, authentication)")
     public ResponseEntity<UserDTO> getUserById(@PathVariable Long id) {
         log.info("GET /api/users/{} - Fetching user by id", id);
         return ResponseEntity.ok(userService.getUserById(id));
@@ -74,7 +76,7 @@ public class UserController {
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or @userService.isCurrentUser(#id, authentication.name)")
+    @PreAuthorize("hasRole('ADMIN') or @userService.isCurrentUser(#id, authentication)")
     public ResponseEntity<UserDTO> updateUser(@PathVariable Long id,
                                                @Valid @RequestBody UserDTO userDTO) {
         log.info("PUT /api/users/{} - Updating user", id);
@@ -104,10 +106,18 @@ public class UserController {
     }
 
     @GetMapping("/{id}/orders")
-    @PreAuthorize("hasRole('ADMIN') or @userService.isCurrentUser(#id, authentication.name)")
-    public ResponseEntity<List<OrderDTO>> getUserOrders(@PathVariable Long id) {
+    @PreAuthorize("hasRole('ADMIN') or @userService.isCurrentUser(#id, authentication)")
+    public ResponseEntity<List<OrderDTO>> getUserOrders(
+            @PathVariable Long id,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size) {
         log.info("GET /api/users/{}/orders - Fetching orders for user", id);
-        return ResponseEntity.ok(userService.getUserOrders(id));
+        CursorPage<OrderDTO> page = userService.getUserOrders(id, after, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(OrderClient.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
     }
 }
 
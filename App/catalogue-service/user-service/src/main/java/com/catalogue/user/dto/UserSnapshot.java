@@ -0,0 +1,15 @@
+package com.catalogue.user.dto;
+
+import com.catalogue.user.entity.User;
+import com.catalogue.user.entity.UserRole;
+
+/**
+ * Immutable copy of the user fields needed to answer auth requests, safe to share from a cache
+ */
+public record UserSnapshot(Long id, String email, String firstName, String lastName, UserRole role, boolean active) {
+
+    public static UserSnapshot of(User user) {
+        return new UserSnapshot(user.getId(), user.getEmail(), user.getFirstName(), user.getLastName(),
+                user.getRole(), Boolean.TRUE.equals(user.getActive()));
+    }
+}
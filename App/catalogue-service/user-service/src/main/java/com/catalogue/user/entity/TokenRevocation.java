@@ -0,0 +1,30 @@
+package com.catalogue.user.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Tokens issued to a user at or before revokedAt are no longer accepted. One row per user, kept
+ * for one token lifetime: every instance polls this table, so a user deleted, deactivated or
+ * demoted on one instance is logged out on all of them.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "token_revocations", indexes = @Index(name = "idx_token_revocations_revoked_at", columnList = "revokedAt"))
+public class TokenRevocation {
+
+    // Not a foreign key: the revocation of a deleted user outlives its row
+    @Id
+    private Long userId;
+
+    @Column(nullable = false)
+    private Instant revokedAt;
+}
@@ -0,0 +1,28 @@
+package com.catalogue.user.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published by UserService whenever an existing user is written.
+ */
+@Data
+@AllArgsConstructor
+public class UserChangedEvent {
+
+    public enum Type {
+        UPDATED,
+        ACTIVATED,
+        DEACTIVATED,
+        DELETED
+    }
+
+    private Type type;
+
+    private Long userId;
+
+    /**
+     * Email before the change, the key the user may be cached under.
+     */
+    private String email;
+}
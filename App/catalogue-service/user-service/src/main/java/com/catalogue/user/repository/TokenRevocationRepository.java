@@ -0,0 +1,24 @@
+package com.catalogue.user.repository;
+
+import com.catalogue.user.entity.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    // Revocations made on any instance since the given instant, polled by UserRevocationCache
+    List<TokenRevocation> findByRevokedAtAfter(Instant since);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TokenRevocation r WHERE r.revokedAt < :before")
+    int deleteRevokedBefore(@Param("before") Instant before);
+}
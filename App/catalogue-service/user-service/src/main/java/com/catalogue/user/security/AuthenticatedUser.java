@@ -0,0 +1,16 @@
+package com.catalogue.user.security;
+
+import com.catalogue.user.entity.UserRole;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Principal of a request authenticated by JWT, built from the verified token claims
+ * without loading the user. getName() is the email, as for the login principal.
+ */
+public record AuthenticatedUser(Long id, String email, UserRole role) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
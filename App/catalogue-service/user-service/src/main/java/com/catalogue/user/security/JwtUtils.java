@@ -1,72 +1,112 @@
 package com.catalogue.user.security;
 
+import com.catalogue.user.dto.UserSnapshot;
+import com.catalogue.user.entity.User;
+import com.catalogue.user.entity.UserRole;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
 import java.util.Date;
+import java.util.Optional;
 
 @Component
 @Slf4j
 public class JwtUtils {
 
-    @Value("${jwt.secret:mySecretKeyForJWTAuthenticationThatIsAtLeast256BitsLong12345}")
-    private String jwtSecret;
+    // Claims that let requests be authenticated without loading the user
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_ACTIVE = "active";
 
-    @Value("${jwt.expiration:86400000}")
-    private int jwtExpirationMs;
+    private final int jwtExpirationMs;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    // Built once: both are immutable and safe to share between request threads
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
+
+    public JwtUtils(@Value("${jwt.secret:mySecretKeyForJWTAuthenticationThatIsAtLeast256BitsLong12345}") String jwtSecret,
+                    @Value("${jwt.expiration:86400000}") int jwtExpirationMs) {
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
 
-    public String generateJwtToken(Authentication authentication) {
-        UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
-        return generateTokenFromUsername(userPrincipal.getUsername());
+    public String generateToken(User user) {
+        return generateToken(UserSnapshot.of(user));
     }
 
-    public String generateTokenFromUsername(String username) {
+    public String generateToken(UserSnapshot user) {
         return Jwts.builder()
-                .subject(username)
+                .subject(user.email())
+                .claim(CLAIM_USER_ID, user.id())
+                .claim(CLAIM_ROLE, user.role().name())
+                .claim(CLAIM_ACTIVE, user.active())
                 .issuedAt(new Date())
                 .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+    public Duration getTokenLifetime() {
+        return Duration.ofMillis(jwtExpirationMs);
     }
 
-    public boolean validateJwtToken(String authToken) {
+    /**
+     * Verify the token signature and expiry and return its claims, so callers need a single
+     * verification per token.
+     * @return the claims, or empty if the token is invalid or expired
+     */
+    public Optional<Claims> parseAndValidate(String authToken) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(authToken);
-            return true;
+            return Optional.of(jwtParser.parseSignedClaims(authToken).getPayload());
         } catch (MalformedJwtException e) {
             log.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
             log.error("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
             log.error("JWT token is unsupported: {}", e.getMessage());
+        } catch (io.jsonwebtoken.security.SecurityException e) {
+            log.error("Invalid JWT signature: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             log.error("JWT claims string is empty: {}", e.getMessage());
         }
-        return false;
+        return Optional.empty();
+    }
+
+    /**
+     * Principal described by verified claims
+     * @return empty if the token lacks the user claims (issued before they existed) or the user
+     *         was inactive when it was issued
+     */
+    public Optional<AuthenticatedUser> toAuthenticatedUser(Claims claims) {
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (userId == null || role == null || !Boolean.TRUE.equals(claims.get(CLAIM_ACTIVE, Boolean.class))) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new AuthenticatedUser(userId, claims.getSubject(), UserRole.valueOf(role)));
+        } catch (IllegalArgumentException e) {
+            log.error("JWT token has an unknown role: {}", role);
+            return Optional.empty();
+        }
+    }
+
+    public String getUserNameFromJwtToken(String token) {
+        return jwtParser.parseSignedClaims(token)
+                .getPayload()
+                .getSubject();
     }
-}
 
+    public boolean validateJwtToken(String authToken) {
+        return parseAndValidate(authToken).isPresent();
+    }
+}
@@ -0,0 +1,72 @@
+package com.catalogue.user.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing work on the bounded passwordHashingExecutor and times each stage:
+ *
+ *   auth.password.queue      time spent waiting for a hashing thread
+ *   auth.password.execution  time spent hashing (plus the user lookup for a login)
+ *   auth.password.rejected   tasks turned away because the pool and its queue were full
+ *
+ * all tagged with the operation ("login", "signup").
+ */
+@Service
+@Slf4j
+public class PasswordHashingService {
+
+    private final ThreadPoolTaskExecutor executor;
+    private final MeterRegistry meterRegistry;
+
+    public PasswordHashingService(@Qualifier("passwordHashingExecutor") ThreadPoolTaskExecutor executor,
+                                  MeterRegistry meterRegistry) {
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @throws TaskRejectedException if the hashing pool is saturated; callers answer 429
+     */
+    public <T> CompletableFuture<T> submit(String operation, Supplier<T> task) {
+        long queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long startedAt = System.nanoTime();
+                timer("auth.password.queue", "Time password hashing tasks wait for a thread", operation)
+                        .record(startedAt - queuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.get();
+                } finally {
+                    timer("auth.password.execution", "Time spent running password hashing tasks", operation)
+                            .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            }, executor);
+        } catch (TaskRejectedException e) {
+            Counter.builder("auth.password.rejected")
+                    .description("Password hashing tasks rejected because the pool was saturated")
+                    .tag("operation", operation)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Password hashing pool saturated, rejecting {}", operation);
+            throw e;
+        }
+    }
+
+    private Timer timer(String name, String description, String operation) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,32 @@
+package com.catalogue.user.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder that asks for a rehash whenever a stored hash was made with another cost, lower
+ * or higher (BCryptPasswordEncoder only upgrades lower costs). DaoAuthenticationProvider rehashes
+ * on the next successful login, so changing the cost needs no migration.
+ */
+public class RehashingBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[abyx]?\\$(\\d\\d)\\$");
+
+    private final int strength;
+
+    public RehashingBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+}
@@ -0,0 +1,25 @@
+package com.catalogue.user.security;
+
+import com.catalogue.user.dto.UserSnapshot;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Login principal that keeps the profile loaded with the credentials, so a successful login
+ * answers without reading the user a second time.
+ */
+public class UserAccount extends User {
+
+    private final UserSnapshot snapshot;
+
+    public UserAccount(UserSnapshot snapshot, String password, Collection<? extends GrantedAuthority> authorities) {
+        super(snapshot.email(), password, authorities);
+        this.snapshot = snapshot;
+    }
+
+    public UserSnapshot getSnapshot() {
+        return snapshot;
+    }
+}
@@ -1,10 +1,13 @@
 package com.catalogue.user.security;
 
+import com.catalogue.user.dto.UserSnapshot;
 import com.catalogue.user.entity.User;
 import com.catalogue.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -14,7 +17,8 @@ import java.util.Collections;
 
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+@Slf4j
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -28,11 +32,29 @@ public class UserDetailsServiceImpl implements UserDetailsService {
             throw new UsernameNotFoundException("User account is deactivated: " + email);
         }
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
+        return new UserAccount(
+                UserSnapshot.of(user),
                 user.getPassword(),
                 Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
         );
     }
-}
 
+    /**
+     * Store a password rehashed with the current BCrypt cost, called on a successful login
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        userRepository.findByEmail(userDetails.getUsername()).ifPresent(user -> {
+            user.setPassword(newPassword);
+            log.info("Rehashed the password of {} with the current BCrypt cost", user.getEmail());
+        });
+        if (userDetails instanceof UserAccount account) {
+            // The returned details become the principal, keep the loaded profile on it
+            return new UserAccount(account.getSnapshot(), newPassword, account.getAuthorities());
+        }
+        return org.springframework.security.core.userdetails.User.withUserDetails(userDetails)
+                .password(newPassword)
+                .build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.catalogue.user.security;
+
+import com.catalogue.user.entity.TokenRevocation;
+import com.catalogue.user.repository.TokenRevocationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Users whose tokens must no longer be accepted, because they were deactivated, deleted or had
+ * their role changed after the tokens were issued. Requests are authenticated from token claims
+ * alone, so this is what takes a stale token out of circulation before it expires.
+ *
+ * A user is revoked at an instant: tokens issued at or before it are rejected, tokens from a
+ * later login are not. An entry is useless once every token it can reject has expired, so it is
+ * kept for one token lifetime only. Every revocation is also written to the token_revocations
+ * table, in the transaction of the change that caused it: it applies on this instance on commit
+ * and other instances pick it up from the table every refresh-interval.
+ *
+ * The map is bounded by max-entries. When it is full of live entries the oldest one is dropped and
+ * its instant becomes a global cut-off: every token issued before it is rejected, which logs some
+ * users out early but never accepts a revoked token.
+ */
+@Component
+@Slf4j
+public class UserRevocationCache {
+
+    // Tolerates clock skew between instances when polling for revocations
+    private static final Duration POLL_OVERLAP = Duration.ofSeconds(5);
+
+    private final TokenRevocationRepository revocationRepository;
+    private final Duration tokenLifetime;
+    private final int maxEntries;
+
+    private final Map<Long, Instant> revokedAt = new ConcurrentHashMap<>();
+    private volatile Instant revokedBefore = Instant.EPOCH;
+    private Instant lastPoll;
+
+    public UserRevocationCache(TokenRevocationRepository revocationRepository, JwtUtils jwtUtils,
+                               @Value("${jwt.revocation.max-entries:10000}") int maxEntries) {
+        this.revocationRepository = revocationRepository;
+        this.tokenLifetime = jwtUtils.getTokenLifetime();
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Reject the tokens issued to a user so far, on every instance. Joins the caller's transaction,
+     * so the revocation is published with the change that caused it. Within a transaction the local
+     * entry is added after the commit: a rolled-back change revokes nothing, and a token issued
+     * from the old state before the commit is rejected too.
+     */
+    public void revoke(Long userId) {
+        revocationRepository.save(new TokenRevocation(userId, Instant.now()));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    revoke(userId, Instant.now());
+                }
+            });
+        } else {
+            revoke(userId, Instant.now());
+        }
+    }
+
+    /**
+     * @param issuedAt the token "iat" claim, in whole seconds
+     */
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        if (issuedAt == null) {
+            return true;
+        }
+        Instant issued = issuedAt.toInstant();
+        if (!issued.isAfter(revokedBefore)) {
+            return true;
+        }
+        Instant revoked = revokedAt.get(userId);
+        // "iat" is truncated to the second, so a token from the same second as the revocation is
+        // rejected too: at worst the user logs in again
+        return revoked != null && !issued.isAfter(revoked);
+    }
+
+    /**
+     * Load the revocations made on any instance since the last poll (on startup, within one token
+     * lifetime) and purge those that can no longer reject a live token.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval:PT30S}")
+    public void refresh() {
+        Instant now = Instant.now();
+        Instant oldestLiveToken = now.minus(tokenLifetime);
+        Instant since = lastPoll != null && lastPoll.minus(POLL_OVERLAP).isAfter(oldestLiveToken)
+                ? lastPoll.minus(POLL_OVERLAP)
+                : oldestLiveToken;
+        for (TokenRevocation revocation : revocationRepository.findByRevokedAtAfter(since)) {
+            revoke(revocation.getUserId(), revocation.getRevokedAt());
+        }
+        revocationRepository.deleteRevokedBefore(oldestLiveToken);
+        lastPoll = now;
+    }
+
+    synchronized void revoke(Long userId, Instant at) {
+        revokedAt.merge(userId, at, (previous, current) -> current.isAfter(previous) ? current : previous);
+        if (revokedAt.size() > maxEntries) {
+            evict();
+        }
+    }
+
+    private void evict() {
+        Instant oldestLiveToken = Instant.now().minus(tokenLifetime);
+        revokedAt.values().removeIf(at -> at.isBefore(oldestLiveToken));
+        while (revokedAt.size() > maxEntries) {
+            Map.Entry<Long, Instant> oldest = revokedAt.entrySet().stream()
+                    .min(Map.Entry.comparingByValue())
+                    .orElseThrow();
+            revokedAt.remove(oldest.getKey());
+            if (oldest.getValue().isAfter(revokedBefore)) {
+                revokedBefore = oldest.getValue();
+            }
+            log.warn("User revocation cache is full, rejecting every token issued before {}", revokedBefore);
+        }
+    }
+}
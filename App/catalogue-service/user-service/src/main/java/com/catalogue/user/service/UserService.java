@@ -1,14 +1,21 @@
 package com.catalogue.user.service;
 
 import com.catalogue.user.client.OrderClient;
+import com.catalogue.user.dto.CursorPage;
 import com.catalogue.user.dto.OrderDTO;
 import com.catalogue.user.dto.UserDTO;
 import com.catalogue.user.entity.User;
 import com.catalogue.user.entity.UserRole;
+import com.catalogue.user.event.UserChangedEvent;
 import com.catalogue.user.mapper.UserMapper;
 import com.catalogue.user.repository.UserRepository;
+import com.catalogue.user.security.AuthenticatedUser;
+import com.catalogue.user.security.UserRevocationCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +30,8 @@ public class UserService {
     private final UserRepository userRepository;
     private final OrderClient orderClient;
     private final UserMapper userMapper;
+    private final UserRevocationCache revocationCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<UserDTO> getAllUsers() {
@@ -102,18 +111,28 @@ public class UserService {
             throw new RuntimeException("User already exists with email: " + userDTO.getEmail());
         }
 
+        String email = existingUser.getEmail();
+        UserRole role = existingUser.getRole();
+        Boolean active = existingUser.getActive();
         userMapper.updateEntityFromDTO(userDTO, existingUser);
         User updatedUser = userRepository.save(existingUser);
+        eventPublisher.publishEvent(new UserChangedEvent(UserChangedEvent.Type.UPDATED, id, email));
+        // Tokens carry the email, role and active flag: retire the ones that no longer match
+        if (!email.equals(updatedUser.getEmail()) || role != updatedUser.getRole()
+                || !active.equals(updatedUser.getActive())) {
+            revocationCache.revoke(id);
+        }
         return userMapper.toDTO(updatedUser);
     }
 
     @Transactional
     public void deleteUser(Long id) {
         log.info("Deleting user with id: {}", id);
-        if (!userRepository.existsById(id)) {
-            throw new RuntimeException("User not found with id: " + id);
-        }
-        userRepository.deleteById(id);
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+        userRepository.delete(user);
+        eventPublisher.publishEvent(new UserChangedEvent(UserChangedEvent.Type.DELETED, id, user.getEmail()));
+        revocationCache.revoke(id);
     }
 
     @Transactional
@@ -123,6 +142,8 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
         user.setActive(false);
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(UserChangedEvent.Type.DEACTIVATED, id, user.getEmail()));
+        revocationCache.revoke(id);
         return userMapper.toDTO(updatedUser);
     }
 
@@ -133,30 +154,30 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
         user.setActive(true);
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(UserChangedEvent.Type.ACTIVATED, id, user.getEmail()));
         return userMapper.toDTO(updatedUser);
     }
 
     @Transactional(readOnly = true)
-    public List<OrderDTO> getUserOrders(Long userId) {
+    public CursorPage<OrderDTO> getUserOrders(Long userId, String after, Integer size) {
         log.info("Fetching orders for user with id: {}", userId);
         // Verify user exists
         if (!userRepository.existsById(userId)) {
             throw new RuntimeException("User not found with id: " + userId);
         }
-        // Fetch orders from Order Service via Feign
-        return orderClient.getOrdersByUserId(userId);
+        // Fetch one page of orders from Order Service via Feign, keeping its cursor
+        ResponseEntity<List<OrderDTO>> response = orderClient.getOrdersByUserId(userId, after, size);
+        List<OrderDTO> orders = response.getBody() != null ? response.getBody() : List.of();
+        return new CursorPage<>(orders, response.getHeaders().getFirst(OrderClient.NEXT_CURSOR_HEADER));
     }
 
     /**
      * Check if the given user ID belongs to the currently authenticated user
-     * Used for authorization checks in @PreAuthorize annotations
+     * Used for authorization checks in @PreAuthorize annotations, from the token claims
      */
-    @Transactional(readOnly = true)
-    public boolean isCurrentUser(Long userId, String email) {
-        log.debug("Checking if user {} is current user with email: {}", userId, email);
-        return userRepository.findById(userId)
-                .map(user -> user.getEmail().equals(email))
-                .orElse(false);
+    public boolean isCurrentUser(Long userId, Authentication authentication) {
+        log.debug("Checking if user {} is current user {}", userId, authentication.getName());
+        return authentication.getPrincipal() instanceof AuthenticatedUser user && user.id().equals(userId);
     }
 }
 
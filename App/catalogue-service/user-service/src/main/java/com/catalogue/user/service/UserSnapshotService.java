@@ -0,0 +1,69 @@
+package com.catalogue.user.service;
+
+import com.catalogue.user.config.CacheConfig;
+import com.catalogue.user.dto.UserSnapshot;
+import com.catalogue.user.entity.User;
+import com.catalogue.user.event.UserChangedEvent;
+import com.catalogue.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Cached user snapshots for the auth endpoints, by id and by email. Missing users are not cached.
+ * Entries are evicted on UserChangedEvent; the cache manager defers the eviction to the commit of
+ * the transaction that published it. Loads run under Caffeine's per-key lock, which that eviction
+ * waits on, so a reader that loaded the row before the change cannot put the old snapshot back.
+ * Changes made on other instances show up after the cache TTL.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserSnapshotService {
+
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+
+    public Optional<UserSnapshot> findById(Long id) {
+        return load(CacheConfig.USERS_BY_ID_CACHE, id, () -> userRepository.findById(id));
+    }
+
+    public Optional<UserSnapshot> findByEmail(String email) {
+        return load(CacheConfig.USERS_BY_EMAIL_CACHE, email, () -> userRepository.findByEmail(email));
+    }
+
+    // Goes through the native Caffeine cache: Spring's sync load would reject the missing-user
+    // result, which the loader reports as null so that nothing is stored
+    @SuppressWarnings("unchecked")
+    private Optional<UserSnapshot> load(String cacheName, Object key, Supplier<Optional<User>> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || key == null) {
+            return loader.get().map(UserSnapshot::of);
+        }
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> store =
+                (com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache();
+        return Optional.ofNullable((UserSnapshot) store.get(key, k -> loader.get().map(UserSnapshot::of).orElse(null)));
+    }
+
+    // Runs inside the writing transaction on purpose: the transaction-aware caches apply the
+    // eviction after commit, whereas an evict issued from an after-commit listener would be lost
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        log.debug("Evicting cached user {} ({}) after {}", event.getUserId(), event.getEmail(), event.getType());
+        evict(CacheConfig.USERS_BY_ID_CACHE, event.getUserId());
+        evict(CacheConfig.USERS_BY_EMAIL_CACHE, event.getEmail());
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+}
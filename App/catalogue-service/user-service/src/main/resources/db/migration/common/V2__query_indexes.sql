@@ -0,0 +1,7 @@
+-- Indexes for the UserRepository access paths (findByEmail and existsByEmail use uk_users_email)
+
+-- findByRoleAndActiveTrue, and findByRole through the leading column
+CREATE INDEX idx_users_role_active ON users (role, active);
+
+-- findByActiveTrue
+CREATE INDEX idx_users_active ON users (active);
@@ -0,0 +1,20 @@
+-- User Service schema (H2, also used in MySQL compatibility mode)
+-- Ids come from a pooled sequence (allocationSize = 50 in the entity)
+
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id BIGINT NOT NULL PRIMARY KEY,
+    email VARCHAR(100) NOT NULL,
+    first_name VARCHAR(100) NOT NULL,
+    last_name VARCHAR(100) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    phone_number VARCHAR(20),
+    address VARCHAR(500),
+    role VARCHAR(20) NOT NULL,
+    active BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE,
+    -- findByEmail (login) and existsByEmail (registration)
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
@@ -0,0 +1,9 @@
+-- Token revocations shared by every instance (deletions, deactivations, role and email changes)
+
+CREATE TABLE token_revocations (
+    user_id BIGINT NOT NULL PRIMARY KEY,
+    revoked_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+-- findByRevokedAtAfter, polled by UserRevocationCache, and the purge of expired revocations
+CREATE INDEX idx_token_revocations_revoked_at ON token_revocations (revoked_at);
@@ -0,0 +1,21 @@
+-- User Service schema (MySQL)
+-- MySQL has no sequences: Hibernate emulates the pooled sequence with a one-row table
+
+CREATE TABLE users_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO users_seq VALUES (1);
+
+CREATE TABLE users (
+    id BIGINT NOT NULL PRIMARY KEY,
+    email VARCHAR(100) NOT NULL,
+    first_name VARCHAR(100) NOT NULL,
+    last_name VARCHAR(100) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    phone_number VARCHAR(20),
+    address VARCHAR(500),
+    role VARCHAR(20) NOT NULL,
+    active BIT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    -- findByEmail (login) and existsByEmail (registration)
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
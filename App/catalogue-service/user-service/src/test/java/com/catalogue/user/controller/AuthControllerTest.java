@@ -0,0 +1,130 @@
+package com.catalogue.user.controller;
+
+import com.catalogue.user.dto.UserSnapshot;
+import com.catalogue.user.dto.auth.AuthResponse;
+import com.catalogue.user.dto.auth.LoginRequest;
+import com.catalogue.user.dto.auth.SignupRequest;
+import com.catalogue.user.entity.UserRole;
+import com.catalogue.user.repository.UserRepository;
+import com.catalogue.user.security.JwtUtils;
+import com.catalogue.user.security.PasswordHashingService;
+import com.catalogue.user.security.UserAccount;
+import com.catalogue.user.security.UserRevocationCache;
+import com.catalogue.user.service.UserSnapshotService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the 429 answer of login and signup when the password hashing pool is saturated
+ */
+class AuthControllerTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private ThreadPoolTaskExecutor executor;
+    private SimpleMeterRegistry meterRegistry;
+    private AuthenticationManager authenticationManager;
+    private UserRepository userRepository;
+    private PasswordEncoder passwordEncoder;
+    private AuthController authController;
+    private CompletableFuture<Boolean> blocker;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // One thread and no queue: a single running task saturates the pool
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.initialize();
+        meterRegistry = new SimpleMeterRegistry();
+        PasswordHashingService passwordHashingService = new PasswordHashingService(executor, meterRegistry);
+
+        authenticationManager = mock(AuthenticationManager.class);
+        userRepository = mock(UserRepository.class);
+        passwordEncoder = mock(PasswordEncoder.class);
+        authController = new AuthController(authenticationManager, userRepository, passwordEncoder,
+                mock(JwtUtils.class), mock(UserSnapshotService.class), passwordHashingService,
+                mock(UserRevocationCache.class), Runnable::run);
+
+        CountDownLatch started = new CountDownLatch(1);
+        blocker = passwordHashingService.submit("login", () -> {
+            started.countDown();
+            try {
+                return release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void testAuthenticateUser_SaturatedPoolAnswers429() throws Exception {
+        ResponseEntity<?> response = authController
+                .authenticateUser(new LoginRequest("jane@example.com", "secret"))
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(meterRegistry.get("auth.password.rejected").tag("operation", "login").counter().count()).isEqualTo(1.0);
+        verify(authenticationManager, never()).authenticate(any());
+    }
+
+    @Test
+    void testRegisterUser_SaturatedPoolAnswers429() throws Exception {
+        when(userRepository.existsByEmail("jane@example.com")).thenReturn(false);
+
+        ResponseEntity<?> response = authController
+                .registerUser(new SignupRequest("Jane", "Doe", "jane@example.com", "secret", null, null))
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(meterRegistry.get("auth.password.rejected").tag("operation", "signup").counter().count()).isEqualTo(1.0);
+        verify(passwordEncoder, never()).encode(any());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void testAuthenticateUser_AnswersFromPrincipalWithoutReadingUser() throws Exception {
+        release.countDown();
+        blocker.get(5, TimeUnit.SECONDS);
+        UserAccount account = new UserAccount(
+                new UserSnapshot(7L, "jane@example.com", "Jane", "Doe", UserRole.CLIENT, true), "hash", List.of());
+        when(authenticationManager.authenticate(any()))
+                .thenReturn(UsernamePasswordAuthenticationToken.authenticated(account, null, List.of()));
+
+        ResponseEntity<?> response = authController
+                .authenticateUser(new LoginRequest("jane@example.com", "secret"))
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(((AuthResponse) response.getBody()).getId()).isEqualTo(7L);
+        verifyNoInteractions(userRepository);
+    }
+}
@@ -0,0 +1,88 @@
+package com.catalogue.user.controller;
+
+import com.catalogue.user.dto.UserSnapshot;
+import com.catalogue.user.dto.auth.AuthResponse;
+import com.catalogue.user.entity.User;
+import com.catalogue.user.entity.UserRole;
+import com.catalogue.user.repository.TokenRevocationRepository;
+import com.catalogue.user.repository.UserRepository;
+import com.catalogue.user.security.JwtUtils;
+import com.catalogue.user.security.PasswordHashingService;
+import com.catalogue.user.security.UserRevocationCache;
+import com.catalogue.user.service.UserSnapshotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests that token validation applies the same claim and revocation checks as request authentication
+ */
+class AuthControllerValidateTokenTest {
+
+    private static final String SECRET = "bXlTZWNyZXRLZXlGb3JKV1RBdXRoZW50aWNhdGlvblRoYXRJc0F0TGVhc3QyNTZCaXRzTG9uZzEyMzQ1Njc4OQ==";
+
+    private JwtUtils jwtUtils;
+    private UserRevocationCache revocationCache;
+    private UserSnapshotService userSnapshotService;
+    private AuthController authController;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = new JwtUtils(SECRET, 60_000);
+        revocationCache = new UserRevocationCache(mock(TokenRevocationRepository.class), jwtUtils, 100);
+        userSnapshotService = mock(UserSnapshotService.class);
+        authController = new AuthController(mock(AuthenticationManager.class), mock(UserRepository.class),
+                mock(PasswordEncoder.class), jwtUtils, userSnapshotService, mock(PasswordHashingService.class),
+                revocationCache, Runnable::run);
+    }
+
+    @Test
+    void testValidateToken_ValidToken() {
+        User user = user(7L);
+        when(userSnapshotService.findById(7L)).thenReturn(Optional.of(UserSnapshot.of(user)));
+
+        ResponseEntity<?> response = authController.validateToken("Bearer " + jwtUtils.generateToken(user));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(((AuthResponse) response.getBody()).getId()).isEqualTo(7L);
+    }
+
+    @Test
+    void testValidateToken_RevokedUserAnswers401() {
+        User user = user(7L);
+        when(userSnapshotService.findById(7L)).thenReturn(Optional.of(UserSnapshot.of(user)));
+        String token = jwtUtils.generateToken(user);
+        revocationCache.revoke(7L);
+
+        assertThat(authController.validateToken("Bearer " + token).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void testValidateToken_DeletedUserAnswers401() {
+        when(userSnapshotService.findById(7L)).thenReturn(Optional.empty());
+
+        ResponseEntity<?> response = authController.validateToken("Bearer " + jwtUtils.generateToken(user(7L)));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    private static User user(Long id) {
+        return User.builder()
+                .id(id)
+                .email("jane@example.com")
+                .firstName("Jane")
+                .lastName("Doe")
+                .password("hash")
+                .role(UserRole.CLIENT)
+                .active(true)
+                .build();
+    }
+}
@@ -0,0 +1,120 @@
+package com.catalogue.user.security;
+
+import com.catalogue.user.entity.User;
+import com.catalogue.user.entity.UserRole;
+import com.catalogue.user.repository.TokenRevocationRepository;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for request authentication from token claims and revocations
+ */
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "bXlTZWNyZXRLZXlGb3JKV1RBdXRoZW50aWNhdGlvblRoYXRJc0F0TGVhc3QyNTZCaXRzTG9uZzEyMzQ1Njc4OQ==";
+
+    private JwtUtils jwtUtils;
+    private UserRevocationCache revocationCache;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = new JwtUtils(SECRET, 60_000);
+        revocationCache = new UserRevocationCache(mock(TokenRevocationRepository.class), jwtUtils, 100);
+        filter = new JwtAuthenticationFilter(jwtUtils, revocationCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testDoFilter_ValidTokenAuthenticatesFromClaims() throws Exception {
+        MockFilterChain chain = filter(jwtUtils.generateToken(user(7L, UserRole.ADMIN)));
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(authentication.getPrincipal()).isEqualTo(new AuthenticatedUser(7L, "jane@example.com", UserRole.ADMIN));
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void testDoFilter_RevokedUserNotAuthenticated() throws Exception {
+        String token = jwtUtils.generateToken(user(7L, UserRole.ADMIN));
+        revocationCache.revoke(7L);
+
+        MockFilterChain chain = filter(token);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void testDoFilter_RevocationOfAnotherUserIgnored() throws Exception {
+        String token = jwtUtils.generateToken(user(7L, UserRole.CLIENT));
+        revocationCache.revoke(8L);
+
+        filter(token);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+    }
+
+    @Test
+    void testDoFilter_TokenWithoutUserClaimsNotAuthenticated() throws Exception {
+        String legacy = Jwts.builder()
+                .subject("jane@example.com")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .compact();
+
+        MockFilterChain chain = filter(legacy);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void testDoFilter_InvalidTokenPassesThroughUnauthenticated() throws Exception {
+        MockFilterChain chain = filter("not-a-jwt");
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    private MockFilterChain filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/7");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return chain;
+    }
+
+    private static User user(Long id, UserRole role) {
+        return User.builder()
+                .id(id)
+                .email("jane@example.com")
+                .firstName("Jane")
+                .lastName("Doe")
+                .password("hash")
+                .role(role)
+                .active(true)
+                .build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.catalogue.user.security;
+
+import com.catalogue.user.entity.User;
+import com.catalogue.user.entity.UserRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for token verification and the claims-based principal
+ */
+class JwtUtilsTest {
+
+    private static final String SECRET = "bXlTZWNyZXRLZXlGb3JKV1RBdXRoZW50aWNhdGlvblRoYXRJc0F0TGVhc3QyNTZCaXRzTG9uZzEyMzQ1Njc4OQ==";
+    private static final SecretKey KEY = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+
+    private final JwtUtils jwtUtils = new JwtUtils(SECRET, 60_000);
+
+    @Test
+    void testParseAndValidate_GeneratedTokenCarriesUserClaims() {
+        String token = jwtUtils.generateToken(user(42L, UserRole.ADMIN, true));
+
+        Optional<AuthenticatedUser> user = jwtUtils.parseAndValidate(token).flatMap(jwtUtils::toAuthenticatedUser);
+
+        assertThat(user).contains(new AuthenticatedUser(42L, "jane@example.com", UserRole.ADMIN));
+    }
+
+    @Test
+    void testParseAndValidate_ExpiredTokenRejected() {
+        JwtUtils expiredIssuer = new JwtUtils(SECRET, -1_000);
+        String token = expiredIssuer.generateToken(user(42L, UserRole.CLIENT, true));
+
+        assertThat(jwtUtils.parseAndValidate(token)).isEmpty();
+    }
+
+    @Test
+    void testParseAndValidate_TokenSignedWithAnotherKeyRejected() {
+        String token = claims(42L, "CLIENT", true)
+                .signWith(Jwts.SIG.HS256.key().build())
+                .compact();
+
+        assertThat(jwtUtils.parseAndValidate(token)).isEmpty();
+    }
+
+    @Test
+    void testParseAndValidate_MalformedTokenRejected() {
+        assertThat(jwtUtils.parseAndValidate("not-a-jwt")).isEmpty();
+        assertThat(jwtUtils.parseAndValidate("")).isEmpty();
+    }
+
+    @Test
+    void testToAuthenticatedUser_MissingUserIdRejected() {
+        assertThat(jwtUtils.toAuthenticatedUser(parse(claims(null, "CLIENT", true)))).isEmpty();
+    }
+
+    @Test
+    void testToAuthenticatedUser_MissingRoleRejected() {
+        assertThat(jwtUtils.toAuthenticatedUser(parse(claims(42L, null, true)))).isEmpty();
+    }
+
+    @Test
+    void testToAuthenticatedUser_MissingActiveRejected() {
+        assertThat(jwtUtils.toAuthenticatedUser(parse(claims(42L, "CLIENT", null)))).isEmpty();
+    }
+
+    @Test
+    void testToAuthenticatedUser_InactiveUserRejected() {
+        assertThat(jwtUtils.toAuthenticatedUser(parse(claims(42L, "CLIENT", false)))).isEmpty();
+    }
+
+    @Test
+    void testToAuthenticatedUser_UnknownRoleRejected() {
+        assertThat(jwtUtils.toAuthenticatedUser(parse(claims(42L, "SUPERUSER", true)))).isEmpty();
+    }
+
+    private Claims parse(JwtBuilder builder) {
+        return jwtUtils.parseAndValidate(builder.signWith(KEY).compact()).orElseThrow();
+    }
+
+    private static JwtBuilder claims(Long userId, String role, Boolean active) {
+        JwtBuilder builder = Jwts.builder()
+                .subject("jane@example.com")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60_000));
+        if (userId != null) {
+            builder.claim(JwtUtils.CLAIM_USER_ID, userId);
+        }
+        if (role != null) {
+            builder.claim(JwtUtils.CLAIM_ROLE, role);
+        }
+        if (active != null) {
+            builder.claim(JwtUtils.CLAIM_ACTIVE, active);
+        }
+        return builder;
+    }
+
+    private static User user(Long id, UserRole role, boolean active) {
+        return User.builder()
+                .id(id)
+                .email("jane@example.com")
+                .firstName("Jane")
+                .lastName("Doe")
+                .password("hash")
+                .role(role)
+                .active(active)
+                .build();
+    }
+}
@@ -0,0 +1,47 @@
+package com.catalogue.user.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the BCrypt cost check that triggers a rehash on login
+ */
+class RehashingBCryptPasswordEncoderTest {
+
+    private final RehashingBCryptPasswordEncoder encoder = new RehashingBCryptPasswordEncoder(5);
+
+    @Test
+    void testUpgradeEncoding_SameCostKept() {
+        assertThat(encoder.upgradeEncoding(encoder.encode("secret"))).isFalse();
+    }
+
+    @Test
+    void testUpgradeEncoding_LowerCostRehashed() {
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+    }
+
+    @Test
+    void testUpgradeEncoding_HigherCostRehashed() {
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret"))).isTrue();
+    }
+
+    @Test
+    void testUpgradeEncoding_OtherBCryptVersionsRecognised() {
+        assertThat(encoder.upgradeEncoding("$2y$05$abcdefghijklmnopqrstuu5s2v8.iXieOjg/.AySBTTZIIVFJeBui")).isFalse();
+        assertThat(encoder.upgradeEncoding("$2b$12$abcdefghijklmnopqrstuu5s2v8.iXieOjg/.AySBTTZIIVFJeBui")).isTrue();
+    }
+
+    @Test
+    void testUpgradeEncoding_NullOrNonBCryptIgnored() {
+        assertThat(encoder.upgradeEncoding(null)).isFalse();
+        assertThat(encoder.upgradeEncoding("")).isFalse();
+        assertThat(encoder.upgradeEncoding("{noop}secret")).isFalse();
+    }
+
+    @Test
+    void testMatches_StillVerifiesOtherCosts() {
+        assertThat(encoder.matches("secret", new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+    }
+}
@@ -0,0 +1,135 @@
+package com.catalogue.user.security;
+
+import com.catalogue.user.entity.TokenRevocation;
+import com.catalogue.user.repository.TokenRevocationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for token revocation: local revocations, the shared table poll and the size bound
+ */
+class UserRevocationCacheTest {
+
+    private static final String SECRET = "bXlTZWNyZXRLZXlGb3JKV1RBdXRoZW50aWNhdGlvblRoYXRJc0F0TGVhc3QyNTZCaXRzTG9uZzEyMzQ1Njc4OQ==";
+    private static final Duration TOKEN_LIFETIME = Duration.ofHours(1);
+
+    private TokenRevocationRepository revocationRepository;
+    private UserRevocationCache revocationCache;
+
+    @BeforeEach
+    void setUp() {
+        revocationRepository = mock(TokenRevocationRepository.class);
+        revocationCache = new UserRevocationCache(revocationRepository,
+                new JwtUtils(SECRET, (int) TOKEN_LIFETIME.toMillis()), 2);
+    }
+
+    @Test
+    void testRevoke_RejectsEarlierTokensAndPersists() {
+        Date issuedBefore = Date.from(Instant.now().minusSeconds(60));
+
+        revocationCache.revoke(7L);
+
+        assertThat(revocationCache.isRevoked(7L, issuedBefore)).isTrue();
+        assertThat(revocationCache.isRevoked(7L, Date.from(Instant.now().plusSeconds(60)))).isFalse();
+        assertThat(revocationCache.isRevoked(8L, issuedBefore)).isFalse();
+        ArgumentCaptor<TokenRevocation> saved = ArgumentCaptor.forClass(TokenRevocation.class);
+        verify(revocationRepository).save(saved.capture());
+        assertThat(saved.getValue().getUserId()).isEqualTo(7L);
+    }
+
+    @Test
+    void testRevoke_InTransactionAppliesLocallyOnCommitOnly() {
+        Date issuedBefore = Date.from(Instant.now().minusSeconds(60));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            revocationCache.revoke(7L);
+            revocationCache.revoke(8L);
+            assertThat(revocationCache.isRevoked(7L, issuedBefore)).isFalse();
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            // 7 commits, 8 rolls back
+            synchronizations.get(0).afterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(revocationCache.isRevoked(7L, issuedBefore)).isTrue();
+        assertThat(revocationCache.isRevoked(8L, issuedBefore)).isFalse();
+        verify(revocationRepository, times(2)).save(any());
+    }
+
+    @Test
+    void testIsRevoked_TokenWithoutIssuedAtRejected() {
+        assertThat(revocationCache.isRevoked(7L, null)).isTrue();
+    }
+
+    @Test
+    void testRefresh_AppliesRevocationsFromOtherInstances() {
+        Instant revokedAt = Instant.now().minusSeconds(30);
+        when(revocationRepository.findByRevokedAtAfter(any()))
+                .thenReturn(List.of(new TokenRevocation(7L, revokedAt)));
+
+        revocationCache.refresh();
+
+        assertThat(revocationCache.isRevoked(7L, Date.from(revokedAt.minusSeconds(60)))).isTrue();
+        assertThat(revocationCache.isRevoked(7L, Date.from(revokedAt.plusSeconds(1)))).isFalse();
+        verify(revocationRepository, never()).save(any());
+    }
+
+    @Test
+    void testRefresh_PollsSinceLastPollAndPurgesExpiredRows() {
+        Instant before = Instant.now();
+        revocationCache.refresh();
+        revocationCache.refresh();
+
+        ArgumentCaptor<Instant> since = ArgumentCaptor.forClass(Instant.class);
+        verify(revocationRepository, times(2)).findByRevokedAtAfter(since.capture());
+        // First poll covers one token lifetime, the next one only overlaps the previous poll
+        assertThat(since.getAllValues().get(0)).isBefore(before.minus(TOKEN_LIFETIME).plusSeconds(1));
+        assertThat(since.getAllValues().get(1)).isAfter(before.minusSeconds(10));
+
+        ArgumentCaptor<Instant> purgedBefore = ArgumentCaptor.forClass(Instant.class);
+        verify(revocationRepository, times(2)).deleteRevokedBefore(purgedBefore.capture());
+        assertThat(purgedBefore.getValue()).isBefore(Instant.now().minus(TOKEN_LIFETIME).plusSeconds(1));
+    }
+
+    @Test
+    void testEvict_DropsExpiredEntriesFirst() {
+        Instant now = Instant.now();
+        revocationCache.revoke(1L, now.minus(TOKEN_LIFETIME).minusSeconds(60));
+        revocationCache.revoke(2L, now.minusSeconds(20));
+        revocationCache.revoke(3L, now.minusSeconds(10));
+
+        // No cut-off was needed: a token older than every live entry is still accepted for others
+        assertThat(revocationCache.isRevoked(9L, Date.from(now.minusSeconds(60)))).isFalse();
+        assertThat(revocationCache.isRevoked(2L, Date.from(now.minusSeconds(30)))).isTrue();
+        assertThat(revocationCache.isRevoked(3L, Date.from(now.minusSeconds(15)))).isTrue();
+    }
+
+    @Test
+    void testEvict_FullCacheTurnsOldestEntryIntoGlobalCutOff() {
+        Instant now = Instant.now();
+        revocationCache.revoke(1L, now.minusSeconds(300));
+        revocationCache.revoke(2L, now.minusSeconds(200));
+        revocationCache.revoke(3L, now.minusSeconds(100));
+
+        // User 1 was dropped, its instant now rejects every older token
+        assertThat(revocationCache.isRevoked(9L, Date.from(now.minusSeconds(400)))).isTrue();
+        assertThat(revocationCache.isRevoked(9L, Date.from(now.minusSeconds(250)))).isFalse();
+        assertThat(revocationCache.isRevoked(1L, Date.from(now.minusSeconds(250)))).isFalse();
+        assertThat(revocationCache.isRevoked(2L, Date.from(now.minusSeconds(250)))).isTrue();
+    }
+}
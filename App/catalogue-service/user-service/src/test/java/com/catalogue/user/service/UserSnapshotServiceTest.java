@@ -0,0 +1,173 @@
+package com.catalogue.user.service;
+
+import com.catalogue.user.config.CacheConfig;
+import com.catalogue.user.dto.UserSnapshot;
+import com.catalogue.user.entity.User;
+import com.catalogue.user.entity.UserRole;
+import com.catalogue.user.event.UserChangedEvent;
+import com.catalogue.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+
+/**
+ * Tests for the user snapshot caches and their eviction on UserChangedEvent
+ */
+@DataJpaTest
+@Import({UserSnapshotService.class, CacheConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserSnapshotServiceTest {
+
+    private static final String EMAIL = "jane@example.com";
+
+    @Autowired
+    private UserSnapshotService userSnapshotService;
+
+    @SpyBean
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Cache byId;
+    private Cache byEmail;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        byId = cacheManager.getCache(CacheConfig.USERS_BY_ID_CACHE);
+        byEmail = cacheManager.getCache(CacheConfig.USERS_BY_EMAIL_CACHE);
+        byId.clear();
+        byEmail.clear();
+        userRepository.deleteAll();
+        userId = userRepository.save(User.builder()
+                .email(EMAIL)
+                .firstName("Jane")
+                .lastName("Doe")
+                .password("hash")
+                .role(UserRole.CLIENT)
+                .active(true)
+                .build()).getId();
+    }
+
+    @Test
+    void testFindById_IsCached() {
+        UserSnapshot first = userSnapshotService.findById(userId).orElseThrow();
+        UserSnapshot second = userSnapshotService.findById(userId).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+        assertThat(byId.get(userId)).isNotNull();
+    }
+
+    @Test
+    void testFindByEmail_MissingUserNotCached() {
+        assertThat(userSnapshotService.findByEmail("nobody@example.com")).isEmpty();
+
+        assertThat(byEmail.get("nobody@example.com")).isNull();
+    }
+
+    @Test
+    void testOnUserChanged_EvictsBothCaches() {
+        userSnapshotService.findById(userId);
+        userSnapshotService.findByEmail(EMAIL);
+
+        eventPublisher.publishEvent(new UserChangedEvent(UserChangedEvent.Type.UPDATED, userId, EMAIL));
+
+        assertThat(byId.get(userId)).isNull();
+        assertThat(byEmail.get(EMAIL)).isNull();
+    }
+
+    @Test
+    void testOnUserChanged_EvictsOnlyAfterCommit() {
+        userSnapshotService.findById(userId);
+        userSnapshotService.findByEmail(EMAIL);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            eventPublisher.publishEvent(new UserChangedEvent(UserChangedEvent.Type.DEACTIVATED, userId, EMAIL));
+            // Readers still see the committed user until the change commits
+            assertThat(byId.get(userId)).isNotNull();
+            assertThat(byEmail.get(EMAIL)).isNotNull();
+        });
+
+        assertThat(byId.get(userId)).isNull();
+        assertThat(byEmail.get(EMAIL)).isNull();
+    }
+
+    @Test
+    void testOnUserChanged_RolledBackChangeKeepsEntries() {
+        userSnapshotService.findById(userId);
+        userSnapshotService.findByEmail(EMAIL);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            eventPublisher.publishEvent(new UserChangedEvent(UserChangedEvent.Type.DELETED, userId, EMAIL));
+            status.setRollbackOnly();
+        });
+
+        assertThat(byId.get(userId)).isNotNull();
+        assertThat(byEmail.get(EMAIL)).isNotNull();
+    }
+
+    @Test
+    void testOnUserChanged_ReadInFlightDoesNotRecacheOldSnapshot() throws Exception {
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            // The reader has loaded the active user: hold it until the deactivation has committed
+            User user = new TransactionTemplate(transactionManager).execute(status -> entityManager.find(User.class, userId));
+            loaded.countDown();
+            assertThat(resume.await(10, TimeUnit.SECONDS)).isTrue();
+            return Optional.of(user);
+        }).when(userRepository).findById(userId);
+
+        CompletableFuture<Optional<UserSnapshot>> read = CompletableFuture.supplyAsync(() -> userSnapshotService.findById(userId));
+        assertThat(loaded.await(10, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Void> deactivation = CompletableFuture.runAsync(
+                () -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    User user = userRepository.findByEmail(EMAIL).orElseThrow();
+                    user.setActive(false);
+                    userRepository.save(user);
+                    eventPublisher.publishEvent(new UserChangedEvent(UserChangedEvent.Type.DEACTIVATED, userId, EMAIL));
+                }));
+        while (userRepository.findByEmail(EMAIL).orElseThrow().getActive()) {
+            Thread.sleep(10);
+        }
+        resume.countDown();
+
+        assertThat(read.get(10, TimeUnit.SECONDS).orElseThrow().active()).isTrue();
+        deactivation.get(10, TimeUnit.SECONDS);
+
+        assertThat(byId.get(userId)).isNull();
+        reset(userRepository);
+        assertThat(userSnapshotService.findById(userId).orElseThrow().active()).isFalse();
+    }
+}
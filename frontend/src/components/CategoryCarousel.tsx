@@ -33,8 +33,7 @@ const CategoryCarousel: React.FC = () => {
   const fetchProductsByCategory = async (): Promise<void> => {
     try {
       setLoading(true);
-      const response = await productService.getAllProducts();
-      const products = response.data;
+      const { items: products } = await productService.getProducts();
 
       // Group products by category
       const categoryMap = new Map<string, Category>();
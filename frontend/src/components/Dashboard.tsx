@@ -20,8 +20,8 @@ const Dashboard: React.FC = () => {
       setLoading(true);
 
       // Fetch internal products
-      const internalResponse = await productService.getAllProducts();
-      const internalProducts = internalResponse.data.map((p: any) => ({
+      const internalPage = await productService.getProducts();
+      const internalProducts = internalPage.items.map((p: any) => ({
         ...p,
         source: p.source || 'INTERNAL'
       }));
@@ -12,8 +12,8 @@ const InfiniteMarquee: React.FC = () => {
     const fetchProducts = async () => {
       try {
         // Fetch internal products
-        const internalResponse = await productService.getAllProducts();
-        const internalProducts = internalResponse.data.map((p: any) => ({
+        const internalPage = await productService.getProducts();
+        const internalProducts = internalPage.items.map((p: any) => ({
           ...p,
           source: p.source || 'INTERNAL'
         }));
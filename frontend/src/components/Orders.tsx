@@ -15,6 +15,8 @@ const Orders: React.FC = () => {
   const [error, setError] = useState<string | null>(null);
   const [showCreateForm, setShowCreateForm] = useState(false);
   const [products, setProducts] = useState<Product[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | undefined>(undefined);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [newOrder, setNewOrder] = useState<NewOrderState>({
     adresseLivraison: '',
     orderItems: [{
@@ -38,8 +40,9 @@ const Orders: React.FC = () => {
       const userIdToUse = user.id || (user as any).userId;
 
       setLoading(true);
-      const response = await orderService.getOrdersByUserId(userIdToUse);
-      setOrders(response.data);
+      const page = await orderService.getOrdersByUserId(userIdToUse);
+      setOrders(page.items);
+      setNextCursor(page.nextCursor);
       setError(null);
     } catch (err) {
       setError('Failed to load orders. Please ensure the backend services are running.');
@@ -49,14 +52,25 @@ const Orders: React.FC = () => {
     }
   };
 
+  const loadMoreOrders = async () => {
+    if (!user || !nextCursor) return;
+    try {
+      setLoadingMore(true);
+      const page = await orderService.getOrdersByUserId(user.id || (user as any).userId, nextCursor);
+      setOrders(prev => [...prev, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (err) {
+      console.error('Error loading more orders:', err);
+      setError('Failed to load more orders.');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const fetchProducts = async () => {
     try {
-      const response = await productService.getAllProducts();
-      if (Array.isArray(response.data)) {
-         setProducts(response.data);
-      } else {
-         setProducts([]);
-      }
+      const page = await productService.getProducts();
+      setProducts(page.items);
     } catch (err: any) {
       console.error('Error fetching products:', err);
       setError('Failed to load products. ' + (err.message || 'Unknown error'));
@@ -314,6 +328,18 @@ const Orders: React.FC = () => {
             </div>
           ))
         )}
+
+        {nextCursor && (
+          <div className="text-center mt-2">
+            <button
+              onClick={loadMoreOrders}
+              disabled={loadingMore}
+              className="px-8 py-3 bg-gray-100 text-gray-700 rounded-xl font-semibold hover:bg-gray-200 transition-colors disabled:opacity-50"
+            >
+              {loadingMore ? 'Loading...' : 'Load more orders'}
+            </button>
+          </div>
+        )}
       </div>
     </div>
   );
@@ -220,8 +220,8 @@ export const getRecommendations = async (userQuery: string, aiParams?: AIQueryPa
   try {
     // Fetch internal products
     if (parsedQuery.source === 'ALL' || parsedQuery.source === 'INTERNAL') {
-      const internalResponse = await productService.getAllProducts();
-      const internalProducts = internalResponse.data.map((p: any) => ({
+      const internalPage = await productService.getProducts();
+      const internalProducts = internalPage.items.map((p: any) => ({
         ...p,
         source: p.source || 'INTERNAL'
       }));
@@ -29,6 +29,8 @@ const Products: React.FC = () => {
   const [selectedSource, setSelectedSource] = useState<string>('ALL');
   const [searchTerm, setSearchTerm] = useState<string>('');
   const [ebayLoading, setEbayLoading] = useState<boolean>(false);
+  const [nextCursor, setNextCursor] = useState<string | undefined>(undefined);
+  const [loadingMore, setLoadingMore] = useState<boolean>(false);
 
   // Admin product management state
   const [showProductForm, setShowProductForm] = useState<boolean>(false);
@@ -62,12 +64,13 @@ const Products: React.FC = () => {
     try {
       setLoading(true);
 
-      // Fetch internal products
-      const internalResponse = await productService.getAllProducts();
-      const internalProducts = internalResponse.data.map((p: any) => ({
+      // Fetch the first page of internal products
+      const internalPage = await productService.getProducts();
+      const internalProducts = internalPage.items.map((p: any) => ({
         ...p,
         source: p.source || 'INTERNAL'
       }));
+      setNextCursor(internalPage.nextCursor);
 
       // Fetch eBay products (featured)
       let ebayProducts: Product[] = [];
@@ -110,6 +113,30 @@ const Products: React.FC = () => {
     }
   };
 
+  const loadMoreProducts = async () => {
+    if (!nextCursor) return;
+    try {
+      setLoadingMore(true);
+      const page = await productService.getProducts(nextCursor);
+      const moreProducts = page.items.map((p: any) => ({
+        ...p,
+        source: p.source || 'INTERNAL'
+      }));
+      // Keep internal products ahead of the eBay ones
+      setAllProducts(prev => [
+        ...prev.filter(p => p.source !== 'EBAY'),
+        ...moreProducts,
+        ...prev.filter(p => p.source === 'EBAY')
+      ]);
+      setNextCursor(page.nextCursor);
+    } catch (err) {
+      notify.error('Failed to load more products.');
+      console.error('Error loading more products:', err);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   useEffect(() => {
     filterProducts();
   }, [selectedCategory, selectedSource, searchTerm, allProducts]);
@@ -553,6 +580,18 @@ const Products: React.FC = () => {
               })}
             </div>
           )}
+
+          {nextCursor && (
+            <div className="text-center mt-10">
+              <button
+                onClick={loadMoreProducts}
+                disabled={loadingMore}
+                className="px-8 py-3 bg-gray-100 text-gray-700 rounded-xl font-semibold hover:bg-gray-200 transition-colors disabled:opacity-50"
+              >
+                {loadingMore ? 'Loading...' : 'Load more products'}
+              </button>
+            </div>
+          )}
         </>
       )}
 
@@ -10,6 +10,8 @@ const Profile: React.FC = () => {
   const { user: authUser, updateUser: updateAuthUser, isAdmin, loading: authLoading } = useAuth();
   const [user, setUser] = useState<User | null>(null);
   const [orders, setOrders] = useState<Order[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | undefined>(undefined);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
   const [activeTab, setActiveTab] = useState<'profile' | 'orders'>('profile');
@@ -54,9 +56,9 @@ const Profile: React.FC = () => {
 
     // 2. Fetch User Orders (Independent Attempt)
     try {
-      const ordersResponse = await orderService.getOrdersByUserId(authUser.id);
-      const ordersData = ordersResponse.data || [];
-      setOrders(ordersData);
+      const ordersPage = await orderService.getOrdersByUserId(authUser.id);
+      setOrders(ordersPage.items);
+      setNextCursor(ordersPage.nextCursor);
     } catch (orderErr) {
       console.warn('Could not fetch orders:', orderErr);
       setOrders([]);
@@ -65,6 +67,21 @@ const Profile: React.FC = () => {
     }
   };
 
+  const loadMoreOrders = async () => {
+    if (!authUser?.id || !nextCursor) return;
+    try {
+      setLoadingMore(true);
+      const ordersPage = await orderService.getOrdersByUserId(authUser.id, nextCursor);
+      setOrders(prev => [...prev, ...ordersPage.items]);
+      setNextCursor(ordersPage.nextCursor);
+    } catch (orderErr) {
+      console.warn('Could not fetch more orders:', orderErr);
+      notify.error('Failed to load more orders.');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleInputChange = (e: React.ChangeEvent<HTMLInputElement>) => {
     if (!editedUser) return;
     setEditedUser({
@@ -166,7 +183,7 @@ const Profile: React.FC = () => {
             <path d="M9 2v4H3v16h18V6h-6V2H9z"/>
             <path d="M9 6h6"/>
           </svg>
-          My Orders ({orders.length})
+          My Orders ({orders.length}{nextCursor ? '+' : ''})
         </button>
       </div>
 
@@ -352,6 +369,18 @@ const Profile: React.FC = () => {
                   )}
                 </div>
               ))}
+
+              {nextCursor && (
+                <div className="text-center mt-2">
+                  <button
+                    onClick={loadMoreOrders}
+                    disabled={loadingMore}
+                    className="px-8 py-3 bg-gray-100 text-gray-700 rounded-xl font-semibold hover:bg-gray-200 transition-colors disabled:opacity-50"
+                  >
+                    {loadingMore ? 'Loading...' : 'Load more orders'}
+                  </button>
+                </div>
+              )}
             </div>
           )}
         </div>
@@ -88,8 +88,8 @@ const fetchAllProducts = async (searchQuery: string, sourcePreference?: 'ebay' |
   // Fetch internal products (unless user only wants eBay)
   if (source === 'all' || source === 'internal') {
     try {
-      const internalResponse = await productService.getAllProducts();
-      const internalProducts = internalResponse.data.map((p: Product) => ({
+      const internalPage = await productService.getProducts();
+      const internalProducts = internalPage.items.map((p: Product) => ({
         ...p,
         source: p.source || 'INTERNAL'
       }));
@@ -50,6 +50,25 @@ api.interceptors.response.use(
   }
 );
 
+// Keyset-paginated list endpoints return one page and the cursor of the next one in the
+// X-Next-Cursor header; pass it back as "after" to load the following page
+const NEXT_CURSOR_HEADER = 'x-next-cursor';
+
+export interface Page<T> {
+  items: T[];
+  nextCursor?: string;
+}
+
+const getPage = async <T>(url: string, size: number, after?: string): Promise<Page<T>> => {
+  const response = await api.get<T[]>(url, { params: { size, after } });
+  return { items: response.data || [], nextCursor: response.headers[NEXT_CURSOR_HEADER] || undefined };
+};
+
+// Products shown per "Load more" step of the catalogue grid
+const PRODUCT_PAGE_SIZE = 24;
+// Orders shown per "Load more" step of the order lists
+const ORDER_PAGE_SIZE = 20;
+
 // Auth API
 export const authService = {
   login: (credentials: LoginCredentials) => api.post('/auth/login', credentials),
@@ -70,9 +89,11 @@ export const userService = {
 
 // Products API
 export const productService = {
-  getAllProducts: () => api.get<Product[]>('/products'),
+  getProducts: (after?: string, size: number = PRODUCT_PAGE_SIZE) =>
+    getPage<Product>('/products', size, after),
   getProductById: (id: string) => api.get<Product>(`/products/${id}`),
-  getProductsByCategory: (category: string) => api.get<Product[]>(`/products/category/${category}`),
+  getProductsByCategory: (category: string, after?: string, size: number = PRODUCT_PAGE_SIZE) =>
+    getPage<Product>(`/products/category/${encodeURIComponent(category)}`, size, after),
   createProduct: (productData: Partial<Product>) => api.post<Product>('/products', productData),
   updateProduct: (id: string, productData: Partial<Product>) => api.put<Product>(`/products/${id}`, productData),
   updateStock: (id: string, quantity: number) => api.patch(`/products/${id}/stock`, { quantity }),
@@ -81,9 +102,10 @@ export const productService = {
 
 // Orders API
 export const orderService = {
-  getAllOrders: () => api.get<Order[]>('/orders'),
+  getOrders: (after?: string, size: number = ORDER_PAGE_SIZE) => getPage<Order>('/orders', size, after),
   getOrderById: (id: string) => api.get<Order>(`/orders/${id}`),
-  getOrdersByUserId: (userId: string) => api.get<Order[]>(`/orders/user/${userId}`),
+  getOrdersByUserId: (userId: string, after?: string, size: number = ORDER_PAGE_SIZE) =>
+    getPage<Order>(`/orders/user/${userId}`, size, after),
   createOrder: (orderData: Partial<Order>) => api.post<Order>('/orders', orderData),
   cancelOrder: (id: string) => api.patch(`/orders/${id}/cancel`),
 };